@@ -0,0 +1,77 @@
+package org.laybe.benchmark;
+
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of the JSON serialization of proposition graphs, with the modules of
+ * {@link org.laybe.config.JacksonConfiguration}.
+ * <p>
+ * Each proposition of the graph is the conjunction of two sub-graphs, and is supported by {@code fanOut} arguments
+ * whose premises are sub-graphs as well, down to {@code depth} levels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropositionSerializationBenchmark {
+
+    @Param({"1", "3", "5"})
+    public int depth;
+
+    @Param({"1", "4"})
+    public int fanOut;
+
+    private ObjectMapper objectMapper;
+
+    private Proposition graph;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new Jdk8Module())
+            .registerModule(new Hibernate5Module());
+        graph = graph(depth, fanOut, new AtomicLong());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(graph);
+    }
+
+    /**
+     * Build a graph only linked from its root downwards, as the JSON ignored properties break the back references.
+     */
+    static Proposition graph(int depth, int fanOut, AtomicLong ids) {
+        Proposition proposition = new Proposition();
+        proposition.setId(ids.incrementAndGet());
+        if (depth == 0) {
+            return proposition.type(PropositionType.SINGLE).text("Proposition " + proposition.getId());
+        }
+        proposition.type(PropositionType.CONNECTION).connectionType(ConnectionType.CONJUNCTION);
+        proposition.setProposition1(graph(depth - 1, fanOut, ids));
+        proposition.setProposition2(graph(depth - 1, fanOut, ids));
+        for (int i = 0; i < fanOut; i++) {
+            Argument argument = new Argument().type(ArgumentType.IMPLICATION).premise(graph(depth - 1, fanOut, ids));
+            argument.setId(ids.incrementAndGet());
+            proposition.getPremises().add(argument);
+        }
+        return proposition;
+    }
+}
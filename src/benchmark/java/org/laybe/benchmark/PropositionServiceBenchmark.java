@@ -0,0 +1,63 @@
+package org.laybe.benchmark;
+
+import org.laybe.FaxiomApp;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.service.PropositionService;
+import org.laybe.service.debate.DebateGeneratorService;
+import org.laybe.service.dto.PropositionDTO;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link PropositionService#findOne(Long)}, against the embedded H2 database of the test configuration.
+ * <p>
+ * Each fork starts the application on the test classpath, seeds the database with a synthetic debate of
+ * {@code propositionCount} propositions from {@link DebateGeneratorService}, and reads random propositions from it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropositionServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int propositionCount;
+
+    private ConfigurableApplicationContext context;
+
+    private PropositionService propositionService;
+
+    private long[] ids;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(FaxiomApp.class)
+            .run("--server.port=0");
+        propositionService = context.getBean(PropositionService.class);
+        ApplicationProperties.DebateGenerator settings = new ApplicationProperties.DebateGenerator();
+        settings.setPropositionCount(propositionCount);
+        context.getBean(DebateGeneratorService.class).generate(settings);
+        ids = context.getBean(JdbcTemplate.class).queryForList("select id from proposition", Long.class).stream()
+            .mapToLong(Long::longValue)
+            .toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<PropositionDTO> findOne() {
+        return propositionService.findOne(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+}
@@ -0,0 +1,74 @@
+package org.laybe.benchmark;
+
+import org.laybe.domain.Authority;
+import org.laybe.domain.User;
+import org.laybe.security.AuthoritiesConstants;
+import org.laybe.service.dto.UserDTO;
+import org.laybe.service.mapper.UserMapper;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the conversions of {@link UserMapper}, on pages of users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int pageSize;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    private List<UserDTO> userDTOs;
+
+    @Setup
+    public void setup() {
+        userMapper = new UserMapper();
+        Set<Authority> authorities = new HashSet<>();
+        for (String name : new String[]{AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN}) {
+            Authority authority = new Authority();
+            authority.setName(name);
+            authorities.add(authority);
+        }
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setLogin("user-" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user-" + i + "@localhost");
+            user.setActivated(true);
+            user.setLangKey("fr");
+            user.setCreatedBy("system");
+            user.setCreatedDate(Instant.now());
+            user.setAuthorities(authorities);
+            users.add(user);
+        }
+        userDTOs = userMapper.usersToUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<User> userDTOsToUsers() {
+        return userMapper.userDTOsToUsers(userDTOs);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks of the hot paths, run with the "benchmarks" Maven profile.
+ */
+package org.laybe.benchmark;
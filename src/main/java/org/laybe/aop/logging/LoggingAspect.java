@@ -1,113 +1,151 @@
 package org.laybe.aop.logging;
 
-import io.github.jhipster.config.JHipsterConstants;
+import org.laybe.config.ApplicationProperties;
 
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.AfterThrowing;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Pointcut;
+import io.github.jhipster.config.JHipsterConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
- * Aspect for logging execution of service and repository Spring components.
- *
- * By default, it only runs with the "dev" profile.
+ * Advice tracing the execution of service, repository and Web REST Spring components.
+ * <p>
+ * It is only woven when {@code application.tracing.enabled} is set, as it is with the "dev" profile, and only
+ * into the packages of {@code application.tracing.packages}. A {@code application.tracing.sample-rate} share of
+ * the calls is logged on entry and exit at debug level and timed into the {@code method.calls} histograms. Every
+ * call slower than {@code application.tracing.slow-call-threshold} is logged as a warning, and every exception is
+ * logged, whether the call is sampled or not.
  */
-@Aspect
-public class LoggingAspect {
+public class LoggingAspect implements MethodInterceptor {
 
     private final Environment env;
 
-    public LoggingAspect(Environment env) {
+    private final ApplicationProperties.Tracing properties;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<Method, Trace> traces = new ConcurrentHashMap<>();
+
+    public LoggingAspect(Environment env, ApplicationProperties applicationProperties, ObjectProvider<MeterRegistry> meterRegistry) {
         this.env = env;
+        this.properties = applicationProperties.getTracing();
+        this.meterRegistry = meterRegistry;
     }
 
     /**
-     * Pointcut that matches all repositories, services and Web REST endpoints.
+     * Pointcut that matches all repositories, services and Web REST endpoints in the given packages.
+     *
+     * @param packages the packages, sub-packages included.
+     * @return the AspectJ expression of the pointcut.
+     * @throws IllegalArgumentException if there is no package.
      */
-    @Pointcut("within(@org.springframework.stereotype.Repository *)" +
-        " || within(@org.springframework.stereotype.Service *)" +
-        " || within(@org.springframework.web.bind.annotation.RestController *)")
-    public void springBeanPointcut() {
-        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    public static String pointcutExpression(List<String> packages) {
+        if (packages == null || packages.stream().allMatch(name -> name == null || name.trim().isEmpty())) {
+            throw new IllegalArgumentException("No package to trace: set application.tracing.packages, or disable application.tracing.enabled");
+        }
+        String springBeans = "(within(@org.springframework.stereotype.Repository *)" +
+            " || within(@org.springframework.stereotype.Service *)" +
+            " || within(@org.springframework.web.bind.annotation.RestController *))";
+        String applicationPackages = packages.stream()
+            .filter(name -> name != null && !name.trim().isEmpty())
+            .map(name -> "within(" + name + "..*)")
+            .collect(Collectors.joining(" || ", "(", ")"));
+        return applicationPackages + " && " + springBeans;
     }
 
-    /**
-     * Pointcut that matches all Spring beans in the application's main packages.
-     */
-    @Pointcut("within(org.laybe.repository..*)"+
-        " || within(org.laybe.service..*)"+
-        " || within(org.laybe.web.rest..*)")
-    public void applicationPackagePointcut() {
-        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Trace trace = traces.computeIfAbsent(invocation.getMethod(), Trace::new);
+        boolean sampled = properties.getSampleRate() >= 1.0 || ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+        boolean logged = sampled && trace.log.isDebugEnabled();
+        if (logged) {
+            trace.log.debug("Enter: {}() with argument[s] = {}", trace.name, Arrays.toString(invocation.getArguments()));
+        }
+        // Every call is timed, so that the slow ones out of the sample are logged too
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            if (logged) {
+                trace.log.debug("Exit: {}() with result = {}", trace.name, result);
+            }
+            return result;
+        } catch (IllegalArgumentException e) {
+            trace.log.error("Illegal argument: {} in {}()", Arrays.toString(invocation.getArguments()), trace.name);
+            logThrowing(trace, e);
+            throw e;
+        } catch (Throwable e) {
+            logThrowing(trace, e);
+            throw e;
+        } finally {
+            record(trace, invocation, System.nanoTime() - start, sampled);
+        }
     }
 
-    /**
-     * Retrieves the {@link Logger} associated to the given {@link JoinPoint}.
-     *
-     * @param joinPoint join point we want the logger for.
-     * @return {@link Logger} associated to the given {@link JoinPoint}.
-     */
-    private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+    private void record(Trace trace, MethodInvocation invocation, long elapsed, boolean sampled) {
+        if (sampled) {
+            trace.timer().record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        if (elapsed > properties.getSlowCallThreshold().toNanos()) {
+            trace.log.warn("Slow call: {}() took {} ms with argument[s] = {}", trace.name,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), Arrays.toString(invocation.getArguments()));
+        }
     }
 
-    /**
-     * Advice that logs methods throwing exceptions.
-     *
-     * @param joinPoint join point for advice.
-     * @param e exception.
-     */
-    @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
+    private void logThrowing(Trace trace, Throwable e) {
         if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
-            logger(joinPoint)
-                .error(
-                    "Exception in {}() with cause = \'{}\' and exception = \'{}\'",
-                    joinPoint.getSignature().getName(),
-                    e.getCause() != null ? e.getCause() : "NULL",
-                    e.getMessage(),
-                    e
-                );
+            trace.log.error("Exception in {}() with cause = '{}' and exception = '{}'", trace.name,
+                e.getCause() != null ? e.getCause() : "NULL", e.getMessage(), e);
         } else {
-            logger(joinPoint)
-                .error(
-                    "Exception in {}() with cause = {}",
-                    joinPoint.getSignature().getName(),
-                    e.getCause() != null ? e.getCause() : "NULL"
-                );
+            trace.log.error("Exception in {}() with cause = {}", trace.name, e.getCause() != null ? e.getCause() : "NULL");
         }
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
-     *
-     * @param joinPoint join point for advice.
-     * @return result.
-     * @throws Throwable throws {@link IllegalArgumentException}.
+     * The logger and timer of a traced method.
      */
-    @Around("applicationPackagePointcut() && springBeanPointcut()")
-    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        Logger log = logger(joinPoint);
-        if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+    private final class Trace {
+
+        private final Method method;
+
+        private final Logger log;
+
+        private final String name;
+
+        private volatile Timer timer;
+
+        private Trace(Method method) {
+            this.method = method;
+            this.log = LoggerFactory.getLogger(method.getDeclaringClass());
+            this.name = method.getName();
         }
-        try {
-            Object result = joinPoint.proceed();
-            if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+
+        private Timer timer() {
+            Timer result = timer;
+            if (result == null) {
+                result = Timer.builder("method.calls")
+                    .description("Time spent in the traced methods")
+                    .tag("class", method.getDeclaringClass().getSimpleName())
+                    .tag("method", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry.getObject());
+                timer = result;
             }
             return result;
-        } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
-            throw e;
         }
     }
 }
@@ -2,6 +2,13 @@ package org.laybe.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Properties specific to Faxiom.
  * <p>
@@ -10,4 +17,688 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Graph graph = new Graph();
+
+    private final DebateImport debateImport = new DebateImport();
+
+    private final DebateGenerator debateGenerator = new DebateGenerator();
+
+    private final Cache cache = new Cache();
+
+    private final Authentication authentication = new Authentication();
+
+    private final Audit audit = new Audit();
+
+    private final Retention retention = new Retention();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final Tracing tracing = new Tracing();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final Search search = new Search();
+
+    private final DebateEvents debateEvents = new DebateEvents();
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public DebateImport getDebateImport() {
+        return debateImport;
+    }
+
+    public DebateGenerator getDebateGenerator() {
+        return debateGenerator;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public Retention getRetention() {
+        return retention;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public DebateEvents getDebateEvents() {
+        return debateEvents;
+    }
+
+    public static class Graph {
+
+        /**
+         * What to do when a write would close a support cycle.
+         */
+        public enum CycleCheck {
+            /**
+             * No check.
+             */
+            NONE,
+            /**
+             * Accept the write, but log it and count it.
+             */
+            FLAG,
+            /**
+             * Reject the write.
+             */
+            REJECT
+        }
+
+        private CycleCheck cycleCheck = CycleCheck.FLAG;
+
+        private int asyncAnalysisThreshold = 10000;
+
+        public CycleCheck getCycleCheck() {
+            return cycleCheck;
+        }
+
+        public void setCycleCheck(CycleCheck cycleCheck) {
+            this.cycleCheck = cycleCheck;
+        }
+
+        /**
+         * @return the number of propositions above which the analysis of the whole graph runs on the task executor.
+         */
+        public int getAsyncAnalysisThreshold() {
+            return asyncAnalysisThreshold;
+        }
+
+        public void setAsyncAnalysisThreshold(int asyncAnalysisThreshold) {
+            this.asyncAnalysisThreshold = asyncAnalysisThreshold;
+        }
+    }
+
+    public static class DebateImport {
+
+        private int batchSize = 1000;
+
+        /**
+         * @return the number of rows sent to the database in a single JDBC batch.
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class DebateGenerator {
+
+        private int propositionCount = 10000;
+
+        private int depth = 10;
+
+        private int maxFanIn = 3;
+
+        private int maxFanOut = 5;
+
+        private double connectionRatio = 0.2;
+
+        private double cycleProbability = 0.0;
+
+        private long seed = 42L;
+
+        /**
+         * @return the number of propositions to generate.
+         */
+        public int getPropositionCount() {
+            return propositionCount;
+        }
+
+        public void setPropositionCount(int propositionCount) {
+            this.propositionCount = propositionCount;
+        }
+
+        /**
+         * @return the number of layers of the graph, each layer supporting the next one.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public void setDepth(int depth) {
+            this.depth = depth;
+        }
+
+        /**
+         * @return the maximum number of premises supporting a proposition.
+         */
+        public int getMaxFanIn() {
+            return maxFanIn;
+        }
+
+        public void setMaxFanIn(int maxFanIn) {
+            this.maxFanIn = maxFanIn;
+        }
+
+        /**
+         * @return the maximum number of conclusions a proposition supports.
+         */
+        public int getMaxFanOut() {
+            return maxFanOut;
+        }
+
+        public void setMaxFanOut(int maxFanOut) {
+            this.maxFanOut = maxFanOut;
+        }
+
+        /**
+         * @return the share of the propositions which are connections of two propositions of the previous layer.
+         */
+        public double getConnectionRatio() {
+            return connectionRatio;
+        }
+
+        public void setConnectionRatio(double connectionRatio) {
+            this.connectionRatio = connectionRatio;
+        }
+
+        /**
+         * @return the probability that a proposition also supports one of its premises, closing a support cycle.
+         */
+        public double getCycleProbability() {
+            return cycleProbability;
+        }
+
+        public void setCycleProbability(double cycleProbability) {
+            this.cycleProbability = cycleProbability;
+        }
+
+        /**
+         * @return the seed of the random generator, the same settings always giving the same graph.
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+    }
+
+    public static class Cache {
+
+        private final Map<String, Region> regions = new HashMap<>();
+
+        /**
+         * @return the settings of the cache regions, by name; unset values default to {@code jhipster.cache.caffeine}.
+         */
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            private Duration timeToLive;
+
+            private Long maxEntries;
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    public static class Authentication {
+
+        private long cacheMaxEntries = 10000;
+
+        private long userCacheMaxEntries = 10000;
+
+        private Duration userCacheTimeToLive = Duration.ofMinutes(10);
+
+        /**
+         * @return the maximum number of verified JWTs whose authentication is kept until they expire, 0 to disable the cache.
+         */
+        public long getCacheMaxEntries() {
+            return cacheMaxEntries;
+        }
+
+        public void setCacheMaxEntries(long cacheMaxEntries) {
+            this.cacheMaxEntries = cacheMaxEntries;
+        }
+
+        /**
+         * @return the maximum number of users kept for password logins, 0 to disable the cache.
+         */
+        public long getUserCacheMaxEntries() {
+            return userCacheMaxEntries;
+        }
+
+        public void setUserCacheMaxEntries(long userCacheMaxEntries) {
+            this.userCacheMaxEntries = userCacheMaxEntries;
+        }
+
+        /**
+         * @return how long a user is kept for password logins, should an update bypass {@code UserService}.
+         */
+        public Duration getUserCacheTimeToLive() {
+            return userCacheTimeToLive;
+        }
+
+        public void setUserCacheTimeToLive(Duration userCacheTimeToLive) {
+            this.userCacheTimeToLive = userCacheTimeToLive;
+        }
+    }
+
+    public static class Audit {
+
+        private int queueCapacity = 10000;
+
+        private int batchSize = 100;
+
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        private final Partitioning partitioning = new Partitioning();
+
+        /**
+         * @return the maximum number of audit events waiting to be written, beyond which new events are dropped.
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        /**
+         * @return the number of audit events written in a single batch, and written as soon as they are queued.
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * @return the maximum time an audit event waits in the queue.
+         */
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Partitioning getPartitioning() {
+            return partitioning;
+        }
+
+        public static class Partitioning {
+
+            private boolean enabled = false;
+
+            private int precreatedMonths = 3;
+
+            /**
+             * @return whether the monthly partitions of the audit events are maintained, on PostgreSQL.
+             */
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * @return the number of months ahead for which partitions are created.
+             */
+            public int getPrecreatedMonths() {
+                return precreatedMonths;
+            }
+
+            public void setPrecreatedMonths(int precreatedMonths) {
+                this.precreatedMonths = precreatedMonths;
+            }
+        }
+    }
+
+    public static class Retention {
+
+        private int chunkSize = 1000;
+
+        /**
+         * @return the number of expired rows deleted in a single transaction.
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        private int strength = 10;
+
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+
+        private int queueCapacity = 100;
+
+        private Duration timeout = Duration.ofSeconds(5);
+
+        /**
+         * @return the log rounds of BCrypt, from 4 to 31.
+         */
+        public int getStrength() {
+            return strength;
+        }
+
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+
+        /**
+         * @return the number of passwords hashed at once.
+         */
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        /**
+         * @return the number of passwords waiting to be hashed, beyond which requests are rejected.
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        /**
+         * @return how long a request waits for its password to be hashed before it is rejected.
+         */
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Tracing {
+
+        private boolean enabled = false;
+
+        private List<String> packages = new ArrayList<>(Arrays.asList("org.laybe.repository", "org.laybe.service", "org.laybe.web.rest"));
+
+        private double sampleRate = 1.0;
+
+        private Duration slowCallThreshold = Duration.ofMillis(500);
+
+        /**
+         * @return whether the repositories, services and REST controllers are traced; when unset, nothing is woven.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return the traced packages, sub-packages included; there must be at least one.
+         */
+        public List<String> getPackages() {
+            return packages;
+        }
+
+        public void setPackages(List<String> packages) {
+            this.packages = packages;
+        }
+
+        /**
+         * @return the share of the calls that are logged on entry and exit and timed, between 0 and 1.
+         */
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        /**
+         * @return the duration above which a call is logged as a warning, whether it is sampled or not.
+         */
+        public Duration getSlowCallThreshold() {
+            return slowCallThreshold;
+        }
+
+        public void setSlowCallThreshold(Duration slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        private boolean enabled = false;
+
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        /**
+         * @return whether requests and asynchronous tasks run on virtual threads, when the JVM supports them.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return the time a virtual thread must stay pinned to its carrier thread to be recorded.
+         */
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * How the texts of the propositions are searched.
+         */
+        public enum Engine {
+            /**
+             * PostgreSQL full-text search on PostgreSQL, the in-memory index otherwise.
+             */
+            AUTO,
+            /**
+             * PostgreSQL full-text search, over the column maintained by Liquibase.
+             */
+            POSTGRESQL,
+            /**
+             * An inverted index kept in memory.
+             */
+            IN_MEMORY
+        }
+
+        private Engine engine = Engine.AUTO;
+
+        private final Duplicates duplicates = new Duplicates();
+
+        public Engine getEngine() {
+            return engine;
+        }
+
+        public void setEngine(Engine engine) {
+            this.engine = engine;
+        }
+
+        public Duplicates getDuplicates() {
+            return duplicates;
+        }
+
+        public static class Duplicates {
+
+            /**
+             * What to do when a proposition is saved with a text close to the text of other propositions.
+             */
+            public enum DuplicateCheck {
+                /**
+                 * No check.
+                 */
+                NONE,
+                /**
+                 * Accept the write, and return the similar propositions.
+                 */
+                FLAG,
+                /**
+                 * Reject the write, suggesting the similar propositions.
+                 */
+                REJECT
+            }
+
+            private DuplicateCheck check = DuplicateCheck.FLAG;
+
+            private double similarityThreshold = 0.8;
+
+            private int maxSuggestions = 5;
+
+            public DuplicateCheck getCheck() {
+                return check;
+            }
+
+            public void setCheck(DuplicateCheck check) {
+                this.check = check;
+            }
+
+            /**
+             * @return the estimated Jaccard similarity of the shingles of two texts from which they are near-duplicates.
+             */
+            public double getSimilarityThreshold() {
+                return similarityThreshold;
+            }
+
+            public void setSimilarityThreshold(double similarityThreshold) {
+                this.similarityThreshold = similarityThreshold;
+            }
+
+            /**
+             * @return the maximum number of similar propositions returned, most similar first.
+             */
+            public int getMaxSuggestions() {
+                return maxSuggestions;
+            }
+
+            public void setMaxSuggestions(int maxSuggestions) {
+                this.maxSuggestions = maxSuggestions;
+            }
+        }
+    }
+
+    public static class DebateEvents {
+
+        private int bufferCapacity = 256;
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+        private int poolSize = 4;
+
+        /**
+         * @return the number of distinct entities whose changes wait to be sent to a subscriber, beyond which it is evicted.
+         */
+        public int getBufferCapacity() {
+            return bufferCapacity;
+        }
+
+        public void setBufferCapacity(int bufferCapacity) {
+            this.bufferCapacity = bufferCapacity;
+        }
+
+        /**
+         * @return how long a subscription lasts before the client has to subscribe again.
+         */
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        /**
+         * @return the interval between two heartbeats, which detect the subscribers gone away.
+         */
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        /**
+         * @return the number of threads sending the changes to the subscribers.
+         */
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package org.laybe.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.github.jhipster.config.JHipsterProperties;
+import io.github.jhipster.config.cache.PrefixedKeyGenerator;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine caches, behind the JCache API, backing the Hibernate second-level cache.
+ * <p>
+ * Every region is created with statistics enabled, so that Spring Boot exports its hits and misses as
+ * {@code cache.gets} meters. Region sizes and lifetimes default to {@code jhipster.cache.caffeine}, and can
+ * be overridden with {@code application.cache.regions}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private GitProperties gitProperties;
+    private BuildProperties buildProperties;
+
+    private final JHipsterProperties.Cache.Caffeine defaults;
+
+    private final ApplicationProperties.Cache properties;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.defaults = jHipsterProperties.getCache().getCaffeine();
+        this.properties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, org.laybe.domain.User.class.getName());
+            createCache(cm, org.laybe.domain.Authority.class.getName());
+            createCache(cm, org.laybe.domain.User.class.getName() + ".authorities");
+            createCache(cm, org.laybe.domain.Argument.class.getName());
+            createCache(cm, org.laybe.domain.Proposition.class.getName());
+            createCache(cm, org.laybe.domain.Proposition.class.getName() + ".conclusions");
+            createCache(cm, org.laybe.domain.Proposition.class.getName() + ".premises");
+            createCache(cm, org.laybe.domain.Proposition.class.getName() + ".partOfConnections1s");
+            createCache(cm, org.laybe.domain.Proposition.class.getName() + ".partOfConnections2s");
+            // jhipster-needle-caffeine-add-entry
+        };
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache == null) {
+            cm.createCache(cacheName, configuration(cacheName));
+        }
+    }
+
+    private CaffeineConfiguration<Object, Object> configuration(String cacheName) {
+        ApplicationProperties.Cache.Region region = properties.getRegions().getOrDefault(cacheName, new ApplicationProperties.Cache.Region());
+        long maxEntries = region.getMaxEntries() != null ? region.getMaxEntries() : defaults.getMaxEntries();
+        long timeToLive = region.getTimeToLive() != null ? region.getTimeToLive().toNanos() : TimeUnit.SECONDS.toNanos(defaults.getTimeToLiveSeconds());
+
+        CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
+        caffeineConfiguration.setMaximumSize(OptionalLong.of(maxEntries));
+        caffeineConfiguration.setExpireAfterWrite(OptionalLong.of(timeToLive));
+        caffeineConfiguration.setStatisticsEnabled(true);
+        return caffeineConfiguration;
+    }
+
+    @Autowired(required = false)
+    public void setGitProperties(GitProperties gitProperties) {
+        this.gitProperties = gitProperties;
+    }
+
+    @Autowired(required = false)
+    public void setBuildProperties(BuildProperties buildProperties) {
+        this.buildProperties = buildProperties;
+    }
+
+    @Bean
+    public KeyGenerator keyGenerator() {
+        return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
+    }
+}
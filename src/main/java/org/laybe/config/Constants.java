@@ -12,6 +12,9 @@ public final class Constants {
     public static final String DEFAULT_LANGUAGE = "en";
     public static final String ANONYMOUS_USER = "anonymoususer";
 
+    // Spring profile generating a synthetic debate on startup
+    public static final String SPRING_PROFILE_DEBATE_GENERATOR = "debate-generator";
+
     private Constants() {
     }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import org.openapitools.jackson.nullable.JsonNullableModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.zalando.problem.ProblemModule;
@@ -34,6 +35,14 @@ public class JacksonConfiguration {
         return new Hibernate5Module();
     }
 
+    /*
+     * Support for the fields of JSON Merge Patch requests, telling absent fields from null ones.
+     */
+    @Bean
+    public JsonNullableModule jsonNullableModule() {
+        return new JsonNullableModule();
+    }
+
     /*
      * Module for serialization/deserialization of RFC7807 Problem.
      */
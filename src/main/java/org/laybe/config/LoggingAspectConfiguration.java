@@ -2,18 +2,28 @@ package org.laybe.config;
 
 import org.laybe.aop.logging.LoggingAspect;
 
-import io.github.jhipster.config.JHipsterConstants;
-
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 
+/**
+ * Weaves the {@link LoggingAspect}, only when {@code application.tracing.enabled} is set.
+ */
 @Configuration
 @EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
 public class LoggingAspectConfiguration {
 
     @Bean
-    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    public Advisor loggingAdvisor(Environment env, ApplicationProperties applicationProperties,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression(LoggingAspect.pointcutExpression(applicationProperties.getTracing().getPackages()));
+        advisor.setAdvice(new LoggingAspect(env, applicationProperties, meterRegistry));
+        return advisor;
     }
 }
@@ -3,6 +3,8 @@ package org.laybe.config;
 import org.laybe.security.*;
 import org.laybe.security.jwt.*;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -28,16 +30,22 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final CorsFilter corsFilter;
     private final SecurityProblemSupport problemSupport;
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfiguration(TokenProvider tokenProvider, CorsFilter corsFilter, SecurityProblemSupport problemSupport) {
+    public SecurityConfiguration(TokenProvider tokenProvider, CorsFilter corsFilter, SecurityProblemSupport problemSupport,
+                                 ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
         this.corsFilter = corsFilter;
         this.problemSupport = problemSupport;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        ApplicationProperties.PasswordHashing properties = applicationProperties.getPasswordHashing();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(properties.getStrength()), properties, meterRegistry);
     }
 
     @Override
@@ -0,0 +1,82 @@
+package org.laybe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.time.Duration;
+
+/**
+ * Runs the requests of the embedded Tomcat on virtual threads, when {@code application.virtual-threads.enabled} is
+ * set and the JVM supports them; the {@code taskExecutor} is switched over by {@link AsyncConfiguration}.
+ * <p>
+ * Connections are then handed out through a {@link BoundedDataSource} the size of the Hikari pool, and pinned
+ * virtual threads are timed by {@link VirtualThreadPinningMetrics}.
+ */
+@Configuration
+@Conditional(VirtualThreadConfiguration.OnVirtualThreadsCondition.class)
+public class VirtualThreadConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    HikariDataSource dataSource = (HikariDataSource) bean;
+                    return new BoundedDataSource(dataSource, dataSource.getMaximumPoolSize(),
+                        Duration.ofMillis(dataSource.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public VirtualThreadPinningMetrics virtualThreadPinningMetrics(ApplicationProperties applicationProperties) {
+        log.info("Running the web requests and asynchronous tasks on virtual threads");
+        return new VirtualThreadPinningMetrics(applicationProperties.getVirtualThreads().getPinnedThreshold());
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+    static class TomcatVirtualThreadConfiguration {
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+            return protocolHandler -> {
+                if (protocolHandler instanceof AbstractProtocol) {
+                    ((AbstractProtocol<?>) protocolHandler).setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-"));
+                }
+            };
+        }
+    }
+
+    static class OnVirtualThreadsCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (!context.getEnvironment().getProperty("application.virtual-threads.enabled", Boolean.class, false)) {
+                return ConditionOutcome.noMatch("application.virtual-threads.enabled is not set");
+            }
+            if (!VirtualThreads.isSupported()) {
+                return ConditionOutcome.noMatch("the JVM does not support virtual threads");
+            }
+            return ConditionOutcome.match("virtual threads are enabled and supported");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.laybe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Times the virtual threads pinned to their carrier thread, from the {@code jdk.VirtualThreadPinned} events of Java
+ * Flight Recorder, into {@code jvm.threads.virtual.pinned}.
+ * <p>
+ * A pinned virtual thread blocks its carrier, typically while waiting inside a {@code synchronized} block, so that
+ * fewer virtual threads can run. The events are streamed through reflection, as the application is built for Java 8.
+ */
+public class VirtualThreadPinningMetrics implements MeterBinder, AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMetrics.class);
+
+    private final Duration threshold;
+
+    private AutoCloseable recordingStream;
+
+    public VirtualThreadPinningMetrics(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent pinned to their carrier thread")
+            .register(registry);
+        try {
+            Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Method getDuration = Class.forName("jdk.jfr.consumer.RecordedEvent").getMethod("getDuration");
+            Object stream = streamClass.getConstructor().newInstance();
+            Object settings = streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+            Class.forName("jdk.jfr.EventSettings").getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+            Consumer<Object> onPinned = event -> {
+                try {
+                    Duration duration = (Duration) getDuration.invoke(event);
+                    pinned.record(duration);
+                    log.debug("Virtual thread pinned for {} ms", duration.toMillis());
+                } catch (ReflectiveOperationException e) {
+                    log.warn("Could not read a pinned virtual thread event: {}", e.getMessage());
+                }
+            };
+            streamClass.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, onPinned);
+            streamClass.getMethod("startAsync").invoke(stream);
+            recordingStream = (AutoCloseable) stream;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Pinned virtual threads are not recorded, as Flight Recorder streaming is not available: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
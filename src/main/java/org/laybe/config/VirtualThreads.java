@@ -0,0 +1,62 @@
+package org.laybe.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of Java 21 and later, through reflection as the application is built for Java 8.
+ */
+final class VirtualThreads {
+
+    private static final boolean SUPPORTED = probe();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return whether the JVM supports virtual threads.
+     */
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    private static boolean probe() {
+        try {
+            threadFactory("probe-");
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param prefix the prefix of the thread names, followed by a counter.
+     * @return a factory of virtual threads.
+     * @throws IllegalStateException if the JVM does not support virtual threads.
+     */
+    static ThreadFactory threadFactory(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM", e);
+        }
+    }
+
+    /**
+     * @param prefix the prefix of the thread names, followed by a counter.
+     * @return an executor running each task on a new virtual thread.
+     * @throws IllegalStateException if the JVM does not support virtual threads.
+     */
+    static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, threadFactory(prefix));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM", e);
+        }
+    }
+}
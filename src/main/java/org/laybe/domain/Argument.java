@@ -1,6 +1,8 @@
 package org.laybe.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -13,6 +15,7 @@ import org.laybe.domain.enumeration.ArgumentType;
  */
 @Entity
 @Table(name = "argument")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Argument implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -26,14 +29,18 @@ public class Argument implements Serializable {
     @Column(name = "type")
     private ArgumentType type;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = "conclusions", allowSetters = true)
     private Proposition premise;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = "premises", allowSetters = true)
     private Proposition conclusion;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public Long getId() {
         return id;
@@ -81,6 +88,19 @@ public class Argument implements Serializable {
     public void setConclusion(Proposition proposition) {
         this.conclusion = proposition;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Argument version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -91,7 +111,7 @@ public class Argument implements Serializable {
         if (!(o instanceof Argument)) {
             return false;
         }
-        return id != null && id.equals(((Argument) o).id);
+        return id != null && id.equals(((Argument) o).getId());
     }
 
     @Override
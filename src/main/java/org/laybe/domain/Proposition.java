@@ -1,6 +1,8 @@
 package org.laybe.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -17,6 +19,7 @@ import org.laybe.domain.enumeration.ConnectionType;
  */
 @Entity
 @Table(name = "proposition")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Proposition implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -37,30 +40,38 @@ public class Proposition implements Serializable {
     @Column(name = "connection_type")
     private ConnectionType connectionType;
 
-    @OneToMany(mappedBy = "premise", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "premise", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = "premise", allowSetters = true)
     private Set<Argument> conclusions = new HashSet<>();
 
-    @OneToMany(mappedBy = "conclusion", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "conclusion", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = "conclusion", allowSetters = true)
     private Set<Argument> premises = new HashSet<>();
 
-    @OneToMany(mappedBy = "proposition1", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "proposition1", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = "premises", allowSetters = true)
     private Set<Proposition> partOfConnections1s = new HashSet<>();
 
-    @OneToMany(mappedBy = "proposition2", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "proposition2", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = "premises", allowSetters = true)
     private Set<Proposition> partOfConnections2s = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = "partOfConnections1s", allowSetters = true)
     private Proposition proposition1;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = "partOfConnections2s", allowSetters = true)
     private Proposition proposition2;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public Long getId() {
         return id;
@@ -234,6 +245,19 @@ public class Proposition implements Serializable {
     public void setProposition2(Proposition proposition) {
         this.proposition2 = proposition;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Proposition version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -244,7 +268,7 @@ public class Proposition implements Serializable {
         if (!(o instanceof Proposition)) {
             return false;
         }
-        return id != null && id.equals(((Proposition) o).id);
+        return id != null && id.equals(((Proposition) o).getId());
     }
 
     @Override
@@ -1,14 +1,63 @@
 package org.laybe.repository;
 
 import org.laybe.domain.Argument;
+import org.laybe.service.dto.ArgumentDTO;
+import org.laybe.service.dto.GraphEdgeDTO;
 
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
 /**
  * Spring Data  repository for the Argument entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface ArgumentRepository extends JpaRepository<Argument, Long> {
+
+    @Query("select new org.laybe.service.dto.GraphEdgeDTO(a.id, a.type, a.premise.id, a.conclusion.id) " +
+        "from Argument a where a.conclusion.id in :ids")
+    List<GraphEdgeDTO> findGraphEdgesByConclusionIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new org.laybe.service.dto.GraphEdgeDTO(a.id, a.type, a.premise.id, a.conclusion.id) " +
+        "from Argument a where a.premise.id in :ids")
+    List<GraphEdgeDTO> findGraphEdgesByPremiseIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select new org.laybe.service.dto.ArgumentDTO(a.id, a.type, a.premise.id, a.conclusion.id, a.version) from Argument a",
+        countQuery = "select count(a) from Argument a")
+    Page<ArgumentDTO> findAllAsDTO(Pageable pageable);
+
+    @Query("select new org.laybe.service.dto.ArgumentDTO(a.id, a.type, a.premise.id, a.conclusion.id, a.version) " +
+        "from Argument a where a.id > :id order by a.id")
+    Slice<ArgumentDTO> findAllAsDTOByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new org.laybe.service.dto.ArgumentDTO(a.id, a.type, a.premise.id, a.conclusion.id, a.version) " +
+        "from Argument a where a.id = :id")
+    Optional<ArgumentDTO> findOneAsDTO(@Param("id") Long id);
+
+    @Query("select new org.laybe.service.dto.ArgumentDTO(a.id, a.type, a.premise.id, a.conclusion.id, a.version) " +
+        "from Argument a where a.id in :ids")
+    List<ArgumentDTO> findAllAsDTOByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.version from Argument a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new org.laybe.service.dto.GraphEdgeDTO(a.id, a.type, a.premise.id, a.conclusion.id) from Argument a")
+    Stream<GraphEdgeDTO> streamAllGraphEdges();
+
+    @QueryHints(@QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new org.laybe.service.dto.ArgumentDTO(a.id, a.type, a.premise.id, a.conclusion.id, a.version) from Argument a order by a.id")
+    Stream<ArgumentDTO> streamAllAsDTO();
 }
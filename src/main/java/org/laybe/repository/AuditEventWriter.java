@@ -0,0 +1,178 @@
+package org.laybe.repository;
+
+import org.laybe.config.ApplicationProperties;
+import org.laybe.domain.PersistentAuditEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the audit events in the background, so that authenticating does not wait for the database.
+ * <p>
+ * Events are queued without locking, up to {@code application.audit.queue-capacity}; beyond that they are
+ * dropped and counted. A writer thread inserts them, with their data, in JDBC batches of
+ * {@code application.audit.batch-size}, every {@code application.audit.flush-interval} or as soon as a batch
+ * is full. The queue is flushed on shutdown.
+ */
+@Component
+public class AuditEventWriter {
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private final Queue<PersistentAuditEvent> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Audit properties;
+
+    private final Counter writtenCounter;
+
+    private final Counter droppedCounter;
+
+    private final Timer flushTimer;
+
+    private volatile Thread writer;
+
+    private volatile boolean running;
+
+    public AuditEventWriter(PersistenceAuditEventRepository persistenceAuditEventRepository, EntityManager entityManager,
+                            PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties,
+                            MeterRegistry meterRegistry) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getAudit();
+        Gauge.builder("audit.events.queued", queued, AtomicInteger::get)
+            .description("Number of audit events waiting to be written")
+            .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.events.written")
+            .description("Number of audit events written")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped")
+            .description("Number of audit events dropped because the queue was full")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.events.flush")
+            .description("Time spent writing batches of audit events")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop the writer thread, then write what is left in the queue.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(properties.getFlushInterval().toMillis() + 1000L);
+        }
+        flush();
+    }
+
+    /**
+     * Queue an event to be written.
+     *
+     * @param event the event.
+     * @return {@code false} if the queue is full and the event was dropped.
+     */
+    public boolean offer(PersistentAuditEvent event) {
+        int size = queued.incrementAndGet();
+        if (size > properties.getQueueCapacity()) {
+            queued.decrementAndGet();
+            droppedCounter.increment();
+            log.debug("Audit queue full, dropping event {} of {}", event.getAuditEventType(), event.getPrincipal());
+            return false;
+        }
+        queue.offer(event);
+        if (size >= properties.getBatchSize()) {
+            Thread thread = writer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write all the queued events.
+     */
+    public synchronized void flush() {
+        List<PersistentAuditEvent> batch = new ArrayList<>(Math.min(queued.get(), properties.getBatchSize()));
+        PersistentAuditEvent event;
+        while ((event = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(event);
+            if (batch.size() == properties.getBatchSize()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<PersistentAuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.execute(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getBatchSize());
+                return persistenceAuditEventRepository.saveAll(batch);
+            });
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            droppedCounter.increment(batch.size());
+            log.error("Could not write {} audit events", batch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void run() {
+        long interval = properties.getFlushInterval().toNanos();
+        while (running) {
+            if (queued.get() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, interval);
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Audit writer failure", e);
+            }
+        }
+    }
+}
@@ -1,14 +1,69 @@
 package org.laybe.repository;
 
 import org.laybe.domain.Proposition;
+import org.laybe.service.dto.GraphNodeDTO;
+import org.laybe.service.dto.PropositionDTO;
 
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
 /**
  * Spring Data  repository for the Proposition entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface PropositionRepository extends JpaRepository<Proposition, Long> {
+
+    @Query("select new org.laybe.service.dto.GraphNodeDTO(p.id, p.type, p.text, p.connectionType, p1.id, p2.id) " +
+        "from Proposition p left join p.proposition1 p1 left join p.proposition2 p2 where p.id in :ids")
+    List<GraphNodeDTO> findGraphNodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new org.laybe.service.dto.GraphNodeDTO(p.id, p.type, p.text, p.connectionType, p1.id, p2.id) " +
+        "from Proposition p left join p.proposition1 p1 left join p.proposition2 p2 where p1.id in :ids or p2.id in :ids")
+    List<GraphNodeDTO> findGraphNodesByOperandIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select new org.laybe.service.dto.PropositionDTO(p.id, p.type, p.text, p.connectionType, p1.id, p2.id, p.version) " +
+        "from Proposition p left join p.proposition1 p1 left join p.proposition2 p2",
+        countQuery = "select count(p) from Proposition p")
+    Page<PropositionDTO> findAllAsDTO(Pageable pageable);
+
+    @Query("select new org.laybe.service.dto.PropositionDTO(p.id, p.type, p.text, p.connectionType, p1.id, p2.id, p.version) " +
+        "from Proposition p left join p.proposition1 p1 left join p.proposition2 p2 where p.id > :id order by p.id")
+    Slice<PropositionDTO> findAllAsDTOByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new org.laybe.service.dto.PropositionDTO(p.id, p.type, p.text, p.connectionType, p1.id, p2.id, p.version) " +
+        "from Proposition p left join p.proposition1 p1 left join p.proposition2 p2 where p.id = :id")
+    Optional<PropositionDTO> findOneAsDTO(@Param("id") Long id);
+
+    @Query("select new org.laybe.service.dto.PropositionDTO(p.id, p.type, p.text, p.connectionType, p1.id, p2.id, p.version) " +
+        "from Proposition p left join p.proposition1 p1 left join p.proposition2 p2 where p.id in :ids")
+    List<PropositionDTO> findAllAsDTOByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.version from Proposition p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select p.text from Proposition p where p.id = :id")
+    Optional<String> findTextById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new org.laybe.service.dto.GraphNodeDTO(p.id, p.type, p.connectionType, p1.id, p2.id) " +
+        "from Proposition p left join p.proposition1 p1 left join p.proposition2 p2")
+    Stream<GraphNodeDTO> streamAllGraphNodes();
+
+    @QueryHints(@QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new org.laybe.service.dto.PropositionDTO(p.id, p.type, p.text, p.connectionType, p1.id, p2.id, p.version) " +
+        "from Proposition p left join p.proposition1 p1 left join p.proposition2 p2 order by p.id")
+    Stream<PropositionDTO> streamAllAsDTO();
 }
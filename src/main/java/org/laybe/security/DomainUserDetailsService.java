@@ -1,7 +1,13 @@
 package org.laybe.security;
 
+import org.laybe.config.ApplicationProperties;
 import org.laybe.domain.User;
 import org.laybe.repository.UserRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,52 +17,116 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * Users are kept as immutable snapshots, keyed by lowercase login or email, so that repeated logins only hit the
+ * database once. Snapshots read within a transaction are not cached, as they may hold uncommitted changes; they
+ * must be evicted with {@link #evict(String...)} whenever the login, email, password, authorities or activation
+ * of a user change.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
 
+    private static final EmailValidator EMAIL_VALIDATOR = new EmailValidator();
+
     private final Logger log = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final Cache<String, UserSnapshot> snapshots;
+
+    public DomainUserDetailsService(UserRepository userRepository, ApplicationProperties applicationProperties,
+                                    MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        ApplicationProperties.Authentication properties = applicationProperties.getAuthentication();
+        this.snapshots = Caffeine.newBuilder()
+            .maximumSize(properties.getUserCacheMaxEntries())
+            .expireAfterWrite(properties.getUserCacheTimeToLive().toNanos(), TimeUnit.NANOSECONDS)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "user.details");
     }
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(final String login) {
         log.debug("Authenticating {}", login);
 
-        if (new EmailValidator().isValid(login, null)) {
+        String key = login.toLowerCase(Locale.ENGLISH);
+        UserSnapshot snapshot = TransactionSynchronizationManager.isActualTransactionActive()
+            ? loadSnapshot(login, key) : snapshots.get(key, k -> loadSnapshot(login, k));
+        return snapshot.toUserDetails();
+    }
+
+    /**
+     * Evict the snapshots of a user, now and once the current transaction completes.
+     *
+     * @param keys the login and email of the user, before and after they change.
+     */
+    public void evict(String... keys) {
+        List<String> lowercaseKeys = Arrays.stream(keys)
+            .filter(Objects::nonNull)
+            .map(key -> key.toLowerCase(Locale.ENGLISH))
+            .collect(Collectors.toList());
+        snapshots.invalidateAll(lowercaseKeys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    snapshots.invalidateAll(lowercaseKeys);
+                }
+            });
+        }
+    }
+
+    private UserSnapshot loadSnapshot(String login, String lowercaseLogin) {
+        if (EMAIL_VALIDATOR.isValid(login, null)) {
             return userRepository.findOneWithAuthoritiesByEmailIgnoreCase(login)
-                .map(user -> createSpringSecurityUser(login, user))
+                .map(UserSnapshot::new)
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
         }
 
-        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
         return userRepository.findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
+            .map(UserSnapshot::new)
             .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
-
     }
 
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
-        if (!user.getActivated()) {
-            throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
+    /**
+     * What authenticating a user needs from the entity.
+     * <p>
+     * A new {@link UserDetails} is built for each authentication, since Spring Security erases its credentials.
+     */
+    private static final class UserSnapshot {
+
+        private final String login;
+
+        private final String password;
+
+        private final boolean activated;
+
+        private final List<GrantedAuthority> authorities;
+
+        private UserSnapshot(User user) {
+            this.login = user.getLogin();
+            this.password = user.getPassword();
+            this.activated = user.getActivated();
+            this.authorities = Collections.unmodifiableList(user.getAuthorities().stream()
+                .map(authority -> new SimpleGrantedAuthority(authority.getName()))
+                .collect(Collectors.toList()));
+        }
+
+        private UserDetails toUserDetails() {
+            if (!activated) {
+                throw new UserNotActivatedException("User " + login + " was not activated");
+            }
+            return new org.springframework.security.core.userdetails.User(login, password, authorities);
         }
-        List<GrantedAuthority> grantedAuthorities = user.getAuthorities().stream()
-            .map(authority -> new SimpleGrantedAuthority(authority.getName()))
-            .collect(Collectors.toList());
-        return new org.springframework.security.core.userdetails.User(user.getLogin(),
-            user.getPassword(),
-            grantedAuthorities);
     }
 }
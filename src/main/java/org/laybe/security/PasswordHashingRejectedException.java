@@ -0,0 +1,13 @@
+package org.laybe.security;
+
+/**
+ * This exception is thrown when the password hashing pool is saturated and a hash cannot be computed in time.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -2,10 +2,19 @@ package org.laybe.security.jwt;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
-import javax.annotation.PostConstruct;
 
+import org.laybe.config.ApplicationProperties;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,6 +30,13 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
+/**
+ * Creates and verifies the JWTs.
+ * <p>
+ * Tokens are verified with a parser built once. The authentication of a verified token is then cached, keyed by
+ * a SHA-256 digest of the token, until the token expires: authenticating a known token only costs a digest and
+ * a lookup.
+ */
 @Component
 public class TokenProvider {
 
@@ -28,20 +44,26 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
-    private Key key;
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
 
-    private long tokenValidityInMilliseconds;
+    private final Key key;
 
-    private long tokenValidityInMillisecondsForRememberMe;
+    private final JwtParser jwtParser;
 
-    private final JHipsterProperties jHipsterProperties;
+    private final Cache<String, CachedAuthentication> authentications;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
-        this.jHipsterProperties = jHipsterProperties;
-    }
+    private long tokenValidityInMilliseconds;
+
+    private long tokenValidityInMillisecondsForRememberMe;
 
-    @PostConstruct
-    public void init() {
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                         MeterRegistry meterRegistry) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getSecret();
         if (!StringUtils.isEmpty(secret)) {
@@ -53,6 +75,13 @@ public class TokenProvider {
             keyBytes = Decoders.BASE64.decode(jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret());
         }
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.authentications = Caffeine.newBuilder()
+            .maximumSize(applicationProperties.getAuthentication().getCacheMaxEntries())
+            .expireAfter(new TokenExpiry())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, authentications, "jwt.authentications");
         this.tokenValidityInMilliseconds =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
@@ -81,13 +110,35 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Verify a token and get its authentication, from the cache if the token has already been verified.
+     *
+     * @param token the token.
+     * @return the authentication, or empty if the token is invalid or expired.
+     */
+    public Optional<Authentication> resolveAuthentication(String token) {
+        CachedAuthentication cached = authentications.get(digest(token), digest -> {
+            try {
+                Claims claims = jwtParser.parseClaimsJws(token).getBody();
+                return new CachedAuthentication(toAuthentication(claims, token), claims.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                log.info("Invalid JWT token.");
+                log.trace("Invalid JWT token trace.", e);
+                return null;
+            }
+        });
+        if (cached == null || cached.isExpired()) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.authentication);
+    }
+
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-            .setSigningKey(key)
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return toAuthentication(claims, token);
+    }
 
+    private Authentication toAuthentication(Claims claims, String token) {
         Collection<? extends GrantedAuthority> authorities =
             Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
                 .map(SimpleGrantedAuthority::new)
@@ -100,7 +151,7 @@ public class TokenProvider {
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
+            jwtParser.parseClaimsJws(authToken);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token.");
@@ -108,4 +159,49 @@ public class TokenProvider {
         }
         return false;
     }
+
+    private static String digest(String token) {
+        return Base64.getEncoder().encodeToString(DIGEST.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * The authentication of a verified token, with the expiration of the token.
+     */
+    private static final class CachedAuthentication {
+
+        private final Authentication authentication;
+
+        private final long expiration;
+
+        private CachedAuthentication(Authentication authentication, Date expiration) {
+            this.authentication = authentication;
+            this.expiration = expiration == null ? Long.MAX_VALUE : expiration.getTime();
+        }
+
+        private boolean isExpired() {
+            return expiration <= System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Evicts the authentications when their token expires.
+     */
+    private static final class TokenExpiry implements Expiry<String, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            long remaining = value.expiration - System.currentTimeMillis();
+            return remaining > Long.MAX_VALUE / 1000000L ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -1,24 +1,43 @@
 package org.laybe.service;
 
-import org.laybe.domain.Argument;
+import org.laybe.service.dto.ArgumentDTO;
+import org.laybe.service.dto.ArgumentPatchDTO;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Service Interface for managing {@link Argument}.
+ * Service Interface for managing {@link org.laybe.domain.Argument}.
  */
 public interface ArgumentService {
 
+    /**
+     * Maximum number of ids of a batch fetch.
+     */
+    int MAX_BATCH_SIZE = 1000;
+
     /**
      * Save a argument.
      *
-     * @param argument the entity to save.
+     * @param argumentDTO the entity to save.
      * @return the persisted entity.
      */
-    Argument save(Argument argument);
+    ArgumentDTO save(ArgumentDTO argumentDTO);
+
+    /**
+     * Partially update a argument: only the fields supplied by the patch are written, without loading the entity.
+     *
+     * @param id the id of the entity.
+     * @param patch the fields to update.
+     * @param version the version the update applies to, or {@code null} for the current one.
+     * @return the updated entity, or empty if it does not exist.
+     */
+    Optional<ArgumentDTO> partialUpdate(Long id, ArgumentPatchDTO patch, Long version);
 
     /**
      * Get all the arguments.
@@ -26,7 +45,16 @@ public interface ArgumentService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
-    Page<Argument> findAll(Pageable pageable);
+    Page<ArgumentDTO> findAll(Pageable pageable);
+
+    /**
+     * Get the arguments following an id, by increasing id, without counting them.
+     *
+     * @param afterId the id the slice starts after.
+     * @param size the maximum number of entities.
+     * @return the slice of entities.
+     */
+    Slice<ArgumentDTO> findAllAfter(Long afterId, int size);
 
 
     /**
@@ -35,7 +63,23 @@ public interface ArgumentService {
      * @param id the id of the entity.
      * @return the entity.
      */
-    Optional<Argument> findOne(Long id);
+    Optional<ArgumentDTO> findOne(Long id);
+
+    /**
+     * Get the version of the "id" argument, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    Optional<Long> findVersion(Long id);
+
+    /**
+     * Get the arguments of the given ids, with a single query.
+     *
+     * @param ids the ids of the entities; duplicates are ignored.
+     * @return the entities found, by id, in the order of the ids.
+     */
+    Map<Long, ArgumentDTO> findAllById(Collection<Long> ids);
 
     /**
      * Delete the "id" argument.
@@ -0,0 +1,143 @@
+package org.laybe.service;
+
+import org.laybe.config.ApplicationProperties;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service maintaining the monthly partitions of {@code jhi_persistent_audit_event}, on PostgreSQL.
+ * <p>
+ * Only enabled with {@code application.audit.partitioning.enabled}, once the table has been partitioned by the
+ * {@code audit-partitioning} Liquibase context. Partitions are created ahead of time, and whole partitions are
+ * dropped, with their event data, once all their events are past the retention period. The remaining expired
+ * rows are purged by {@link AuditEventService#removeOldAuditEvents()}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.audit.partitioning", name = "enabled", havingValue = "true")
+public class AuditPartitionService {
+
+    static final String TABLE = "jhi_persistent_audit_event";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String FIND_PARTITIONS = "select c.relname from pg_inherits i "
+        + "join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent where p.relname = ?";
+
+    private final Logger log = LoggerFactory.getLogger(AuditPartitionService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.Audit.Partitioning properties;
+
+    private final Counter createdCounter;
+
+    private final Counter droppedCounter;
+
+    public AuditPartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getAudit().getPartitioning();
+        this.createdCounter = Counter.builder("audit.partitions.created")
+            .description("Number of audit event partitions created")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.partitions.dropped")
+            .description("Number of expired audit event partitions dropped")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Create the missing partitions and drop the expired ones.
+     * <p>
+     * This is run on startup, and scheduled to get fired at 11:30 (am), before the purge of the audit events.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 11 * * ?")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        List<String> partitions = jdbcTemplate.queryForList(FIND_PARTITIONS, String.class, TABLE);
+        for (int i = 0; i <= properties.getPrecreatedMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!partitions.contains(partitionName(month))) {
+                createPartition(month);
+            }
+        }
+        LocalDate retentionStart = LocalDate.now(ZoneOffset.UTC).minusDays(jHipsterProperties.getAuditEvents().getRetentionPeriod());
+        for (String partition : partitions) {
+            partitionMonth(partition)
+                .filter(month -> !month.plusMonths(1).atDay(1).isAfter(retentionStart))
+                .ifPresent(month -> dropPartition(partition));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        try {
+            // Connections do not auto-commit: the statement needs a transaction to be kept
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("create table " + partition + " partition of " + TABLE
+                    + " for values from ('" + month.atDay(1) + "') to ('" + month.plusMonths(1).atDay(1) + "')");
+                return null;
+            });
+            createdCounter.increment();
+            log.info("Created audit event partition {}", partition);
+        } catch (DataAccessException e) {
+            // The default partition already holds events of that month
+            log.warn("Could not create audit event partition {}: {}", partition, e.getMessage());
+        }
+    }
+
+    private void dropPartition(String partition) {
+        transactionTemplate.execute(status -> {
+            int data = jdbcTemplate.update("delete from jhi_persistent_audit_evt_data where event_id in (select event_id from "
+                + partition + ")");
+            jdbcTemplate.execute("drop table " + partition);
+            log.info("Dropped expired audit event partition {} and {} event data", partition, data);
+            return null;
+        });
+        droppedCounter.increment();
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(SUFFIX);
+    }
+
+    /**
+     * @return the month of a monthly partition, or empty for the default partition.
+     */
+    static Optional<YearMonth> partitionMonth(String partition) {
+        String suffix = partition.substring(partition.lastIndexOf('_') + 1);
+        try {
+            return Optional.of(YearMonth.parse(suffix, SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.laybe.service;
+
+public class CircularReasoningException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityName;
+
+    public CircularReasoningException(String entityName, String message) {
+        super(message);
+        this.entityName = entityName;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+}
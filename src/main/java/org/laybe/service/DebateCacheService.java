@@ -0,0 +1,98 @@
+package org.laybe.service;
+
+import org.hibernate.Cache;
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Service evicting from the second-level cache the propositions and arguments written without Hibernate, such as
+ * with JDBC statements, whose cached state Hibernate cannot invalidate itself.
+ * <p>
+ * Each eviction runs right away, and again once the transaction has committed, so that a concurrent reader
+ * cannot put the previous state back in the cache in between.
+ */
+@Service
+public class DebateCacheService {
+
+    private static final String CONCLUSIONS = Proposition.class.getName() + ".conclusions";
+
+    private static final String PREMISES = Proposition.class.getName() + ".premises";
+
+    private static final String PART_OF_CONNECTIONS_1 = Proposition.class.getName() + ".partOfConnections1s";
+
+    private static final String PART_OF_CONNECTIONS_2 = Proposition.class.getName() + ".partOfConnections2s";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DebateCacheService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evict a proposition.
+     *
+     * @param id the id of the proposition.
+     */
+    public void evictProposition(Long id) {
+        evict(cache -> cache.evictEntityData(Proposition.class, id));
+    }
+
+    /**
+     * Evict an argument.
+     *
+     * @param id the id of the argument.
+     */
+    public void evictArgument(Long id) {
+        evict(cache -> cache.evictEntityData(Argument.class, id));
+    }
+
+    /**
+     * Evict the arguments of propositions, whether they are their premise or their conclusion.
+     *
+     * @param propositionIds the ids of the propositions; {@code null} ids are ignored.
+     */
+    public void evictArgumentsOf(Collection<Long> propositionIds) {
+        evictCollections(propositionIds, CONCLUSIONS, PREMISES);
+    }
+
+    /**
+     * Evict the connections propositions are an operand of.
+     *
+     * @param propositionIds the ids of the propositions; {@code null} ids are ignored.
+     */
+    public void evictConnectionsOf(Collection<Long> propositionIds) {
+        evictCollections(propositionIds, PART_OF_CONNECTIONS_1, PART_OF_CONNECTIONS_2);
+    }
+
+    private void evictCollections(Collection<Long> ownerIds, String... roles) {
+        if (ownerIds.isEmpty()) {
+            return;
+        }
+        evict(cache -> ownerIds.stream().filter(Objects::nonNull).forEach(id -> {
+            for (String role : roles) {
+                cache.evictCollectionData(role, id);
+            }
+        }));
+    }
+
+    private void evict(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+}
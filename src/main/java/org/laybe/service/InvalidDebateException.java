@@ -0,0 +1,13 @@
+package org.laybe.service;
+
+/**
+ * Thrown when an imported debate is malformed, or refers to propositions it does not hold.
+ */
+public class InvalidDebateException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidDebateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package org.laybe.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when a proposition is saved with a text too close to the text of existing propositions.
+ */
+public class NearDuplicatePropositionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Long> similarPropositionIds;
+
+    public NearDuplicatePropositionException(List<Long> similarPropositionIds) {
+        super("Near-duplicate of propositions " + similarPropositionIds);
+        this.similarPropositionIds = Collections.unmodifiableList(similarPropositionIds);
+    }
+
+    /**
+     * @return the ids of the similar propositions, most similar first.
+     */
+    public List<Long> getSimilarPropositionIds() {
+        return similarPropositionIds;
+    }
+}
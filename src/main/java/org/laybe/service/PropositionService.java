@@ -1,24 +1,50 @@
 package org.laybe.service;
 
-import org.laybe.domain.Proposition;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.dto.PropositionPatchDTO;
+import org.laybe.service.dto.GraphDirection;
+import org.laybe.service.dto.PropositionGraphDTO;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Service Interface for managing {@link Proposition}.
+ * Service Interface for managing {@link org.laybe.domain.Proposition}.
  */
 public interface PropositionService {
 
+    /**
+     * Maximum depth of a graph fetch.
+     */
+    int MAX_GRAPH_DEPTH = 10;
+
+    /**
+     * Maximum number of ids of a batch fetch.
+     */
+    int MAX_BATCH_SIZE = 1000;
+
     /**
      * Save a proposition.
      *
-     * @param proposition the entity to save.
+     * @param propositionDTO the entity to save.
      * @return the persisted entity.
      */
-    Proposition save(Proposition proposition);
+    PropositionDTO save(PropositionDTO propositionDTO);
+
+    /**
+     * Partially update a proposition: only the fields supplied by the patch are written, without loading the entity.
+     *
+     * @param id the id of the entity.
+     * @param patch the fields to update.
+     * @param version the version the update applies to, or {@code null} for the current one.
+     * @return the updated entity, or empty if it does not exist.
+     */
+    Optional<PropositionDTO> partialUpdate(Long id, PropositionPatchDTO patch, Long version);
 
     /**
      * Get all the propositions.
@@ -26,7 +52,16 @@ public interface PropositionService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
-    Page<Proposition> findAll(Pageable pageable);
+    Page<PropositionDTO> findAll(Pageable pageable);
+
+    /**
+     * Get the propositions following an id, by increasing id, without counting them.
+     *
+     * @param afterId the id the slice starts after.
+     * @param size the maximum number of entities.
+     * @return the slice of entities.
+     */
+    Slice<PropositionDTO> findAllAfter(Long afterId, int size);
 
 
     /**
@@ -35,7 +70,35 @@ public interface PropositionService {
      * @param id the id of the entity.
      * @return the entity.
      */
-    Optional<Proposition> findOne(Long id);
+    Optional<PropositionDTO> findOne(Long id);
+
+    /**
+     * Get the version of the "id" proposition, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    Optional<Long> findVersion(Long id);
+
+    /**
+     * Get the propositions of the given ids, with a single query.
+     *
+     * @param ids the ids of the entities; duplicates are ignored.
+     * @return the entities found, by id, in the order of the ids.
+     */
+    Map<Long, PropositionDTO> findAllById(Collection<Long> ids);
+
+    /**
+     * Get the neighbourhood of the "id" proposition, up to the given depth.
+     * <p>
+     * The graph is loaded level by level, with a fixed number of set-based queries per level.
+     *
+     * @param id the id of the root proposition.
+     * @param depth the maximum number of hops from the root.
+     * @param direction the direction in which the graph is traversed.
+     * @return the nodes and edges of the neighbourhood, or empty if the root does not exist.
+     */
+    Optional<PropositionGraphDTO> findGraph(Long id, int depth, GraphDirection direction);
 
     /**
      * Delete the "id" proposition.
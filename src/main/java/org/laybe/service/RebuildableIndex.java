@@ -0,0 +1,144 @@
+package org.laybe.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holder of an in-memory index loaded from the database, then kept up to date by the changes applied to it.
+ * <p>
+ * A rebuild loads a new index without blocking the readers nor the changes: the changes received while it loads
+ * are applied to the current index, and replayed on the new one before it is published.
+ * <p>
+ * This class is thread-safe, as long as the index is only reached through it.
+ *
+ * @param <I> the type of the index, which does not need to be thread-safe.
+ */
+public class RebuildableIndex<I> {
+
+    private final Logger log = LoggerFactory.getLogger(RebuildableIndex.class);
+
+    private final String name;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private I index;
+
+    /**
+     * Changes received while a rebuild is loading, or {@code null} if none is.
+     */
+    private List<Consumer<I>> pendingChanges;
+
+    /**
+     * @param name the name of the index, for the logs.
+     * @param index the initial index.
+     */
+    public RebuildableIndex(String name, I index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * Load a new index and publish it, unless a rebuild is already loading.
+     *
+     * @param loader the loading of the new index.
+     * @return the new index, or {@code null} if a rebuild was already loading.
+     */
+    public I rebuild(Supplier<I> loader) {
+        return rebuild(loader, loaded -> { });
+    }
+
+    /**
+     * Load a new index and publish it, unless a rebuild is already loading.
+     *
+     * @param loader the loading of the new index.
+     * @param onPublish the action run with the new index when it is published, under the write lock.
+     * @return the new index, or {@code null} if a rebuild was already loading.
+     */
+    public I rebuild(Supplier<I> loader, Consumer<I> onPublish) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                log.debug("The {} index is already being rebuilt", name);
+                return null;
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        I loaded = null;
+        try {
+            loaded = loader.get();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded != null) {
+                    for (Consumer<I> change : pendingChanges) {
+                        change.accept(loaded);
+                    }
+                    index = loaded;
+                    onPublish.accept(loaded);
+                }
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Apply a change to the index.
+     *
+     * @param change the change.
+     */
+    public void update(Consumer<I> change) {
+        update(current -> {
+            change.accept(current);
+            return null;
+        }, result -> { });
+    }
+
+    /**
+     * Apply a change to the index.
+     *
+     * @param change the change, which may be replayed on an index being loaded.
+     * @param onApplied the action run with the result of the change, only once, under the write lock.
+     * @param <R> the type of the result of the change.
+     */
+    public <R> void update(Function<I, R> change, Consumer<R> onApplied) {
+        lock.writeLock().lock();
+        try {
+            R result = change.apply(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change::apply);
+            }
+            onApplied.accept(result);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Run a read-only computation over the index.
+     *
+     * @param reader the computation; it must not keep any reference to the index.
+     * @param <T> the type of the result.
+     * @return the result of the computation.
+     */
+    public <T> T read(Function<I, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
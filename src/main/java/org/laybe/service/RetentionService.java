@@ -0,0 +1,123 @@
+package org.laybe.service;
+
+import org.laybe.config.ApplicationProperties;
+import org.laybe.repository.PersistenceAuditEventRepository;
+import org.laybe.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Service purging expired rows in chunks.
+ * <p>
+ * Each chunk of at most {@code application.retention.chunk-size} ids is selected, then deleted with set-based
+ * statements, children first, in its own transaction unless one is already running. Only the ids of the current
+ * chunk are held in memory, and no entity is loaded.
+ */
+@Service
+public class RetentionService {
+
+    private final Logger log = LoggerFactory.getLogger(RetentionService.class);
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final UserRepository userRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Retention properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public RetentionService(PersistenceAuditEventRepository persistenceAuditEventRepository, UserRepository userRepository,
+                            EntityManager entityManager, PlatformTransactionManager transactionManager,
+                            ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getRetention();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Delete the audit events, and their data, older than a date.
+     *
+     * @param before the date.
+     * @return the number of deleted events.
+     */
+    public long purgeAuditEvents(Instant before) {
+        log.debug("Request to purge the audit events before {}", before);
+        return purge("audit_event", pageable -> persistenceAuditEventRepository.findIdsByAuditEventDateBefore(before, pageable),
+            ids -> {
+                deleteChildren("delete from jhi_persistent_audit_evt_data where event_id in (:ids)", "jhi_persistent_audit_evt_data", ids);
+                return entityManager.createQuery("delete from PersistentAuditEvent e where e.id in :ids")
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+            });
+    }
+
+    /**
+     * Delete the users created before a date and never activated, with their authorities.
+     *
+     * @param before the date.
+     * @return the number of deleted users.
+     */
+    public long purgeNotActivatedUsers(Instant before) {
+        log.debug("Request to purge the users not activated since {}", before);
+        return purge("user", pageable -> userRepository.findNotActivatedIdsByCreatedDateBefore(before, pageable),
+            ids -> {
+                deleteChildren("delete from jhi_user_authority where user_id in (:ids)", "jhi_user_authority", ids);
+                return entityManager.createQuery("delete from User u where u.id in :ids")
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+            });
+    }
+
+    private long purge(String entityName, Function<Pageable, List<Long>> findIds, Function<List<Long>, Integer> delete) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Pageable chunk = PageRequest.of(0, properties.getChunkSize());
+        long deleted = 0L;
+        int chunkSize;
+        do {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = findIds.apply(chunk);
+                return ids.isEmpty() ? 0 : delete.apply(ids);
+            });
+            chunkSize = count == null ? 0 : count;
+            deleted += chunkSize;
+            meterRegistry.counter("retention.purged", "entity", entityName).increment(chunkSize);
+            log.debug("Purged {} {} rows, {} so far", chunkSize, entityName, deleted);
+        } while (chunkSize == properties.getChunkSize());
+        long elapsed = sample.stop(meterRegistry.timer("retention.purge", "entity", entityName));
+        log.info("Purged {} {} rows in {} ms", deleted, entityName, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return deleted;
+    }
+
+    /**
+     * Run a native delete, only invalidating the cached collections of its table.
+     */
+    private void deleteChildren(String sql, String table, List<Long> ids) {
+        entityManager.createNativeQuery(sql)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(table)
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+}
@@ -6,6 +6,7 @@ import org.laybe.domain.User;
 import org.laybe.repository.AuthorityRepository;
 import org.laybe.repository.UserRepository;
 import org.laybe.security.AuthoritiesConstants;
+import org.laybe.security.DomainUserDetailsService;
 import org.laybe.security.SecurityUtils;
 import org.laybe.service.dto.UserDTO;
 
@@ -18,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -40,10 +42,17 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final RetentionService retentionService;
+
+    private final DomainUserDetailsService userDetailsService;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository,
+                       RetentionService retentionService, DomainUserDetailsService userDetailsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.retentionService = retentionService;
+        this.userDetailsService = userDetailsService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -53,6 +62,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
+                userDetailsService.evict(user.getLogin(), user.getEmail());
                 log.debug("Activated user: {}", user);
                 return user;
             });
@@ -66,6 +76,7 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                userDetailsService.evict(user.getLogin(), user.getEmail());
                 return user;
             });
     }
@@ -123,6 +134,7 @@ public class UserService {
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        userDetailsService.evict(existingUser.getLogin(), existingUser.getEmail());
         return true;
     }
 
@@ -170,6 +182,7 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                userDetailsService.evict(user.getLogin(), user.getEmail(), userDTO.getLogin(), userDTO.getEmail());
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -195,6 +208,7 @@ public class UserService {
     public void deleteUser(String login) {
         userRepository.findOneByLogin(login).ifPresent(user -> {
             userRepository.delete(user);
+            userDetailsService.evict(user.getLogin(), user.getEmail());
             log.debug("Deleted User: {}", user);
         });
     }
@@ -212,6 +226,7 @@ public class UserService {
         SecurityUtils.getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
             .ifPresent(user -> {
+                userDetailsService.evict(user.getLogin(), user.getEmail(), email);
                 user.setFirstName(firstName);
                 user.setLastName(lastName);
                 if (email != null) {
@@ -235,6 +250,7 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                userDetailsService.evict(user.getLogin(), user.getEmail());
                 log.debug("Changed password for User: {}", user);
             });
     }
@@ -257,16 +273,12 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * This is scheduled to get fired everyday, at 01:00 (am). Users are deleted in chunks, each in its own transaction.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                log.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-            });
+        retentionService.purgeNotActivatedUsers(Instant.now().minus(3, ChronoUnit.DAYS));
     }
 
     /**
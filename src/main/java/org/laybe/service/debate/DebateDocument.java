@@ -0,0 +1,242 @@
+package org.laybe.service.debate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.laybe.domain.enumeration.PropositionType;
+import org.laybe.service.InvalidDebateException;
+import org.laybe.service.dto.ImportedArgumentDTO;
+import org.laybe.service.dto.ImportedPropositionDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The propositions and arguments of an imported debate, with their references resolved to positions in the document.
+ * <p>
+ * Two layouts are read, record by record, without ever building a tree of the whole document:
+ * <ul>
+ *     <li>JSON: {@code {"propositions": [...], "arguments": [...]}};</li>
+ *     <li>NDJSON: one {@code {"proposition": {...}}} or {@code {"argument": {...}}} object per line.</li>
+ * </ul>
+ * References may be used before the record they designate.
+ */
+final class DebateDocument {
+
+    static final int NONE = -1;
+
+    private final List<ImportedPropositionDTO> propositions = new ArrayList<>();
+
+    private final List<ImportedArgumentDTO> arguments = new ArrayList<>();
+
+    private final Map<String, Integer> propositionIndexes = new HashMap<>();
+
+    private int[] operands1;
+
+    private int[] operands2;
+
+    private int[] premises;
+
+    private int[] conclusions;
+
+    /**
+     * Read and resolve a document.
+     *
+     * @param objectMapper the mapper reading the records.
+     * @param input the document.
+     * @param lines whether the document is NDJSON rather than JSON.
+     * @return the document.
+     * @throws IOException if the document cannot be read or is not well-formed.
+     * @throws InvalidDebateException if a record is invalid or a reference is unknown.
+     */
+    static DebateDocument read(ObjectMapper objectMapper, InputStream input, boolean lines) throws IOException {
+        DebateDocument document = new DebateDocument();
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (lines) {
+                while (parser.nextToken() != null) {
+                    expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+                    expect(parser, parser.nextToken(), JsonToken.FIELD_NAME);
+                    String kind = parser.getCurrentName();
+                    expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+                    document.readRecord(objectMapper, parser, kind);
+                    expect(parser, parser.nextToken(), JsonToken.END_OBJECT);
+                }
+            } else {
+                expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+                    String kind = field.endsWith("s") ? field.substring(0, field.length() - 1) : field;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        document.readRecord(objectMapper, parser, kind);
+                    }
+                    expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+                }
+                expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+            }
+        }
+        document.resolve();
+        return document;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new InvalidDebateException("Expected " + expected + " but found " + actual + " at line "
+                + parser.getCurrentLocation().getLineNr());
+        }
+    }
+
+    private void readRecord(ObjectMapper objectMapper, JsonParser parser, String kind) throws IOException {
+        if ("proposition".equals(kind)) {
+            addProposition(objectMapper.readValue(parser, ImportedPropositionDTO.class));
+        } else if ("argument".equals(kind)) {
+            addArgument(objectMapper.readValue(parser, ImportedArgumentDTO.class));
+        } else {
+            throw new InvalidDebateException("Unknown record kind '" + kind + "' at line " + parser.getCurrentLocation().getLineNr());
+        }
+    }
+
+    void addProposition(ImportedPropositionDTO proposition) {
+        if (proposition.getRef() == null) {
+            throw new InvalidDebateException("Proposition #" + propositions.size() + " has no ref");
+        }
+        if (proposition.getType() == null) {
+            throw new InvalidDebateException("Proposition " + proposition.getRef() + " has no type");
+        }
+        if (propositionIndexes.putIfAbsent(proposition.getRef(), propositions.size()) != null) {
+            throw new InvalidDebateException("Proposition " + proposition.getRef() + " is defined twice");
+        }
+        propositions.add(proposition);
+    }
+
+    void addArgument(ImportedArgumentDTO argument) {
+        if (argument.getType() == null) {
+            throw new InvalidDebateException("Argument #" + arguments.size() + " has no type");
+        }
+        arguments.add(argument);
+    }
+
+    private void resolve() {
+        int propositionCount = propositions.size();
+        operands1 = new int[propositionCount];
+        operands2 = new int[propositionCount];
+        for (int i = 0; i < propositionCount; i++) {
+            ImportedPropositionDTO proposition = propositions.get(i);
+            boolean connection = proposition.getType() == PropositionType.CONNECTION;
+            operands1[i] = connection ? indexOf(proposition.getProposition1(), "Proposition " + proposition.getRef()) : NONE;
+            operands2[i] = connection ? indexOf(proposition.getProposition2(), "Proposition " + proposition.getRef()) : NONE;
+        }
+        int argumentCount = arguments.size();
+        premises = new int[argumentCount];
+        conclusions = new int[argumentCount];
+        for (int i = 0; i < argumentCount; i++) {
+            ImportedArgumentDTO argument = arguments.get(i);
+            String name = "Argument " + (argument.getRef() == null ? "#" + i : argument.getRef());
+            premises[i] = indexOf(argument.getPremise(), name);
+            conclusions[i] = indexOf(argument.getConclusion(), name);
+            if (premises[i] == NONE || conclusions[i] == NONE) {
+                throw new InvalidDebateException(name + " needs a premise and a conclusion");
+            }
+        }
+    }
+
+    private int indexOf(String ref, String referrer) {
+        if (ref == null) {
+            return NONE;
+        }
+        Integer index = propositionIndexes.get(ref);
+        if (index == null) {
+            throw new InvalidDebateException(referrer + " refers to unknown proposition " + ref);
+        }
+        return index;
+    }
+
+    /**
+     * Order the propositions so that the operands of a connection come before it, as the foreign keys require.
+     *
+     * @return the indexes of the propositions, operands first.
+     * @throws InvalidDebateException if connections are operands of themselves, directly or not.
+     */
+    int[] insertionOrder() {
+        int count = propositions.size();
+        int[] order = new int[count];
+        int[] pending = new int[count];
+        int[] dependentCounts = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            if (operands1[i] != NONE) {
+                pending[i]++;
+                dependentCounts[operands1[i] + 1]++;
+            }
+            if (operands2[i] != NONE) {
+                pending[i]++;
+                dependentCounts[operands2[i] + 1]++;
+            }
+        }
+        // dependents of i are stored in dependents[dependentCounts[i] .. dependentCounts[i + 1]]
+        for (int i = 0; i < count; i++) {
+            dependentCounts[i + 1] += dependentCounts[i];
+        }
+        int[] dependents = new int[dependentCounts[count]];
+        int[] filled = Arrays.copyOf(dependentCounts, count);
+        for (int i = 0; i < count; i++) {
+            if (operands1[i] != NONE) {
+                dependents[filled[operands1[i]]++] = i;
+            }
+            if (operands2[i] != NONE) {
+                dependents[filled[operands2[i]]++] = i;
+            }
+        }
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < count; i++) {
+            if (pending[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int index = order[head++];
+            for (int d = dependentCounts[index]; d < dependentCounts[index + 1]; d++) {
+                if (--pending[dependents[d]] == 0) {
+                    order[tail++] = dependents[d];
+                }
+            }
+        }
+        if (tail < count) {
+            for (int i = 0; i < count; i++) {
+                if (pending[i] > 0) {
+                    throw new InvalidDebateException("Proposition " + propositions.get(i).getRef() + " depends on a cycle of connections");
+                }
+            }
+        }
+        return order;
+    }
+
+    List<ImportedPropositionDTO> getPropositions() {
+        return propositions;
+    }
+
+    List<ImportedArgumentDTO> getArguments() {
+        return arguments;
+    }
+
+    int operand1(int index) {
+        return operands1[index];
+    }
+
+    int operand2(int index) {
+        return operands2[index];
+    }
+
+    int premise(int index) {
+        return premises[index];
+    }
+
+    int conclusion(int index) {
+        return conclusions[index];
+    }
+}
@@ -0,0 +1,247 @@
+package org.laybe.service.debate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.service.dto.ArgumentDTO;
+import org.laybe.service.dto.DebateChangeDTO;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.event.ArgumentChangeEvent;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.PropositionChangeEvent;
+import org.laybe.service.graph.ArgumentGraph;
+import org.laybe.service.graph.PropositionGraphIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service pushing the changes to a debate to its subscribers.
+ * <p>
+ * A debate is identified by its root proposition: it holds the root and all the propositions supporting it,
+ * and the arguments between them. The changes published by the services are matched against the subscribed
+ * roots once their transaction has committed, and queued for each subscriber with {@link DebateSubscriber}.
+ * Subscribers are served by a small pool, only while they have something to receive, and sent a heartbeat every
+ * {@code application.debate-events.heartbeat-interval} so that those gone away are noticed.
+ * <p>
+ * Debate imports are not pushed, as an imported debate cannot be part of an existing one.
+ */
+@Service
+public class DebateEventService implements AutoCloseable {
+
+    private final Logger log = LoggerFactory.getLogger(DebateEventService.class);
+
+    private final PropositionGraphIndex propositionGraphIndex;
+
+    private final ApplicationProperties.DebateEvents properties;
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final Map<Long, Set<DebateSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final Counter sentCounter;
+
+    private final Counter evictedCounter;
+
+    public DebateEventService(PropositionGraphIndex propositionGraphIndex, ApplicationProperties applicationProperties,
+                              MeterRegistry meterRegistry) {
+        this.propositionGraphIndex = propositionGraphIndex;
+        this.properties = applicationProperties.getDebateEvents();
+        this.executor = new ScheduledThreadPoolExecutor(properties.getPoolSize(), new CustomizableThreadFactory("debate-events-"));
+        long heartbeatInterval = properties.getHeartbeatInterval().toMillis();
+        if (heartbeatInterval > 0) {
+            executor.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+        }
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "debate.events", Collections.emptyList());
+        Gauge.builder("debate.events.subscribers", subscribers, map -> map.values().stream().mapToInt(Set::size).sum())
+            .description("Number of subscribers to the changes of the debates")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder("debate.events.sent")
+            .description("Number of changes sent to the subscribers of the debates, once coalesced")
+            .register(meterRegistry);
+        this.evictedCounter = Counter.builder("debate.events.evicted")
+            .description("Number of subscribers evicted because they could not keep up with the changes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to the changes to a debate.
+     *
+     * @param rootId the id of the root proposition of the debate.
+     * @param sink the connection to the subscriber.
+     * @return the action cancelling the subscription, to run once the connection has ended.
+     */
+    public Runnable subscribe(long rootId, DebateEventSink sink) {
+        log.debug("Subscribing to the changes of Debate : {}", rootId);
+        DebateSubscriber subscriber = new DebateSubscriber(rootId, countingSends(sink), properties.getBufferCapacity());
+        subscribers.compute(rootId, (id, set) -> {
+            Set<DebateSubscriber> result = set == null ? ConcurrentHashMap.newKeySet() : set;
+            result.add(subscriber);
+            return result;
+        });
+        return () -> remove(subscriber, false);
+    }
+
+    private DebateEventSink countingSends(DebateEventSink sink) {
+        return new DebateEventSink() {
+            @Override
+            public void send(DebateChangeDTO change) throws IOException {
+                sink.send(change);
+                sentCounter.increment();
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                sink.heartbeat();
+            }
+
+            @Override
+            public void close() {
+                sink.close();
+            }
+        };
+    }
+
+    /**
+     * Push a change to a proposition.
+     * <p>
+     * It runs before the change is applied to the {@link PropositionGraphIndex}, so that a deleted proposition
+     * still reaches the debates it was part of.
+     *
+     * @param event the change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropositionChange(PropositionChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        PropositionDTO proposition = event.getChangeType() == ChangeType.DELETED ? null : new PropositionDTO(event.getId(),
+            event.getType(), event.getText(), event.getConnectionType(), event.getProposition1Id(), event.getProposition2Id());
+        publish(DebateChangeDTO.ofProposition(event.getChangeType(), event.getId(), proposition), event.getId());
+    }
+
+    /**
+     * Push a change to an argument, to the debates of its conclusion, before and after the change.
+     *
+     * @param event the change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArgumentChange(ArgumentChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long previousConclusionId = propositionGraphIndex.read(graph -> {
+            int slot = graph.argumentSlot(event.getId());
+            int conclusion = slot == ArgumentGraph.NONE ? ArgumentGraph.NONE : graph.conclusion(slot);
+            return conclusion == ArgumentGraph.NONE ? 0L : graph.propositionId(conclusion);
+        });
+        ArgumentDTO argument = event.getChangeType() == ChangeType.DELETED ? null
+            : new ArgumentDTO(event.getId(), event.getType(), event.getPremiseId(), event.getConclusionId());
+        publish(DebateChangeDTO.ofArgument(event.getChangeType(), event.getId(), argument), previousConclusionId,
+            event.getConclusionId() == null ? 0L : event.getConclusionId());
+    }
+
+    /**
+     * Queue a change for the subscribers of the debates holding some propositions.
+     * <p>
+     * The debates are found by walking up from the propositions, which stops as soon as every subscribed root
+     * has been reached.
+     */
+    private void publish(DebateChangeDTO change, long... propositionIds) {
+        Set<Long> roots = new HashSet<>();
+        propositionGraphIndex.read(graph -> {
+            for (long id : propositionIds) {
+                if (id == 0L) {
+                    continue;
+                }
+                if (subscribers.containsKey(id)) {
+                    roots.add(id);
+                }
+                if (roots.size() < subscribers.size()) {
+                    graph.visitUpward(id, reached -> {
+                        if (subscribers.containsKey(reached)) {
+                            roots.add(reached);
+                        }
+                        return roots.size() < subscribers.size();
+                    });
+                }
+            }
+            return null;
+        });
+        for (Long root : roots) {
+            for (DebateSubscriber subscriber : subscribers.getOrDefault(root, Collections.emptySet())) {
+                if (subscriber.offer(change)) {
+                    schedule(subscriber);
+                } else {
+                    evictedCounter.increment();
+                    log.debug("Evicting a slow subscriber of Debate : {}", root);
+                    remove(subscriber, true);
+                }
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Set<DebateSubscriber> set : subscribers.values()) {
+            for (DebateSubscriber subscriber : set) {
+                subscriber.requestHeartbeat();
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(DebateSubscriber subscriber) {
+        if (!subscriber.startDraining()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                if (!subscriber.drain()) {
+                    remove(subscriber, true);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            remove(subscriber, true);
+        }
+    }
+
+    private void remove(DebateSubscriber subscriber, boolean closeSink) {
+        subscribers.computeIfPresent(subscriber.getRootId(), (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriber.close(closeSink);
+    }
+
+    /**
+     * End all the subscriptions, so that the clients subscribe again to another instance.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        List<DebateSubscriber> all = new ArrayList<>();
+        subscribers.values().forEach(all::addAll);
+        all.forEach(subscriber -> remove(subscriber, true));
+    }
+}
@@ -0,0 +1,33 @@
+package org.laybe.service.debate;
+
+import org.laybe.service.dto.DebateChangeDTO;
+
+import java.io.IOException;
+
+/**
+ * The connection to a subscriber of the changes to a debate, such as a server-sent event stream.
+ * <p>
+ * A sink is only used by one thread at a time.
+ */
+public interface DebateEventSink {
+
+    /**
+     * Send a change to the subscriber.
+     *
+     * @param change the change.
+     * @throws IOException if the subscriber cannot be reached.
+     */
+    void send(DebateChangeDTO change) throws IOException;
+
+    /**
+     * Send a message without data, checking that the subscriber is still connected.
+     *
+     * @throws IOException if the subscriber cannot be reached.
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * End the connection to the subscriber, who may subscribe again.
+     */
+    void close();
+}
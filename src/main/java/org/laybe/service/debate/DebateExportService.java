@@ -0,0 +1,105 @@
+package org.laybe.service.debate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.laybe.repository.ArgumentRepository;
+import org.laybe.repository.PropositionRepository;
+import org.laybe.service.dto.ArgumentDTO;
+import org.laybe.service.dto.ImportedArgumentDTO;
+import org.laybe.service.dto.ImportedPropositionDTO;
+import org.laybe.service.dto.PropositionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Service exporting the whole argument graph, in the NDJSON layout read by {@link DebateImportService}.
+ * <p>
+ * Rows are read from forward-only cursors as flat projections, which the persistence context does not keep,
+ * and written as soon as they are read: memory does not depend on the size of the graph.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DebateExportService {
+
+    private final Logger log = LoggerFactory.getLogger(DebateExportService.class);
+
+    private final PropositionRepository propositionRepository;
+
+    private final ArgumentRepository argumentRepository;
+
+    private final ObjectWriter objectWriter;
+
+    private final Timer exportTimer;
+
+    public DebateExportService(PropositionRepository propositionRepository, ArgumentRepository argumentRepository,
+                               ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.propositionRepository = propositionRepository;
+        this.argumentRepository = argumentRepository;
+        this.objectWriter = objectMapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(SerializationFeature.INDENT_OUTPUT);
+        this.exportTimer = Timer.builder("debate.export")
+            .description("Time spent exporting the argument graph")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Write every proposition, then every argument, one record per line.
+     *
+     * @param output the stream to write to, which is left open.
+     */
+    public void exportDebate(OutputStream output) {
+        log.debug("Request to export the argument graph");
+        long start = System.nanoTime();
+        long count = 0;
+        try (JsonGenerator generator = objectWriter.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            try (Stream<PropositionDTO> propositions = propositionRepository.streamAllAsDTO()) {
+                for (Iterator<PropositionDTO> it = propositions.iterator(); it.hasNext(); count++) {
+                    PropositionDTO proposition = it.next();
+                    writeRecord(generator, "proposition", new ImportedPropositionDTO(String.valueOf(proposition.getId()),
+                        proposition.getType(), proposition.getText(), proposition.getConnectionType(),
+                        ref(proposition.getProposition1Id()), ref(proposition.getProposition2Id())));
+                }
+            }
+            try (Stream<ArgumentDTO> arguments = argumentRepository.streamAllAsDTO()) {
+                for (Iterator<ArgumentDTO> it = arguments.iterator(); it.hasNext(); count++) {
+                    ArgumentDTO argument = it.next();
+                    writeRecord(generator, "argument", new ImportedArgumentDTO(String.valueOf(argument.getId()),
+                        argument.getType(), ref(argument.getPremiseId()), ref(argument.getConclusionId())));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long elapsed = System.nanoTime() - start;
+        exportTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Exported {} records in {} ms", count, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void writeRecord(JsonGenerator generator, String kind, Object record) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(kind);
+        objectWriter.writeValue(generator, record);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static String ref(Long id) {
+        return id == null ? null : String.valueOf(id);
+    }
+}
@@ -0,0 +1,36 @@
+package org.laybe.service.debate;
+
+import org.laybe.config.ApplicationProperties;
+import org.laybe.config.Constants;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generate a synthetic debate on startup, with the "debate-generator" profile, for instance:
+ * <pre>
+ * ./mvnw -Dspring-boot.run.profiles=dev,debate-generator \
+ *     -Dspring-boot.run.arguments=--application.debate-generator.proposition-count=1000000
+ * </pre>
+ * The application then keeps running, so that it can be load-tested.
+ */
+@Component
+@Profile(Constants.SPRING_PROFILE_DEBATE_GENERATOR)
+public class DebateGeneratorRunner implements ApplicationRunner {
+
+    private final DebateGeneratorService debateGeneratorService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public DebateGeneratorRunner(DebateGeneratorService debateGeneratorService, ApplicationProperties applicationProperties) {
+        this.debateGeneratorService = debateGeneratorService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        debateGeneratorService.generate(applicationProperties.getDebateGenerator());
+    }
+}
@@ -0,0 +1,272 @@
+package org.laybe.service.debate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+import org.laybe.service.dto.DebateGenerationResultDTO;
+import org.laybe.service.event.ArgumentChangeEvent;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.PropositionChangeEvent;
+import org.laybe.service.graph.PropositionGraphIndex;
+import org.laybe.service.search.PropositionSearchService;
+import org.laybe.service.search.PropositionSimilarityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service generating synthetic debates, to reproduce the scale of the production graphs in development and tests.
+ * <p>
+ * Propositions are laid out in layers, each proposition being supported by premises of the previous layer, within
+ * the fan-in and fan-out limits of {@link ApplicationProperties.DebateGenerator}. Some propositions are connections of
+ * two propositions of the previous layer, and some also support one of their premises, closing a support cycle. The
+ * same settings always give the same graph.
+ * <p>
+ * Rows are written with JDBC batches, one chunk of propositions and their arguments per transaction, and only the ids
+ * of two layers are held in memory, so that graphs of millions of propositions can be generated. The cycle check is
+ * bypassed, and the graph, search and near-duplicate indexes are rebuilt once, after the generation has committed.
+ */
+@Service
+public class DebateGeneratorService {
+
+    /**
+     * Share of the arguments which are abjunctions rather than implications.
+     */
+    private static final double ABJUNCTION_RATIO = 0.2;
+
+    /**
+     * Number of draws after which a proposition gets fewer premises than planned, as the previous layer is saturated.
+     */
+    private static final int MAX_DRAWS = 8;
+
+    private final Logger log = LoggerFactory.getLogger(DebateGeneratorService.class);
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PropositionGraphIndex propositionGraphIndex;
+
+    private final PropositionSearchService propositionSearchService;
+
+    private final PropositionSimilarityService propositionSimilarityService;
+
+    private final ApplicationProperties.DebateImport properties;
+
+    private final Timer generationTimer;
+
+    public DebateGeneratorService(EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager, PropositionGraphIndex propositionGraphIndex,
+                                  PropositionSearchService propositionSearchService,
+                                  PropositionSimilarityService propositionSimilarityService,
+                                  ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.propositionGraphIndex = propositionGraphIndex;
+        this.propositionSearchService = propositionSearchService;
+        this.propositionSimilarityService = propositionSimilarityService;
+        this.properties = applicationProperties.getDebateImport();
+        this.generationTimer = Timer.builder("debate.generation")
+            .description("Time spent generating synthetic debates")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Generate a debate and write it to the database.
+     *
+     * @param settings the shape of the debate.
+     * @return the size of the debate and the range of its proposition ids.
+     * @throws IllegalArgumentException if the settings are out of range.
+     */
+    public DebateGenerationResultDTO generate(ApplicationProperties.DebateGenerator settings) {
+        validate(settings);
+        log.debug("Request to generate a debate of {} propositions in {} layers", settings.getPropositionCount(), settings.getDepth());
+        long start = System.nanoTime();
+        Generation generation = new Generation(settings);
+        for (int layer = 0; layer < settings.getDepth(); layer++) {
+            int layerSize = settings.getPropositionCount() / settings.getDepth()
+                + (layer < settings.getPropositionCount() % settings.getDepth() ? 1 : 0);
+            generation.startLayer(layerSize);
+            for (int chunkStart = 0; chunkStart < layerSize; chunkStart += properties.getBatchSize()) {
+                int from = chunkStart;
+                int to = Math.min(from + properties.getBatchSize(), layerSize);
+                transactionTemplate.execute(status -> writeChunk(generation, from, to));
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    rebuildIndexes();
+                }
+            });
+        } else {
+            rebuildIndexes();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        generationTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Generated a debate of {} propositions and {} arguments, {} of them closing a cycle, in {} ms",
+            settings.getPropositionCount(), generation.argumentCount, generation.cycleCount, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return new DebateGenerationResultDTO(settings.getPropositionCount(), generation.argumentCount, generation.cycleCount,
+            TimeUnit.NANOSECONDS.toMillis(elapsed), generation.firstId, generation.lastId);
+    }
+
+    private void rebuildIndexes() {
+        propositionGraphIndex.rebuild();
+        propositionSearchService.rebuild();
+        propositionSimilarityService.rebuild();
+    }
+
+    private static void validate(ApplicationProperties.DebateGenerator settings) {
+        if (settings.getPropositionCount() < 1 || settings.getDepth() < 1 || settings.getDepth() > settings.getPropositionCount()) {
+            throw new IllegalArgumentException("A debate needs at least one proposition per layer");
+        }
+        if (settings.getMaxFanIn() < 1 || settings.getMaxFanOut() < 1) {
+            throw new IllegalArgumentException("The fan-in and fan-out must be at least 1");
+        }
+        if (settings.getConnectionRatio() < 0 || settings.getConnectionRatio() > 1
+            || settings.getCycleProbability() < 0 || settings.getCycleProbability() > 1) {
+            throw new IllegalArgumentException("The connection ratio and cycle probability must be between 0 and 1");
+        }
+    }
+
+    private Void writeChunk(Generation generation, int from, int to) {
+        long[] propositionIds = DebateImportService.allocateIds(entityManager, Proposition.class, to - from);
+        List<PropositionChangeEvent> propositions = new ArrayList<>(to - from);
+        List<long[]> supports = new ArrayList<>();
+        for (int index = from; index < to; index++) {
+            long id = propositionIds[index - from];
+            generation.current.ids[index] = id;
+            propositions.add(generation.proposition(id, index));
+            generation.supports(index, supports);
+        }
+        long[] argumentIds = DebateImportService.allocateIds(entityManager, Argument.class, supports.size());
+        List<ArgumentChangeEvent> arguments = new ArrayList<>(supports.size());
+        for (int i = 0; i < supports.size(); i++) {
+            ArgumentType type = generation.random.nextDouble() < ABJUNCTION_RATIO ? ArgumentType.ABJUNCTION : ArgumentType.IMPLICATION;
+            arguments.add(new ArgumentChangeEvent(ChangeType.CREATED, argumentIds[i], type, supports.get(i)[0], supports.get(i)[1]));
+        }
+
+        jdbcTemplate.batchUpdate(DebateImportService.INSERT_PROPOSITION, propositions, properties.getBatchSize(),
+            DebateImportService::setProposition);
+        jdbcTemplate.batchUpdate(DebateImportService.INSERT_ARGUMENT, arguments, properties.getBatchSize(),
+            DebateImportService::setArgument);
+        generation.argumentCount += arguments.size();
+        return null;
+    }
+
+    /**
+     * The state of a generation: the random generator, and the ids and fan-out of the previous and current layers.
+     */
+    private static final class Generation {
+
+        private final ApplicationProperties.DebateGenerator settings;
+
+        private final SplittableRandom random;
+
+        private Layer previous = new Layer(0);
+
+        private Layer current = new Layer(0);
+
+        private int layerNumber = -1;
+
+        private int argumentCount;
+
+        private int cycleCount;
+
+        private Long firstId;
+
+        private Long lastId;
+
+        private Generation(ApplicationProperties.DebateGenerator settings) {
+            this.settings = settings;
+            this.random = new SplittableRandom(settings.getSeed());
+        }
+
+        private void startLayer(int size) {
+            previous = current;
+            current = new Layer(size);
+            layerNumber++;
+        }
+
+        private PropositionChangeEvent proposition(long id, int index) {
+            firstId = firstId == null ? id : Math.min(firstId, id);
+            lastId = lastId == null ? id : Math.max(lastId, id);
+            if (previous.ids.length >= 2 && random.nextDouble() < settings.getConnectionRatio()) {
+                int operand1 = random.nextInt(previous.ids.length);
+                int operand2 = (operand1 + 1 + random.nextInt(previous.ids.length - 1)) % previous.ids.length;
+                ConnectionType connectionType = random.nextBoolean() ? ConnectionType.CONJUNCTION : ConnectionType.DISJUNCTION;
+                return new PropositionChangeEvent(ChangeType.CREATED, id, PropositionType.CONNECTION, null, connectionType,
+                    previous.ids[operand1], previous.ids[operand2]);
+            }
+            return new PropositionChangeEvent(ChangeType.CREATED, id, PropositionType.SINGLE,
+                "Generated proposition " + (index + 1) + " of layer " + layerNumber, null, null, null);
+        }
+
+        /**
+         * Draw the premises of a proposition, as {@code [premise id, conclusion id]} pairs.
+         */
+        private void supports(int index, List<long[]> supports) {
+            if (previous.ids.length == 0) {
+                return;
+            }
+            int[] premises = new int[1 + random.nextInt(settings.getMaxFanIn())];
+            int premiseCount = 0;
+            for (int draw = 0; draw < MAX_DRAWS && premiseCount < premises.length; draw++) {
+                int premise = random.nextInt(previous.ids.length);
+                if (previous.fanOut[premise] < settings.getMaxFanOut() && !contains(premises, premiseCount, premise)) {
+                    previous.fanOut[premise]++;
+                    premises[premiseCount++] = premise;
+                    supports.add(new long[]{previous.ids[premise], current.ids[index]});
+                }
+            }
+            if (premiseCount > 0 && current.fanOut[index] < settings.getMaxFanOut()
+                && random.nextDouble() < settings.getCycleProbability()) {
+                current.fanOut[index]++;
+                supports.add(new long[]{current.ids[index], previous.ids[premises[0]]});
+                cycleCount++;
+            }
+        }
+
+        private static boolean contains(int[] values, int count, int value) {
+            for (int i = 0; i < count; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Layer {
+
+        private final long[] ids;
+
+        private final int[] fanOut;
+
+        private Layer(int size) {
+            this.ids = new long[size];
+            this.fanOut = new int[size];
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package org.laybe.service.debate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.laybe.service.InvalidDebateException;
+import org.laybe.service.dto.DebateImportResultDTO;
+import org.laybe.service.dto.ImportedArgumentDTO;
+import org.laybe.service.dto.ImportedPropositionDTO;
+import org.laybe.service.event.ArgumentChangeEvent;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.DebateImportedEvent;
+import org.laybe.service.event.PropositionChangeEvent;
+import org.laybe.service.graph.ArgumentGraph;
+import org.laybe.service.graph.GraphCycleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Service importing whole debates in a single transaction.
+ * <p>
+ * The document is read as a stream and its references are resolved in memory. Ids are then drawn from
+ * {@code sequence_generator} through the Hibernate generators, so that a database round-trip yields a whole
+ * block of ids, and rows are written with JDBC batches instead of one persist per entity.
+ * <p>
+ * Imported debates only refer to their own propositions: support cycles can only be found inside the document,
+ * and are checked before anything is written.
+ */
+@Service
+@Transactional
+public class DebateImportService {
+
+    static final String INSERT_PROPOSITION = "insert into proposition "
+        + "(id, type, text, connection_type, proposition1_id, proposition2_id) values (?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_ARGUMENT = "insert into argument (id, type, premise_id, conclusion_id) values (?, ?, ?, ?)";
+
+    private final Logger log = LoggerFactory.getLogger(DebateImportService.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final GraphCycleService graphCycleService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationProperties.DebateImport properties;
+
+    private final Timer importTimer;
+
+    private final Counter propositionCounter;
+
+    private final Counter argumentCounter;
+
+    public DebateImportService(ObjectMapper objectMapper, EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                               GraphCycleService graphCycleService, ApplicationEventPublisher eventPublisher,
+                               ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.graphCycleService = graphCycleService;
+        this.eventPublisher = eventPublisher;
+        this.properties = applicationProperties.getDebateImport();
+        this.importTimer = Timer.builder("debate.import")
+            .description("Time spent importing debates")
+            .register(meterRegistry);
+        this.propositionCounter = Counter.builder("debate.import.propositions")
+            .description("Number of imported propositions")
+            .register(meterRegistry);
+        this.argumentCounter = Counter.builder("debate.import.arguments")
+            .description("Number of imported arguments")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Import a debate.
+     *
+     * @param input the document.
+     * @param lines whether the document is NDJSON rather than JSON.
+     * @return the ids given to the references of the document.
+     * @throws InvalidDebateException if the document is malformed or refers to unknown propositions.
+     * @throws org.laybe.service.CircularReasoningException if the debate holds a support cycle and such writes are rejected.
+     */
+    public DebateImportResultDTO importDebate(InputStream input, boolean lines) {
+        long start = System.nanoTime();
+        DebateDocument document;
+        try {
+            document = DebateDocument.read(objectMapper, input, lines);
+        } catch (JsonProcessingException e) {
+            throw new InvalidDebateException("Malformed debate: " + e.getOriginalMessage()
+                + (e.getLocation() == null ? "" : " at line " + e.getLocation().getLineNr()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<ImportedPropositionDTO> propositions = document.getPropositions();
+        List<ImportedArgumentDTO> arguments = document.getArguments();
+        log.debug("Request to import a debate of {} propositions and {} arguments", propositions.size(), arguments.size());
+        int[] order = document.insertionOrder();
+        long[] propositionIds = allocateIds(entityManager, Proposition.class, propositions.size());
+        long[] argumentIds = allocateIds(entityManager, Argument.class, arguments.size());
+
+        List<PropositionChangeEvent> propositionEvents = new ArrayList<>(propositions.size());
+        for (int index : order) {
+            ImportedPropositionDTO proposition = propositions.get(index);
+            propositionEvents.add(new PropositionChangeEvent(ChangeType.CREATED, propositionIds[index], proposition.getType(),
+                proposition.getText(), proposition.getConnectionType(),
+                idOf(propositionIds, document.operand1(index)), idOf(propositionIds, document.operand2(index))));
+        }
+        List<ArgumentChangeEvent> argumentEvents = new ArrayList<>(arguments.size());
+        for (int index = 0; index < arguments.size(); index++) {
+            argumentEvents.add(new ArgumentChangeEvent(ChangeType.CREATED, argumentIds[index], arguments.get(index).getType(),
+                propositionIds[document.premise(index)], propositionIds[document.conclusion(index)]));
+        }
+        graphCycleService.checkGraph(toGraph(propositionEvents, argumentEvents));
+
+        jdbcTemplate.batchUpdate(INSERT_PROPOSITION, propositionEvents, properties.getBatchSize(), DebateImportService::setProposition);
+        jdbcTemplate.batchUpdate(INSERT_ARGUMENT, argumentEvents, properties.getBatchSize(), DebateImportService::setArgument);
+        eventPublisher.publishEvent(new DebateImportedEvent(propositionEvents, argumentEvents));
+
+        long elapsed = System.nanoTime() - start;
+        importTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        propositionCounter.increment(propositions.size());
+        argumentCounter.increment(arguments.size());
+        log.info("Imported a debate of {} propositions and {} arguments in {} ms", propositions.size(), arguments.size(),
+            TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return new DebateImportResultDTO(propositions.size(), arguments.size(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+            refs(propositions.stream().map(ImportedPropositionDTO::getRef).collect(Collectors.toList()), propositionIds),
+            refs(arguments.stream().map(ImportedArgumentDTO::getRef).collect(Collectors.toList()), argumentIds));
+    }
+
+    /**
+     * Draw ids from the generator of an entity, which only hits the sequence once per allocation block.
+     */
+    static long[] allocateIds(EntityManager entityManager, Class<?> entityClass, int count) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        IdentifierGenerator generator = session.getFactory().getMetamodel().entityPersister(entityClass).getIdentifierGenerator();
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = ((Number) generator.generate(session, null)).longValue();
+        }
+        return ids;
+    }
+
+    private static Long idOf(long[] ids, int index) {
+        return index == DebateDocument.NONE ? null : ids[index];
+    }
+
+    private static ArgumentGraph toGraph(List<PropositionChangeEvent> propositions, List<ArgumentChangeEvent> arguments) {
+        ArgumentGraph graph = new ArgumentGraph(propositions.size(), arguments.size());
+        for (PropositionChangeEvent proposition : propositions) {
+            graph.putProposition(proposition.getId(), proposition.getType(), proposition.getConnectionType(),
+                proposition.getProposition1Id(), proposition.getProposition2Id());
+        }
+        for (ArgumentChangeEvent argument : arguments) {
+            graph.putArgument(argument.getId(), argument.getType(), argument.getPremiseId(), argument.getConclusionId());
+        }
+        return graph;
+    }
+
+    private static Map<String, Long> refs(List<String> refs, long[] ids) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        IntStream.range(0, refs.size())
+            .filter(index -> refs.get(index) != null)
+            .forEach(index -> result.put(refs.get(index), ids[index]));
+        return result;
+    }
+
+    static void setProposition(PreparedStatement ps, PropositionChangeEvent proposition) throws SQLException {
+        ps.setLong(1, proposition.getId());
+        ps.setString(2, proposition.getType().name());
+        ps.setString(3, proposition.getText());
+        setEnum(ps, 4, proposition.getConnectionType());
+        setId(ps, 5, proposition.getProposition1Id());
+        setId(ps, 6, proposition.getProposition2Id());
+    }
+
+    static void setArgument(PreparedStatement ps, ArgumentChangeEvent argument) throws SQLException {
+        ps.setLong(1, argument.getId());
+        ps.setString(2, argument.getType().name());
+        ps.setLong(3, argument.getPremiseId());
+        ps.setLong(4, argument.getConclusionId());
+    }
+
+    private static void setEnum(PreparedStatement ps, int index, Enum<?> value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value.name());
+        }
+    }
+
+    private static void setId(PreparedStatement ps, int index, Long id) throws SQLException {
+        if (id == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, id);
+        }
+    }
+}
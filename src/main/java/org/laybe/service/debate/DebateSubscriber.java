@@ -0,0 +1,153 @@
+package org.laybe.service.debate;
+
+import org.laybe.service.dto.DebateChangeDTO;
+import org.laybe.service.event.ChangeType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A subscriber of the changes to a debate, with the changes waiting to be sent to it.
+ * <p>
+ * Pending changes are coalesced by entity: only the latest state of an entity is sent, and an entity created then
+ * deleted before being sent is not sent at all. When more than the capacity of entities are pending, the subscriber
+ * is too slow and must be evicted. An idle subscriber holds no change and no thread.
+ */
+final class DebateSubscriber {
+
+    private final long rootId;
+
+    private final DebateEventSink sink;
+
+    private final int capacity;
+
+    private final Map<String, DebateChangeDTO> pending = new LinkedHashMap<>();
+
+    private boolean heartbeatDue;
+
+    private boolean draining;
+
+    private boolean closed;
+
+    DebateSubscriber(long rootId, DebateEventSink sink, int capacity) {
+        this.rootId = rootId;
+        this.sink = sink;
+        this.capacity = capacity;
+    }
+
+    long getRootId() {
+        return rootId;
+    }
+
+    /**
+     * Queue a change, coalescing it with the pending change of the same entity.
+     *
+     * @param change the change.
+     * @return {@code false} if the buffer is full, so that the subscriber must be evicted.
+     */
+    synchronized boolean offer(DebateChangeDTO change) {
+        if (closed) {
+            return true;
+        }
+        String key = change.getEntity() + ':' + change.getId();
+        DebateChangeDTO previous = pending.get(key);
+        if (previous == null) {
+            if (pending.size() >= capacity) {
+                return false;
+            }
+            pending.put(key, change);
+        } else if (previous.getChangeType() == ChangeType.CREATED && change.getChangeType() == ChangeType.DELETED) {
+            pending.remove(key);
+        } else if (previous.getChangeType() == ChangeType.CREATED) {
+            pending.put(key, created(change));
+        } else {
+            pending.put(key, change);
+        }
+        return true;
+    }
+
+    /**
+     * Ask for a heartbeat, sent unless changes are sent first.
+     */
+    synchronized void requestHeartbeat() {
+        heartbeatDue = true;
+    }
+
+    /**
+     * @return {@code true} if there is something to send and no thread is sending it yet: the caller must then
+     * {@link #drain()} the subscriber.
+     */
+    synchronized boolean startDraining() {
+        if (draining || closed || (pending.isEmpty() && !heartbeatDue)) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * Send the pending changes, until there are none left.
+     *
+     * @return {@code false} if the subscriber cannot be reached anymore.
+     */
+    boolean drain() {
+        while (true) {
+            List<DebateChangeDTO> changes;
+            boolean heartbeat;
+            synchronized (this) {
+                if (closed || (pending.isEmpty() && !heartbeatDue)) {
+                    draining = false;
+                    return true;
+                }
+                changes = new ArrayList<>(pending.values());
+                pending.clear();
+                heartbeat = heartbeatDue && changes.isEmpty();
+                heartbeatDue = false;
+            }
+            try {
+                if (heartbeat) {
+                    sink.heartbeat();
+                }
+                for (DebateChangeDTO change : changes) {
+                    sink.send(change);
+                }
+            } catch (IOException | IllegalStateException e) {
+                synchronized (this) {
+                    draining = false;
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Stop sending changes, dropping the pending ones.
+     *
+     * @param closeSink whether to end the connection as well, unless it is already ended.
+     */
+    void close(boolean closeSink) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+        }
+        if (closeSink) {
+            sink.close();
+        }
+    }
+
+    private static DebateChangeDTO created(DebateChangeDTO change) {
+        DebateChangeDTO created = new DebateChangeDTO();
+        created.setEntity(change.getEntity());
+        created.setChangeType(ChangeType.CREATED);
+        created.setId(change.getId());
+        created.setProposition(change.getProposition());
+        created.setArgument(change.getArgument());
+        return created;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Import, export and live updates of whole debates.
+ */
+package org.laybe.service.debate;
@@ -0,0 +1,112 @@
+package org.laybe.service.dto;
+
+import org.laybe.domain.enumeration.ArgumentType;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for the {@link org.laybe.domain.Argument} entity.
+ * <p>
+ * It only holds the scalar fields of the argument and the ids of its premise and conclusion, so that it can be
+ * read with a single JPQL constructor expression.
+ */
+public class ArgumentDTO implements Serializable {
+
+    private Long id;
+
+    private ArgumentType type;
+
+    private Long premiseId;
+
+    private Long conclusionId;
+
+    private Long version;
+
+    public ArgumentDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ArgumentDTO(Long id, ArgumentType type, Long premiseId, Long conclusionId) {
+        this.id = id;
+        this.type = type;
+        this.premiseId = premiseId;
+        this.conclusionId = conclusionId;
+    }
+
+    public ArgumentDTO(Long id, ArgumentType type, Long premiseId, Long conclusionId, Long version) {
+        this(id, type, premiseId, conclusionId);
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ArgumentType getType() {
+        return type;
+    }
+
+    public void setType(ArgumentType type) {
+        this.type = type;
+    }
+
+    public Long getPremiseId() {
+        return premiseId;
+    }
+
+    public void setPremiseId(Long propositionId) {
+        this.premiseId = propositionId;
+    }
+
+    public Long getConclusionId() {
+        return conclusionId;
+    }
+
+    public void setConclusionId(Long propositionId) {
+        this.conclusionId = propositionId;
+    }
+
+    /**
+     * @return the version of the argument, incremented by each update, from which its ETag is built.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArgumentDTO)) {
+            return false;
+        }
+
+        return id != null && id.equals(((ArgumentDTO) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ArgumentDTO{" +
+            "id=" + getId() +
+            ", type='" + getType() + "'" +
+            ", premiseId=" + getPremiseId() +
+            ", conclusionId=" + getConclusionId() +
+            ", version=" + getVersion() +
+            "}";
+    }
+}
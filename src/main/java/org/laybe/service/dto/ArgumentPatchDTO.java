@@ -0,0 +1,53 @@
+package org.laybe.service.dto;
+
+import org.laybe.domain.enumeration.ArgumentType;
+
+import org.openapitools.jackson.nullable.JsonNullable;
+
+/**
+ * A JSON Merge Patch of the {@link org.laybe.domain.Argument} entity.
+ * <p>
+ * A field absent from the request is left unchanged, while a field set to {@code null} is cleared.
+ */
+public class ArgumentPatchDTO {
+
+    private JsonNullable<ArgumentType> type = JsonNullable.undefined();
+
+    private JsonNullable<Long> premiseId = JsonNullable.undefined();
+
+    private JsonNullable<Long> conclusionId = JsonNullable.undefined();
+
+    public JsonNullable<ArgumentType> getType() {
+        return type;
+    }
+
+    public void setType(JsonNullable<ArgumentType> type) {
+        this.type = type;
+    }
+
+    public JsonNullable<Long> getPremiseId() {
+        return premiseId;
+    }
+
+    public void setPremiseId(JsonNullable<Long> premiseId) {
+        this.premiseId = premiseId;
+    }
+
+    public JsonNullable<Long> getConclusionId() {
+        return conclusionId;
+    }
+
+    public void setConclusionId(JsonNullable<Long> conclusionId) {
+        this.conclusionId = conclusionId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ArgumentPatchDTO{" +
+            "type=" + getType() +
+            ", premiseId=" + getPremiseId() +
+            ", conclusionId=" + getConclusionId() +
+            "}";
+    }
+}
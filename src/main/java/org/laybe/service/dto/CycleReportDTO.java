@@ -0,0 +1,78 @@
+package org.laybe.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the support cycles found in the argument graph.
+ */
+public class CycleReportDTO {
+
+    private int propositionCount;
+
+    private int argumentCount;
+
+    private long analysisTime;
+
+    private List<List<Long>> cycles = new ArrayList<>();
+
+    public CycleReportDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CycleReportDTO(int propositionCount, int argumentCount, long analysisTime, List<List<Long>> cycles) {
+        this.propositionCount = propositionCount;
+        this.argumentCount = argumentCount;
+        this.analysisTime = analysisTime;
+        this.cycles = cycles;
+    }
+
+    public int getPropositionCount() {
+        return propositionCount;
+    }
+
+    public void setPropositionCount(int propositionCount) {
+        this.propositionCount = propositionCount;
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    public void setArgumentCount(int argumentCount) {
+        this.argumentCount = argumentCount;
+    }
+
+    /**
+     * @return the time spent analysing the graph, in milliseconds.
+     */
+    public long getAnalysisTime() {
+        return analysisTime;
+    }
+
+    public void setAnalysisTime(long analysisTime) {
+        this.analysisTime = analysisTime;
+    }
+
+    /**
+     * @return the ids of the propositions of each strongly connected component holding a cycle.
+     */
+    public List<List<Long>> getCycles() {
+        return cycles;
+    }
+
+    public void setCycles(List<List<Long>> cycles) {
+        this.cycles = cycles;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CycleReportDTO{" +
+            "propositionCount=" + propositionCount +
+            ", argumentCount=" + argumentCount +
+            ", analysisTime=" + analysisTime +
+            ", cycles=" + cycles.size() +
+            "}";
+    }
+}
@@ -0,0 +1,107 @@
+package org.laybe.service.dto;
+
+import org.laybe.service.event.ChangeType;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A DTO representing a change to a proposition or an argument of a debate, as sent to the subscribers of the debate.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DebateChangeDTO {
+
+    public static final String PROPOSITION = "proposition";
+
+    public static final String ARGUMENT = "argument";
+
+    private String entity;
+
+    private ChangeType changeType;
+
+    private Long id;
+
+    private PropositionDTO proposition;
+
+    private ArgumentDTO argument;
+
+    public DebateChangeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public static DebateChangeDTO ofProposition(ChangeType changeType, Long id, PropositionDTO proposition) {
+        DebateChangeDTO change = new DebateChangeDTO();
+        change.entity = PROPOSITION;
+        change.changeType = changeType;
+        change.id = id;
+        change.proposition = proposition;
+        return change;
+    }
+
+    public static DebateChangeDTO ofArgument(ChangeType changeType, Long id, ArgumentDTO argument) {
+        DebateChangeDTO change = new DebateChangeDTO();
+        change.entity = ARGUMENT;
+        change.changeType = changeType;
+        change.id = id;
+        change.argument = argument;
+        return change;
+    }
+
+    /**
+     * @return {@value #PROPOSITION} or {@value #ARGUMENT}.
+     */
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the state of the proposition once changed, {@code null} if it was deleted or if it is an argument.
+     */
+    public PropositionDTO getProposition() {
+        return proposition;
+    }
+
+    public void setProposition(PropositionDTO proposition) {
+        this.proposition = proposition;
+    }
+
+    /**
+     * @return the state of the argument once changed, {@code null} if it was deleted or if it is a proposition.
+     */
+    public ArgumentDTO getArgument() {
+        return argument;
+    }
+
+    public void setArgument(ArgumentDTO argument) {
+        this.argument = argument;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DebateChangeDTO{" +
+            "entity='" + getEntity() + "'" +
+            ", changeType='" + getChangeType() + "'" +
+            ", id=" + getId() +
+            "}";
+    }
+}
@@ -0,0 +1,105 @@
+package org.laybe.service.dto;
+
+/**
+ * A DTO representing the outcome of the generation of a synthetic debate.
+ */
+public class DebateGenerationResultDTO {
+
+    private int propositionCount;
+
+    private int argumentCount;
+
+    private int cycleCount;
+
+    private long generationTime;
+
+    private Long firstPropositionId;
+
+    private Long lastPropositionId;
+
+    public DebateGenerationResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public DebateGenerationResultDTO(int propositionCount, int argumentCount, int cycleCount, long generationTime,
+                                     Long firstPropositionId, Long lastPropositionId) {
+        this.propositionCount = propositionCount;
+        this.argumentCount = argumentCount;
+        this.cycleCount = cycleCount;
+        this.generationTime = generationTime;
+        this.firstPropositionId = firstPropositionId;
+        this.lastPropositionId = lastPropositionId;
+    }
+
+    public int getPropositionCount() {
+        return propositionCount;
+    }
+
+    public void setPropositionCount(int propositionCount) {
+        this.propositionCount = propositionCount;
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    public void setArgumentCount(int argumentCount) {
+        this.argumentCount = argumentCount;
+    }
+
+    /**
+     * @return the number of arguments closing a support cycle.
+     */
+    public int getCycleCount() {
+        return cycleCount;
+    }
+
+    public void setCycleCount(int cycleCount) {
+        this.cycleCount = cycleCount;
+    }
+
+    /**
+     * @return the time spent generating, in milliseconds.
+     */
+    public long getGenerationTime() {
+        return generationTime;
+    }
+
+    public void setGenerationTime(long generationTime) {
+        this.generationTime = generationTime;
+    }
+
+    /**
+     * @return the lowest id of the generated propositions.
+     */
+    public Long getFirstPropositionId() {
+        return firstPropositionId;
+    }
+
+    public void setFirstPropositionId(Long firstPropositionId) {
+        this.firstPropositionId = firstPropositionId;
+    }
+
+    /**
+     * @return the highest id of the generated propositions.
+     */
+    public Long getLastPropositionId() {
+        return lastPropositionId;
+    }
+
+    public void setLastPropositionId(Long lastPropositionId) {
+        this.lastPropositionId = lastPropositionId;
+    }
+
+    @Override
+    public String toString() {
+        return "DebateGenerationResultDTO{" +
+            "propositionCount=" + getPropositionCount() +
+            ", argumentCount=" + getArgumentCount() +
+            ", cycleCount=" + getCycleCount() +
+            ", generationTime=" + getGenerationTime() +
+            ", firstPropositionId=" + getFirstPropositionId() +
+            ", lastPropositionId=" + getLastPropositionId() +
+            "}";
+    }
+}
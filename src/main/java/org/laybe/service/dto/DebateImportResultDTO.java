@@ -0,0 +1,85 @@
+package org.laybe.service.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A DTO representing the outcome of a debate import: the ids given to the references of the document.
+ */
+public class DebateImportResultDTO {
+
+    private int propositionCount;
+
+    private int argumentCount;
+
+    private long importTime;
+
+    private Map<String, Long> propositionIds = new LinkedHashMap<>();
+
+    private Map<String, Long> argumentIds = new LinkedHashMap<>();
+
+    public DebateImportResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public DebateImportResultDTO(int propositionCount, int argumentCount, long importTime,
+                                 Map<String, Long> propositionIds, Map<String, Long> argumentIds) {
+        this.propositionCount = propositionCount;
+        this.argumentCount = argumentCount;
+        this.importTime = importTime;
+        this.propositionIds = propositionIds;
+        this.argumentIds = argumentIds;
+    }
+
+    public int getPropositionCount() {
+        return propositionCount;
+    }
+
+    public void setPropositionCount(int propositionCount) {
+        this.propositionCount = propositionCount;
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    public void setArgumentCount(int argumentCount) {
+        this.argumentCount = argumentCount;
+    }
+
+    /**
+     * @return the time spent importing, in milliseconds.
+     */
+    public long getImportTime() {
+        return importTime;
+    }
+
+    public void setImportTime(long importTime) {
+        this.importTime = importTime;
+    }
+
+    public Map<String, Long> getPropositionIds() {
+        return propositionIds;
+    }
+
+    public void setPropositionIds(Map<String, Long> propositionIds) {
+        this.propositionIds = propositionIds;
+    }
+
+    public Map<String, Long> getArgumentIds() {
+        return argumentIds;
+    }
+
+    public void setArgumentIds(Map<String, Long> argumentIds) {
+        this.argumentIds = argumentIds;
+    }
+
+    @Override
+    public String toString() {
+        return "DebateImportResultDTO{" +
+            "propositionCount=" + getPropositionCount() +
+            ", argumentCount=" + getArgumentCount() +
+            ", importTime=" + getImportTime() +
+            "}";
+    }
+}
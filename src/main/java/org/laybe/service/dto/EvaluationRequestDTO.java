@@ -0,0 +1,42 @@
+package org.laybe.service.dto;
+
+import javax.validation.constraints.NotNull;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A DTO holding the propositions asserted by a user, to evaluate the argument graph from.
+ */
+public class EvaluationRequestDTO {
+
+    @NotNull
+    private Set<Long> accepted = new HashSet<>();
+
+    @NotNull
+    private Set<Long> rejected = new HashSet<>();
+
+    public Set<Long> getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(Set<Long> accepted) {
+        this.accepted = accepted;
+    }
+
+    public Set<Long> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Set<Long> rejected) {
+        this.rejected = rejected;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EvaluationRequestDTO{" +
+            "accepted=" + accepted +
+            ", rejected=" + rejected +
+            "}";
+    }
+}
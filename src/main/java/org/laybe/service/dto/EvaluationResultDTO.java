@@ -0,0 +1,69 @@
+package org.laybe.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO holding the result of the evaluation of the argument graph.
+ */
+public class EvaluationResultDTO {
+
+    private List<PropositionStatusDTO> propositions = new ArrayList<>();
+
+    private List<Long> cycleIds = new ArrayList<>();
+
+    private List<Long> unknownIds = new ArrayList<>();
+
+    public EvaluationResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public EvaluationResultDTO(List<PropositionStatusDTO> propositions, List<Long> cycleIds, List<Long> unknownIds) {
+        this.propositions = propositions;
+        this.cycleIds = cycleIds;
+        this.unknownIds = unknownIds;
+    }
+
+    /**
+     * @return the status of every proposition reached by the evaluation.
+     */
+    public List<PropositionStatusDTO> getPropositions() {
+        return propositions;
+    }
+
+    public void setPropositions(List<PropositionStatusDTO> propositions) {
+        this.propositions = propositions;
+    }
+
+    /**
+     * @return the ids of reached propositions closing a support cycle, each one supporting itself transitively.
+     */
+    public List<Long> getCycleIds() {
+        return cycleIds;
+    }
+
+    public void setCycleIds(List<Long> cycleIds) {
+        this.cycleIds = cycleIds;
+    }
+
+    /**
+     * @return the asserted ids matching no proposition.
+     */
+    public List<Long> getUnknownIds() {
+        return unknownIds;
+    }
+
+    public void setUnknownIds(List<Long> unknownIds) {
+        this.unknownIds = unknownIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EvaluationResultDTO{" +
+            "propositions=" + propositions.size() +
+            ", cycleIds=" + cycleIds +
+            ", unknownIds=" + unknownIds +
+            "}";
+    }
+}
@@ -0,0 +1,34 @@
+package org.laybe.service.dto;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The direction in which a proposition graph is traversed.
+ * <p>
+ * {@code DOWN} follows what supports a proposition (the premises of its arguments and the operands
+ * of a connection), {@code UP} follows what a proposition supports (the conclusions of its arguments
+ * and the connections it is part of).
+ */
+public enum GraphDirection {
+    UP, DOWN, BOTH;
+
+    public boolean isUpward() {
+        return this != DOWN;
+    }
+
+    public boolean isDownward() {
+        return this != UP;
+    }
+
+    public static Optional<GraphDirection> fromValue(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase(Locale.ENGLISH)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.laybe.service.dto;
+
+import org.laybe.domain.enumeration.ArgumentType;
+
+import java.util.Objects;
+
+/**
+ * A flat DTO representing an edge of the argument graph.
+ * <p>
+ * Edges always point from the supporting proposition ({@code source}) to the supported one ({@code target}):
+ * from the premise to the conclusion of an argument, or from an operand to its connection.
+ */
+public class GraphEdgeDTO {
+
+    /**
+     * The relationship an edge comes from.
+     */
+    public enum Kind {
+        ARGUMENT, PROPOSITION1, PROPOSITION2
+    }
+
+    private Kind kind;
+
+    private Long argumentId;
+
+    private ArgumentType argumentType;
+
+    private Long source;
+
+    private Long target;
+
+    public GraphEdgeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public GraphEdgeDTO(Long argumentId, ArgumentType argumentType, Long premiseId, Long conclusionId) {
+        this.kind = Kind.ARGUMENT;
+        this.argumentId = argumentId;
+        this.argumentType = argumentType;
+        this.source = premiseId;
+        this.target = conclusionId;
+    }
+
+    /**
+     * Create the edge linking an operand to the connection it is part of.
+     *
+     * @param kind either {@link Kind#PROPOSITION1} or {@link Kind#PROPOSITION2}.
+     * @param operandId the id of the operand.
+     * @param connectionId the id of the connection.
+     * @return the edge.
+     */
+    public static GraphEdgeDTO operand(Kind kind, Long operandId, Long connectionId) {
+        GraphEdgeDTO edge = new GraphEdgeDTO();
+        edge.kind = kind;
+        edge.source = operandId;
+        edge.target = connectionId;
+        return edge;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public Long getArgumentId() {
+        return argumentId;
+    }
+
+    public void setArgumentId(Long argumentId) {
+        this.argumentId = argumentId;
+    }
+
+    public ArgumentType getArgumentType() {
+        return argumentType;
+    }
+
+    public void setArgumentType(ArgumentType argumentType) {
+        this.argumentType = argumentType;
+    }
+
+    public Long getSource() {
+        return source;
+    }
+
+    public void setSource(Long source) {
+        this.source = source;
+    }
+
+    public Long getTarget() {
+        return target;
+    }
+
+    public void setTarget(Long target) {
+        this.target = target;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GraphEdgeDTO)) {
+            return false;
+        }
+        GraphEdgeDTO that = (GraphEdgeDTO) o;
+        return kind == that.kind &&
+            Objects.equals(argumentId, that.argumentId) &&
+            Objects.equals(source, that.source) &&
+            Objects.equals(target, that.target);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, argumentId, source, target);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GraphEdgeDTO{" +
+            "kind='" + kind + "'" +
+            ", argumentId=" + argumentId +
+            ", argumentType='" + argumentType + "'" +
+            ", source=" + source +
+            ", target=" + target +
+            "}";
+    }
+}
@@ -0,0 +1,132 @@
+package org.laybe.service.dto;
+
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+
+import java.util.Objects;
+
+/**
+ * A flat DTO representing a proposition as a node of the argument graph.
+ */
+public class GraphNodeDTO {
+
+    private Long id;
+
+    private PropositionType type;
+
+    private String text;
+
+    private ConnectionType connectionType;
+
+    private Long proposition1Id;
+
+    private Long proposition2Id;
+
+    private int depth;
+
+    public GraphNodeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public GraphNodeDTO(Long id, PropositionType type, String text, ConnectionType connectionType,
+                        Long proposition1Id, Long proposition2Id) {
+        this.id = id;
+        this.type = type;
+        this.text = text;
+        this.connectionType = connectionType;
+        this.proposition1Id = proposition1Id;
+        this.proposition2Id = proposition2Id;
+    }
+
+    public GraphNodeDTO(Long id, PropositionType type, ConnectionType connectionType, Long proposition1Id, Long proposition2Id) {
+        this(id, type, null, connectionType, proposition1Id, proposition2Id);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PropositionType getType() {
+        return type;
+    }
+
+    public void setType(PropositionType type) {
+        this.type = type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public ConnectionType getConnectionType() {
+        return connectionType;
+    }
+
+    public void setConnectionType(ConnectionType connectionType) {
+        this.connectionType = connectionType;
+    }
+
+    public Long getProposition1Id() {
+        return proposition1Id;
+    }
+
+    public void setProposition1Id(Long proposition1Id) {
+        this.proposition1Id = proposition1Id;
+    }
+
+    public Long getProposition2Id() {
+        return proposition2Id;
+    }
+
+    public void setProposition2Id(Long proposition2Id) {
+        this.proposition2Id = proposition2Id;
+    }
+
+    /**
+     * @return the number of hops between this node and the root of the fetched graph.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GraphNodeDTO)) {
+            return false;
+        }
+        return id != null && id.equals(((GraphNodeDTO) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GraphNodeDTO{" +
+            "id=" + id +
+            ", type='" + type + "'" +
+            ", connectionType='" + connectionType + "'" +
+            ", proposition1Id=" + proposition1Id +
+            ", proposition2Id=" + proposition2Id +
+            ", depth=" + depth +
+            "}";
+    }
+}
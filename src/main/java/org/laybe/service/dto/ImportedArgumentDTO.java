@@ -0,0 +1,73 @@
+package org.laybe.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.laybe.domain.enumeration.ArgumentType;
+
+/**
+ * A DTO representing an argument of an imported or exported debate, whose premise and conclusion are references
+ * to propositions of the same document.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportedArgumentDTO {
+
+    private String ref;
+
+    private ArgumentType type;
+
+    private String premise;
+
+    private String conclusion;
+
+    public ImportedArgumentDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ImportedArgumentDTO(String ref, ArgumentType type, String premise, String conclusion) {
+        this.ref = ref;
+        this.type = type;
+        this.premise = premise;
+        this.conclusion = conclusion;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public ArgumentType getType() {
+        return type;
+    }
+
+    public void setType(ArgumentType type) {
+        this.type = type;
+    }
+
+    public String getPremise() {
+        return premise;
+    }
+
+    public void setPremise(String premise) {
+        this.premise = premise;
+    }
+
+    public String getConclusion() {
+        return conclusion;
+    }
+
+    public void setConclusion(String conclusion) {
+        this.conclusion = conclusion;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportedArgumentDTO{" +
+            "ref='" + getRef() + "'" +
+            ", type='" + getType() + "'" +
+            ", premise='" + getPremise() + "'" +
+            ", conclusion='" + getConclusion() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,101 @@
+package org.laybe.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+
+/**
+ * A DTO representing a proposition of an imported or exported debate.
+ * <p>
+ * Propositions are identified by a reference local to the imported document, which the operands of
+ * connections and the arguments refer to.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportedPropositionDTO {
+
+    private String ref;
+
+    private PropositionType type;
+
+    private String text;
+
+    private ConnectionType connectionType;
+
+    private String proposition1;
+
+    private String proposition2;
+
+    public ImportedPropositionDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ImportedPropositionDTO(String ref, PropositionType type, String text, ConnectionType connectionType,
+                                  String proposition1, String proposition2) {
+        this.ref = ref;
+        this.type = type;
+        this.text = text;
+        this.connectionType = connectionType;
+        this.proposition1 = proposition1;
+        this.proposition2 = proposition2;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public PropositionType getType() {
+        return type;
+    }
+
+    public void setType(PropositionType type) {
+        this.type = type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public ConnectionType getConnectionType() {
+        return connectionType;
+    }
+
+    public void setConnectionType(ConnectionType connectionType) {
+        this.connectionType = connectionType;
+    }
+
+    public String getProposition1() {
+        return proposition1;
+    }
+
+    public void setProposition1(String proposition1) {
+        this.proposition1 = proposition1;
+    }
+
+    public String getProposition2() {
+        return proposition2;
+    }
+
+    public void setProposition2(String proposition2) {
+        this.proposition2 = proposition2;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportedPropositionDTO{" +
+            "ref='" + getRef() + "'" +
+            ", type='" + getType() + "'" +
+            ", text='" + getText() + "'" +
+            ", connectionType='" + getConnectionType() + "'" +
+            ", proposition1='" + getProposition1() + "'" +
+            ", proposition2='" + getProposition2() + "'" +
+            "}";
+    }
+}
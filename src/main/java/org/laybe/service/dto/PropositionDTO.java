@@ -0,0 +1,157 @@
+package org.laybe.service.dto;
+
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO for the {@link org.laybe.domain.Proposition} entity.
+ * <p>
+ * It only holds the scalar fields of the proposition and the ids of its operands, so that it can be
+ * read with a single JPQL constructor expression.
+ */
+public class PropositionDTO implements Serializable {
+
+    private Long id;
+
+    private PropositionType type;
+
+    private String text;
+
+    private ConnectionType connectionType;
+
+    private Long proposition1Id;
+
+    private Long proposition2Id;
+
+    private Long version;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<Long> similarPropositionIds = new ArrayList<>();
+
+    public PropositionDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PropositionDTO(Long id, PropositionType type, String text, ConnectionType connectionType,
+                          Long proposition1Id, Long proposition2Id) {
+        this.id = id;
+        this.type = type;
+        this.text = text;
+        this.connectionType = connectionType;
+        this.proposition1Id = proposition1Id;
+        this.proposition2Id = proposition2Id;
+    }
+
+    public PropositionDTO(Long id, PropositionType type, String text, ConnectionType connectionType,
+                          Long proposition1Id, Long proposition2Id, Long version) {
+        this(id, type, text, connectionType, proposition1Id, proposition2Id);
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PropositionType getType() {
+        return type;
+    }
+
+    public void setType(PropositionType type) {
+        this.type = type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public ConnectionType getConnectionType() {
+        return connectionType;
+    }
+
+    public void setConnectionType(ConnectionType connectionType) {
+        this.connectionType = connectionType;
+    }
+
+    public Long getProposition1Id() {
+        return proposition1Id;
+    }
+
+    public void setProposition1Id(Long propositionId) {
+        this.proposition1Id = propositionId;
+    }
+
+    public Long getProposition2Id() {
+        return proposition2Id;
+    }
+
+    public void setProposition2Id(Long propositionId) {
+        this.proposition2Id = propositionId;
+    }
+
+    /**
+     * @return the version of the proposition, incremented by each update, from which its ETag is built.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * @return the ids of the propositions whose text is close to the text of this one, only set once it is saved.
+     */
+    public List<Long> getSimilarPropositionIds() {
+        return similarPropositionIds;
+    }
+
+    public void setSimilarPropositionIds(List<Long> similarPropositionIds) {
+        this.similarPropositionIds = similarPropositionIds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PropositionDTO)) {
+            return false;
+        }
+
+        return id != null && id.equals(((PropositionDTO) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PropositionDTO{" +
+            "id=" + getId() +
+            ", type='" + getType() + "'" +
+            ", text='" + getText() + "'" +
+            ", connectionType='" + getConnectionType() + "'" +
+            ", proposition1Id=" + getProposition1Id() +
+            ", proposition2Id=" + getProposition2Id() +
+            ", version=" + getVersion() +
+            "}";
+    }
+}
@@ -0,0 +1,84 @@
+package org.laybe.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the bounded neighbourhood of a proposition, as flat lists of nodes and edges.
+ */
+public class PropositionGraphDTO {
+
+    private Long rootId;
+
+    private int depth;
+
+    private GraphDirection direction;
+
+    private List<GraphNodeDTO> nodes = new ArrayList<>();
+
+    private List<GraphEdgeDTO> edges = new ArrayList<>();
+
+    public PropositionGraphDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PropositionGraphDTO(Long rootId, int depth, GraphDirection direction, List<GraphNodeDTO> nodes, List<GraphEdgeDTO> edges) {
+        this.rootId = rootId;
+        this.depth = depth;
+        this.direction = direction;
+        this.nodes = nodes;
+        this.edges = edges;
+    }
+
+    public Long getRootId() {
+        return rootId;
+    }
+
+    public void setRootId(Long rootId) {
+        this.rootId = rootId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public GraphDirection getDirection() {
+        return direction;
+    }
+
+    public void setDirection(GraphDirection direction) {
+        this.direction = direction;
+    }
+
+    public List<GraphNodeDTO> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<GraphNodeDTO> nodes) {
+        this.nodes = nodes;
+    }
+
+    public List<GraphEdgeDTO> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<GraphEdgeDTO> edges) {
+        this.edges = edges;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PropositionGraphDTO{" +
+            "rootId=" + rootId +
+            ", depth=" + depth +
+            ", direction='" + direction + "'" +
+            ", nodes=" + nodes.size() +
+            ", edges=" + edges.size() +
+            "}";
+    }
+}
@@ -0,0 +1,76 @@
+package org.laybe.service.dto;
+
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+
+import org.openapitools.jackson.nullable.JsonNullable;
+
+/**
+ * A JSON Merge Patch of the {@link org.laybe.domain.Proposition} entity.
+ * <p>
+ * A field absent from the request is left unchanged, while a field set to {@code null} is cleared.
+ */
+public class PropositionPatchDTO {
+
+    private JsonNullable<PropositionType> type = JsonNullable.undefined();
+
+    private JsonNullable<String> text = JsonNullable.undefined();
+
+    private JsonNullable<ConnectionType> connectionType = JsonNullable.undefined();
+
+    private JsonNullable<Long> proposition1Id = JsonNullable.undefined();
+
+    private JsonNullable<Long> proposition2Id = JsonNullable.undefined();
+
+    public JsonNullable<PropositionType> getType() {
+        return type;
+    }
+
+    public void setType(JsonNullable<PropositionType> type) {
+        this.type = type;
+    }
+
+    public JsonNullable<String> getText() {
+        return text;
+    }
+
+    public void setText(JsonNullable<String> text) {
+        this.text = text;
+    }
+
+    public JsonNullable<ConnectionType> getConnectionType() {
+        return connectionType;
+    }
+
+    public void setConnectionType(JsonNullable<ConnectionType> connectionType) {
+        this.connectionType = connectionType;
+    }
+
+    public JsonNullable<Long> getProposition1Id() {
+        return proposition1Id;
+    }
+
+    public void setProposition1Id(JsonNullable<Long> proposition1Id) {
+        this.proposition1Id = proposition1Id;
+    }
+
+    public JsonNullable<Long> getProposition2Id() {
+        return proposition2Id;
+    }
+
+    public void setProposition2Id(JsonNullable<Long> proposition2Id) {
+        this.proposition2Id = proposition2Id;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PropositionPatchDTO{" +
+            "type=" + getType() +
+            ", text=" + getText() +
+            ", connectionType=" + getConnectionType() +
+            ", proposition1Id=" + getProposition1Id() +
+            ", proposition2Id=" + getProposition2Id() +
+            "}";
+    }
+}
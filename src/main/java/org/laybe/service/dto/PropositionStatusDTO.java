@@ -0,0 +1,45 @@
+package org.laybe.service.dto;
+
+/**
+ * A DTO holding the derived status of a proposition.
+ */
+public class PropositionStatusDTO {
+
+    private Long id;
+
+    private TruthStatus status;
+
+    public PropositionStatusDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PropositionStatusDTO(Long id, TruthStatus status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TruthStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TruthStatus status) {
+        this.status = status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PropositionStatusDTO{" +
+            "id=" + id +
+            ", status='" + status + "'" +
+            "}";
+    }
+}
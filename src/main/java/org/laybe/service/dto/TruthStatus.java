@@ -0,0 +1,23 @@
+package org.laybe.service.dto;
+
+/**
+ * The status of a proposition derived by the evaluation of the argument graph.
+ */
+public enum TruthStatus {
+    /**
+     * Only derived as true.
+     */
+    ACCEPTED,
+    /**
+     * Only derived as false.
+     */
+    REJECTED,
+    /**
+     * Derived both as true and false.
+     */
+    CONTRADICTED,
+    /**
+     * Reached by the evaluation, but nothing could be derived about it.
+     */
+    UNDETERMINED
+}
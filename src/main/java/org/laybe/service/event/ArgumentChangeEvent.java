@@ -0,0 +1,70 @@
+package org.laybe.service.event;
+
+import org.laybe.domain.Argument;
+import org.laybe.domain.enumeration.ArgumentType;
+
+/**
+ * Published when an {@link Argument} is saved or deleted.
+ * <p>
+ * It carries a snapshot of the scalar state of the argument, so that listeners running after the
+ * transaction has committed never need to touch the entity.
+ */
+public class ArgumentChangeEvent {
+
+    private final ChangeType changeType;
+
+    private final Long id;
+
+    private final ArgumentType type;
+
+    private final Long premiseId;
+
+    private final Long conclusionId;
+
+    public ArgumentChangeEvent(ChangeType changeType, Long id, ArgumentType type, Long premiseId, Long conclusionId) {
+        this.changeType = changeType;
+        this.id = id;
+        this.type = type;
+        this.premiseId = premiseId;
+        this.conclusionId = conclusionId;
+    }
+
+    public static ArgumentChangeEvent saved(ChangeType changeType, Argument argument) {
+        return new ArgumentChangeEvent(changeType, argument.getId(), argument.getType(),
+            argument.getPremise() == null ? null : argument.getPremise().getId(),
+            argument.getConclusion() == null ? null : argument.getConclusion().getId());
+    }
+
+    public static ArgumentChangeEvent deleted(Long id) {
+        return new ArgumentChangeEvent(ChangeType.DELETED, id, null, null, null);
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ArgumentType getType() {
+        return type;
+    }
+
+    public Long getPremiseId() {
+        return premiseId;
+    }
+
+    public Long getConclusionId() {
+        return conclusionId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ArgumentChangeEvent{" +
+            "changeType='" + changeType + "'" +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -0,0 +1,8 @@
+package org.laybe.service.event;
+
+/**
+ * The kind of change an entity went through.
+ */
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
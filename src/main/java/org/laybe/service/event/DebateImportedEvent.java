@@ -0,0 +1,26 @@
+package org.laybe.service.event;
+
+import java.util.List;
+
+/**
+ * Published when a whole debate has been imported, instead of one event per created entity.
+ */
+public class DebateImportedEvent {
+
+    private final List<PropositionChangeEvent> propositions;
+
+    private final List<ArgumentChangeEvent> arguments;
+
+    public DebateImportedEvent(List<PropositionChangeEvent> propositions, List<ArgumentChangeEvent> arguments) {
+        this.propositions = propositions;
+        this.arguments = arguments;
+    }
+
+    public List<PropositionChangeEvent> getPropositions() {
+        return propositions;
+    }
+
+    public List<ArgumentChangeEvent> getArguments() {
+        return arguments;
+    }
+}
@@ -0,0 +1,87 @@
+package org.laybe.service.event;
+
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+
+/**
+ * Published when a {@link Proposition} is saved or deleted.
+ * <p>
+ * It carries a snapshot of the scalar state of the proposition, so that listeners running after the
+ * transaction has committed never need to touch the entity.
+ */
+public class PropositionChangeEvent {
+
+    private final ChangeType changeType;
+
+    private final Long id;
+
+    private final PropositionType type;
+
+    private final String text;
+
+    private final ConnectionType connectionType;
+
+    private final Long proposition1Id;
+
+    private final Long proposition2Id;
+
+    public PropositionChangeEvent(ChangeType changeType, Long id, PropositionType type, String text,
+                                  ConnectionType connectionType, Long proposition1Id, Long proposition2Id) {
+        this.changeType = changeType;
+        this.id = id;
+        this.type = type;
+        this.text = text;
+        this.connectionType = connectionType;
+        this.proposition1Id = proposition1Id;
+        this.proposition2Id = proposition2Id;
+    }
+
+    public static PropositionChangeEvent saved(ChangeType changeType, Proposition proposition) {
+        return new PropositionChangeEvent(changeType, proposition.getId(), proposition.getType(), proposition.getText(),
+            proposition.getConnectionType(),
+            proposition.getProposition1() == null ? null : proposition.getProposition1().getId(),
+            proposition.getProposition2() == null ? null : proposition.getProposition2().getId());
+    }
+
+    public static PropositionChangeEvent deleted(Long id) {
+        return new PropositionChangeEvent(ChangeType.DELETED, id, null, null, null, null, null);
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public PropositionType getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public ConnectionType getConnectionType() {
+        return connectionType;
+    }
+
+    public Long getProposition1Id() {
+        return proposition1Id;
+    }
+
+    public Long getProposition2Id() {
+        return proposition2Id;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PropositionChangeEvent{" +
+            "changeType='" + changeType + "'" +
+            ", id=" + id +
+            "}";
+    }
+}
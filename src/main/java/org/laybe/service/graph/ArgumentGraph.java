@@ -0,0 +1,614 @@
+package org.laybe.service.graph;
+
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * A compact, mutable adjacency structure of the proposition/argument graph.
+ * <p>
+ * Propositions and arguments are stored in int-indexed slots; their ids are mapped to slots with
+ * {@link LongIntHashMap}s. Each proposition slot keeps the arguments it is the premise or the conclusion of,
+ * and the connections it is an operand of. Slots of removed entities are recycled.
+ * <p>
+ * This class is not thread-safe, see {@link PropositionGraphIndex} for concurrent access.
+ */
+public class ArgumentGraph {
+
+    /**
+     * The slot value meaning "no proposition" or "no argument".
+     */
+    public static final int NONE = -1;
+
+    private static final byte UNKNOWN = 0;
+
+    private static final IntArrayList EMPTY = new IntArrayList(0);
+
+    private final LongIntHashMap nodeSlots;
+
+    private long[] nodeIds;
+
+    private byte[] nodeTypes;
+
+    private byte[] connectionTypes;
+
+    private int[] operands1;
+
+    private int[] operands2;
+
+    private IntArrayList[] partOf;
+
+    private IntArrayList[] incoming;
+
+    private IntArrayList[] outgoing;
+
+    private int nodeHighWater;
+
+    private int nodeCount;
+
+    private final IntArrayList freeNodes = new IntArrayList();
+
+    private final LongIntHashMap argumentSlots;
+
+    private long[] argumentIds;
+
+    private byte[] argumentTypes;
+
+    private int[] premises;
+
+    private int[] conclusions;
+
+    private int argumentHighWater;
+
+    private int argumentCount;
+
+    private final IntArrayList freeArguments = new IntArrayList();
+
+    public ArgumentGraph(int expectedPropositions, int expectedArguments) {
+        int nodeCapacity = Math.max(16, expectedPropositions);
+        nodeSlots = new LongIntHashMap(nodeCapacity, NONE);
+        nodeIds = new long[nodeCapacity];
+        nodeTypes = new byte[nodeCapacity];
+        connectionTypes = new byte[nodeCapacity];
+        operands1 = new int[nodeCapacity];
+        operands2 = new int[nodeCapacity];
+        partOf = new IntArrayList[nodeCapacity];
+        incoming = new IntArrayList[nodeCapacity];
+        outgoing = new IntArrayList[nodeCapacity];
+
+        int argumentCapacity = Math.max(16, expectedArguments);
+        argumentSlots = new LongIntHashMap(argumentCapacity, NONE);
+        argumentIds = new long[argumentCapacity];
+        argumentTypes = new byte[argumentCapacity];
+        premises = new int[argumentCapacity];
+        conclusions = new int[argumentCapacity];
+    }
+
+    // Updates
+
+    /**
+     * Insert or update a proposition.
+     *
+     * @param id the id of the proposition.
+     * @param type the type of the proposition.
+     * @param connectionType the connection type, for connections.
+     * @param proposition1Id the id of the first operand, if any.
+     * @param proposition2Id the id of the second operand, if any.
+     */
+    public void putProposition(long id, PropositionType type, ConnectionType connectionType, Long proposition1Id, Long proposition2Id) {
+        int slot = nodeSlot(id);
+        nodeTypes[slot] = type == null ? UNKNOWN : (byte) (type.ordinal() + 1);
+        connectionTypes[slot] = connectionType == null ? UNKNOWN : (byte) (connectionType.ordinal() + 1);
+        unlinkOperand(slot, operands1[slot]);
+        unlinkOperand(slot, operands2[slot]);
+        operands1[slot] = proposition1Id == null ? NONE : nodeSlot(proposition1Id);
+        operands2[slot] = proposition2Id == null ? NONE : nodeSlot(proposition2Id);
+        linkOperand(slot, operands1[slot]);
+        linkOperand(slot, operands2[slot]);
+    }
+
+    /**
+     * Remove a proposition, with the arguments it is part of.
+     *
+     * @param id the id of the proposition.
+     */
+    public void removeProposition(long id) {
+        int slot = nodeSlots.get(id);
+        if (slot == NONE) {
+            return;
+        }
+        while (incoming[slot] != null && !incoming[slot].isEmpty()) {
+            removeArgumentSlot(incoming[slot].get(0));
+        }
+        while (outgoing[slot] != null && !outgoing[slot].isEmpty()) {
+            removeArgumentSlot(outgoing[slot].get(0));
+        }
+        while (partOf[slot] != null && !partOf[slot].isEmpty()) {
+            int connection = partOf[slot].pop();
+            if (operands1[connection] == slot) {
+                operands1[connection] = NONE;
+            }
+            if (operands2[connection] == slot) {
+                operands2[connection] = NONE;
+            }
+        }
+        unlinkOperand(slot, operands1[slot]);
+        unlinkOperand(slot, operands2[slot]);
+        nodeSlots.remove(id);
+        nodeIds[slot] = 0L;
+        nodeTypes[slot] = UNKNOWN;
+        connectionTypes[slot] = UNKNOWN;
+        operands1[slot] = NONE;
+        operands2[slot] = NONE;
+        partOf[slot] = null;
+        incoming[slot] = null;
+        outgoing[slot] = null;
+        freeNodes.add(slot);
+        nodeCount--;
+    }
+
+    /**
+     * Insert or update an argument.
+     *
+     * @param id the id of the argument.
+     * @param type the type of the argument.
+     * @param premiseId the id of the premise, if any.
+     * @param conclusionId the id of the conclusion, if any.
+     */
+    public void putArgument(long id, ArgumentType type, Long premiseId, Long conclusionId) {
+        int slot = argumentSlots.get(id);
+        if (slot == NONE) {
+            slot = allocateArgumentSlot(id);
+        } else {
+            unlinkArgument(slot);
+        }
+        argumentTypes[slot] = type == null ? UNKNOWN : (byte) (type.ordinal() + 1);
+        premises[slot] = premiseId == null ? NONE : nodeSlot(premiseId);
+        conclusions[slot] = conclusionId == null ? NONE : nodeSlot(conclusionId);
+        if (premises[slot] != NONE) {
+            adjacency(outgoing, premises[slot]).add(slot);
+        }
+        if (conclusions[slot] != NONE) {
+            adjacency(incoming, conclusions[slot]).add(slot);
+        }
+    }
+
+    /**
+     * Remove an argument.
+     *
+     * @param id the id of the argument.
+     */
+    public void removeArgument(long id) {
+        int slot = argumentSlots.get(id);
+        if (slot != NONE) {
+            removeArgumentSlot(slot);
+        }
+    }
+
+    // Read access, by slot
+
+    public int propositionCount() {
+        return nodeCount;
+    }
+
+    public int argumentCount() {
+        return argumentCount;
+    }
+
+    /**
+     * @return the upper bound (exclusive) of the proposition slots in use.
+     */
+    public int propositionSlotLimit() {
+        return nodeHighWater;
+    }
+
+    /**
+     * @return the upper bound (exclusive) of the argument slots in use.
+     */
+    public int argumentSlotLimit() {
+        return argumentHighWater;
+    }
+
+    public int propositionSlot(long id) {
+        return nodeSlots.get(id);
+    }
+
+    public int argumentSlot(long id) {
+        return argumentSlots.get(id);
+    }
+
+    public boolean isProposition(int slot) {
+        return nodeIds[slot] != 0L;
+    }
+
+    public long propositionId(int slot) {
+        return nodeIds[slot];
+    }
+
+    public PropositionType propositionType(int slot) {
+        return nodeTypes[slot] == UNKNOWN ? null : PropositionType.values()[nodeTypes[slot] - 1];
+    }
+
+    public ConnectionType connectionType(int slot) {
+        return connectionTypes[slot] == UNKNOWN ? null : ConnectionType.values()[connectionTypes[slot] - 1];
+    }
+
+    public int operand1(int slot) {
+        return operands1[slot];
+    }
+
+    public int operand2(int slot) {
+        return operands2[slot];
+    }
+
+    /**
+     * @param slot the proposition slot.
+     * @return the slots of the connections the proposition is an operand of; must not be modified.
+     */
+    public IntArrayList connectionsOf(int slot) {
+        return partOf[slot] == null ? EMPTY : partOf[slot];
+    }
+
+    /**
+     * @param slot the proposition slot.
+     * @return the slots of the arguments concluding to the proposition; must not be modified.
+     */
+    public IntArrayList argumentsConcludingTo(int slot) {
+        return incoming[slot] == null ? EMPTY : incoming[slot];
+    }
+
+    /**
+     * @param slot the proposition slot.
+     * @return the slots of the arguments the proposition is the premise of; must not be modified.
+     */
+    public IntArrayList argumentsFrom(int slot) {
+        return outgoing[slot] == null ? EMPTY : outgoing[slot];
+    }
+
+    public boolean isArgument(int argumentSlot) {
+        return argumentIds[argumentSlot] != 0L;
+    }
+
+    public long argumentId(int argumentSlot) {
+        return argumentIds[argumentSlot];
+    }
+
+    public ArgumentType argumentType(int argumentSlot) {
+        return argumentTypes[argumentSlot] == UNKNOWN ? null : ArgumentType.values()[argumentTypes[argumentSlot] - 1];
+    }
+
+    public int premise(int argumentSlot) {
+        return premises[argumentSlot];
+    }
+
+    public int conclusion(int argumentSlot) {
+        return conclusions[argumentSlot];
+    }
+
+    /**
+     * Visit the propositions directly supported by a proposition: the conclusions of its arguments and
+     * the connections it is an operand of.
+     *
+     * @param slot the proposition slot.
+     * @param visitor the visitor of the neighbour slots.
+     */
+    public void forEachUpward(int slot, IntConsumer visitor) {
+        IntArrayList arguments = argumentsFrom(slot);
+        for (int i = 0; i < arguments.size(); i++) {
+            int target = conclusions[arguments.get(i)];
+            if (target != NONE) {
+                visitor.accept(target);
+            }
+        }
+        IntArrayList connections = connectionsOf(slot);
+        for (int i = 0; i < connections.size(); i++) {
+            visitor.accept(connections.get(i));
+        }
+    }
+
+    /**
+     * Visit the propositions directly supporting a proposition: the premises of its arguments and
+     * its operands.
+     *
+     * @param slot the proposition slot.
+     * @param visitor the visitor of the neighbour slots.
+     */
+    public void forEachDownward(int slot, IntConsumer visitor) {
+        IntArrayList arguments = argumentsConcludingTo(slot);
+        for (int i = 0; i < arguments.size(); i++) {
+            int source = premises[arguments.get(i)];
+            if (source != NONE) {
+                visitor.accept(source);
+            }
+        }
+        if (operands1[slot] != NONE) {
+            visitor.accept(operands1[slot]);
+        }
+        if (operands2[slot] != NONE) {
+            visitor.accept(operands2[slot]);
+        }
+    }
+
+    /**
+     * @param slot the proposition slot.
+     * @return the number of upward neighbours of the proposition, see {@link #upwardNeighbour(int, int)}.
+     */
+    public int upwardDegree(int slot) {
+        return argumentsFrom(slot).size() + connectionsOf(slot).size();
+    }
+
+    /**
+     * Random access to the neighbours visited by {@link #forEachUpward(int, IntConsumer)}, for iterative traversals.
+     *
+     * @param slot the proposition slot.
+     * @param index the index of the neighbour, lower than {@link #upwardDegree(int)}.
+     * @return the slot of the neighbour, or {@link #NONE} for an argument without conclusion.
+     */
+    public int upwardNeighbour(int slot, int index) {
+        IntArrayList arguments = argumentsFrom(slot);
+        if (index < arguments.size()) {
+            return conclusions[arguments.get(index)];
+        }
+        return connectionsOf(slot).get(index - arguments.size());
+    }
+
+    // Traversals
+
+    /**
+     * Breadth-first traversal from a proposition.
+     *
+     * @param id the id of the start proposition.
+     * @param upward {@code true} to follow what the proposition supports, {@code false} to follow what supports it.
+     * @param maxDepth the maximum number of hops.
+     * @return the ids of the reached propositions, start excluded, in breadth-first order.
+     */
+    public long[] reachable(long id, boolean upward, int maxDepth) {
+        int start = nodeSlots.get(id);
+        if (start == NONE) {
+            return new long[0];
+        }
+        BitSet visited = new BitSet();
+        visited.set(start);
+        IntArrayList current = new IntArrayList();
+        current.add(start);
+        IntArrayList result = new IntArrayList();
+        for (int depth = 0; depth < maxDepth && !current.isEmpty(); depth++) {
+            IntArrayList next = new IntArrayList();
+            IntConsumer visit = neighbour -> {
+                if (!visited.get(neighbour)) {
+                    visited.set(neighbour);
+                    next.add(neighbour);
+                    result.add(neighbour);
+                }
+            };
+            for (int i = 0; i < current.size(); i++) {
+                if (upward) {
+                    forEachUpward(current.get(i), visit);
+                } else {
+                    forEachDownward(current.get(i), visit);
+                }
+            }
+            current = next;
+        }
+        return toIds(result);
+    }
+
+    /**
+     * Breadth-first traversal of what a proposition supports, which stops as soon as the visitor asks to.
+     *
+     * @param id the id of the start proposition.
+     * @param visitor the visitor of the ids of the reached propositions, start excluded, returning whether to go on.
+     */
+    public void visitUpward(long id, LongPredicate visitor) {
+        int start = nodeSlots.get(id);
+        if (start == NONE) {
+            return;
+        }
+        BitSet visited = new BitSet();
+        visited.set(start);
+        IntArrayList queue = new IntArrayList();
+        queue.add(start);
+        boolean[] stopped = new boolean[1];
+        for (int head = 0; head < queue.size() && !stopped[0]; head++) {
+            forEachUpward(queue.get(head), neighbour -> {
+                if (!stopped[0] && !visited.get(neighbour)) {
+                    visited.set(neighbour);
+                    queue.add(neighbour);
+                    stopped[0] = !visitor.test(nodeIds[neighbour]);
+                }
+            });
+        }
+    }
+
+    /**
+     * Find the shortest support chain from a premise up to a conclusion.
+     *
+     * @param premiseId the id of the supporting proposition.
+     * @param conclusionId the id of the supported proposition.
+     * @return the ids of the propositions along the chain, both ends included, or an empty array if
+     * the premise does not support the conclusion.
+     */
+    public long[] supportChain(long premiseId, long conclusionId) {
+        int start = nodeSlots.get(premiseId);
+        int goal = nodeSlots.get(conclusionId);
+        if (start == NONE || goal == NONE) {
+            return new long[0];
+        }
+        if (start == goal) {
+            return new long[] { premiseId };
+        }
+        // Parents are kept by slot + 1, as 0 is not a valid key: memory stays proportional to the visited subgraph.
+        LongIntHashMap parents = new LongIntHashMap(16, NONE);
+        parents.put(start + 1L, start);
+        IntArrayList queue = new IntArrayList();
+        queue.add(start);
+        for (int head = 0; head < queue.size() && !parents.containsKey(goal + 1L); head++) {
+            int slot = queue.get(head);
+            forEachUpward(slot, neighbour -> {
+                if (!parents.containsKey(neighbour + 1L)) {
+                    parents.put(neighbour + 1L, slot);
+                    queue.add(neighbour);
+                }
+            });
+        }
+        if (!parents.containsKey(goal + 1L)) {
+            return new long[0];
+        }
+        IntArrayList path = new IntArrayList();
+        for (int slot = goal; slot != start; slot = parents.get(slot + 1L)) {
+            path.add(slot);
+        }
+        path.add(start);
+        long[] ids = new long[path.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nodeIds[path.get(path.size() - 1 - i)];
+        }
+        return ids;
+    }
+
+    /**
+     * @param premiseId the id of the supporting proposition.
+     * @param conclusionId the id of the supported proposition.
+     * @return whether the premise supports the conclusion, directly or transitively.
+     */
+    public boolean supports(long premiseId, long conclusionId) {
+        return supportChain(premiseId, conclusionId).length > 0;
+    }
+
+    /**
+     * @return an estimation of the heap used by this graph, in bytes.
+     */
+    public long memoryFootprint() {
+        long bytes = nodeSlots.memoryFootprint() + argumentSlots.memoryFootprint();
+        bytes += 8L * nodeIds.length + 2L * nodeTypes.length + 8L * operands1.length + 3L * 4L * partOf.length;
+        bytes += 8L * argumentIds.length + argumentTypes.length + 8L * premises.length;
+        for (int slot = 0; slot < nodeHighWater; slot++) {
+            bytes += footprint(partOf[slot]) + footprint(incoming[slot]) + footprint(outgoing[slot]);
+        }
+        return bytes + freeNodes.memoryFootprint() + freeArguments.memoryFootprint();
+    }
+
+    // Internals
+
+    private long[] toIds(IntArrayList slots) {
+        long[] ids = new long[slots.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nodeIds[slots.get(i)];
+        }
+        return ids;
+    }
+
+    /**
+     * Get the slot of a proposition, allocating a placeholder slot if it is not known yet.
+     */
+    private int nodeSlot(long id) {
+        int slot = nodeSlots.get(id);
+        if (slot != NONE) {
+            return slot;
+        }
+        if (!freeNodes.isEmpty()) {
+            slot = freeNodes.pop();
+        } else {
+            if (nodeHighWater == nodeIds.length) {
+                growNodes();
+            }
+            slot = nodeHighWater++;
+        }
+        nodeIds[slot] = id;
+        nodeTypes[slot] = UNKNOWN;
+        connectionTypes[slot] = UNKNOWN;
+        operands1[slot] = NONE;
+        operands2[slot] = NONE;
+        nodeSlots.put(id, slot);
+        nodeCount++;
+        return slot;
+    }
+
+    private int allocateArgumentSlot(long id) {
+        int slot;
+        if (!freeArguments.isEmpty()) {
+            slot = freeArguments.pop();
+        } else {
+            if (argumentHighWater == argumentIds.length) {
+                growArguments();
+            }
+            slot = argumentHighWater++;
+        }
+        argumentIds[slot] = id;
+        premises[slot] = NONE;
+        conclusions[slot] = NONE;
+        argumentSlots.put(id, slot);
+        argumentCount++;
+        return slot;
+    }
+
+    private void removeArgumentSlot(int slot) {
+        unlinkArgument(slot);
+        argumentSlots.remove(argumentIds[slot]);
+        argumentIds[slot] = 0L;
+        argumentTypes[slot] = UNKNOWN;
+        premises[slot] = NONE;
+        conclusions[slot] = NONE;
+        freeArguments.add(slot);
+        argumentCount--;
+    }
+
+    private void unlinkArgument(int slot) {
+        if (premises[slot] != NONE && outgoing[premises[slot]] != null) {
+            outgoing[premises[slot]].removeValue(slot);
+        }
+        if (conclusions[slot] != NONE && incoming[conclusions[slot]] != null) {
+            incoming[conclusions[slot]].removeValue(slot);
+        }
+    }
+
+    private void linkOperand(int connection, int operand) {
+        if (operand != NONE) {
+            adjacency(partOf, operand).add(connection);
+        }
+    }
+
+    private void unlinkOperand(int connection, int operand) {
+        if (operand != NONE && partOf[operand] != null) {
+            partOf[operand].removeValue(connection);
+        }
+    }
+
+    private static IntArrayList adjacency(IntArrayList[] lists, int slot) {
+        IntArrayList list = lists[slot];
+        if (list == null) {
+            list = new IntArrayList(2);
+            lists[slot] = list;
+        }
+        return list;
+    }
+
+    private static long footprint(IntArrayList list) {
+        return list == null ? 0L : list.memoryFootprint();
+    }
+
+    private void growNodes() {
+        int capacity = nodeIds.length + (nodeIds.length >> 1) + 1;
+        nodeIds = Arrays.copyOf(nodeIds, capacity);
+        nodeTypes = Arrays.copyOf(nodeTypes, capacity);
+        connectionTypes = Arrays.copyOf(connectionTypes, capacity);
+        operands1 = Arrays.copyOf(operands1, capacity);
+        operands2 = Arrays.copyOf(operands2, capacity);
+        partOf = Arrays.copyOf(partOf, capacity);
+        incoming = Arrays.copyOf(incoming, capacity);
+        outgoing = Arrays.copyOf(outgoing, capacity);
+    }
+
+    private void growArguments() {
+        int capacity = argumentIds.length + (argumentIds.length >> 1) + 1;
+        argumentIds = Arrays.copyOf(argumentIds, capacity);
+        argumentTypes = Arrays.copyOf(argumentTypes, capacity);
+        premises = Arrays.copyOf(premises, capacity);
+        conclusions = Arrays.copyOf(conclusions, capacity);
+    }
+}
@@ -0,0 +1,57 @@
+package org.laybe.service.graph;
+
+/**
+ * A change applied to the {@link PropositionGraphIndex}, as recorded in its change log.
+ * <p>
+ * It lets the computations cached over the graph catch up with the changes instead of starting over.
+ */
+public final class GraphChange {
+
+    /**
+     * How far a change may invalidate what was computed over the graph before it.
+     */
+    public enum Impact {
+        /**
+         * Only adds relationships: what was derived before still holds.
+         */
+        EXTENDING,
+        /**
+         * Modifies or removes relationships between the affected propositions.
+         */
+        LOCAL,
+        /**
+         * Removes a proposition; slots may be recycled, nothing computed before can be trusted.
+         */
+        GLOBAL
+    }
+
+    private final long version;
+
+    private final Impact impact;
+
+    private final long[] propositionIds;
+
+    GraphChange(long version, Impact impact, long[] propositionIds) {
+        this.version = version;
+        this.impact = impact;
+        this.propositionIds = propositionIds;
+    }
+
+    /**
+     * @return the version of the index once this change was applied.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Impact getImpact() {
+        return impact;
+    }
+
+    /**
+     * @return the ids of the propositions whose relationships changed, before and after the change.
+     */
+    public long[] getPropositionIds() {
+        return propositionIds;
+    }
+}
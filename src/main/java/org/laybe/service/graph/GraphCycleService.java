@@ -0,0 +1,161 @@
+package org.laybe.service.graph;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.service.CircularReasoningException;
+import org.laybe.service.dto.CycleReportDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Service detecting support cycles in the argument graph, where a proposition ends up supporting itself.
+ * <p>
+ * Writes closing a cycle are checked against the {@link PropositionGraphIndex}, by only exploring what the new
+ * relationship would support; depending on {@code application.graph.cycle-check}, they are flagged or rejected.
+ */
+@Service
+public class GraphCycleService {
+
+    private final Logger log = LoggerFactory.getLogger(GraphCycleService.class);
+
+    private final PropositionGraphIndex propositionGraphIndex;
+
+    private final ApplicationProperties.Graph properties;
+
+    private final Executor taskExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer analysisTimer;
+
+    private CompletableFuture<CycleReportDTO> report;
+
+    private long reportVersion = -1L;
+
+    public GraphCycleService(PropositionGraphIndex propositionGraphIndex, ApplicationProperties applicationProperties,
+                             @Qualifier("taskExecutor") Executor taskExecutor, MeterRegistry meterRegistry) {
+        this.propositionGraphIndex = propositionGraphIndex;
+        this.properties = applicationProperties.getGraph();
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        this.analysisTimer = Timer.builder("graph.cycles.analysis")
+            .description("Time spent finding the strongly connected components of the argument graph")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Check whether an argument would close a support cycle, that is whether its conclusion already supports its premise.
+     *
+     * @param premiseId the id of the premise of the argument.
+     * @param conclusionId the id of the conclusion of the argument.
+     * @throws CircularReasoningException if the argument closes a cycle and such writes are rejected.
+     */
+    public void checkArgument(Long premiseId, Long conclusionId) {
+        if (properties.getCycleCheck() == ApplicationProperties.Graph.CycleCheck.NONE || premiseId == null || conclusionId == null) {
+            return;
+        }
+        long[] chain = propositionGraphIndex.supportChain(conclusionId, premiseId);
+        if (chain.length > 0) {
+            closesCycle("argument", LongStream.concat(LongStream.of(premiseId), LongStream.of(chain)).toArray());
+        }
+    }
+
+    /**
+     * Check whether the operands of a connection would close a support cycle, that is whether the connection
+     * already supports one of its operands.
+     *
+     * @param connectionId the id of the connection, {@code null} if it is not created yet.
+     * @param operandIds the ids of the operands.
+     * @throws CircularReasoningException if the connection closes a cycle and such writes are rejected.
+     */
+    public void checkConnection(Long connectionId, Long... operandIds) {
+        if (properties.getCycleCheck() == ApplicationProperties.Graph.CycleCheck.NONE || connectionId == null) {
+            return;
+        }
+        for (Long operandId : operandIds) {
+            if (operandId != null) {
+                long[] chain = propositionGraphIndex.supportChain(connectionId, operandId);
+                if (chain.length > 0) {
+                    closesCycle("proposition", LongStream.concat(LongStream.of(chain), LongStream.of(connectionId)).toArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether a standalone graph, such as an imported debate, holds support cycles.
+     *
+     * @param graph the graph, which must not be shared.
+     * @throws CircularReasoningException if the graph holds a cycle and such writes are rejected.
+     */
+    public void checkGraph(ArgumentGraph graph) {
+        if (properties.getCycleCheck() == ApplicationProperties.Graph.CycleCheck.NONE) {
+            return;
+        }
+        for (int[] component : StronglyConnectedComponents.findCycles(graph)) {
+            closesCycle("debate", IntStream.of(component).mapToLong(graph::propositionId).toArray());
+        }
+    }
+
+    private void closesCycle(String entityName, long[] cycle) {
+        String description = LongStream.of(cycle).mapToObj(Long::toString).collect(Collectors.joining(" -> "));
+        if (properties.getCycleCheck() == ApplicationProperties.Graph.CycleCheck.REJECT) {
+            meterRegistry.counter("graph.cycles.closing", "action", "rejected").increment();
+            throw new CircularReasoningException(entityName, "Circular reasoning: " + description);
+        }
+        meterRegistry.counter("graph.cycles.closing", "action", "flagged").increment();
+        log.warn("Saving {} closing a support cycle: {}", entityName, description);
+    }
+
+    /**
+     * Find the support cycles of the whole graph.
+     * <p>
+     * The report is kept until the graph changes. Large graphs are analysed on the task executor.
+     *
+     * @return the report.
+     */
+    public synchronized CompletableFuture<CycleReportDTO> findCycles() {
+        long version = propositionGraphIndex.getVersion();
+        if (report != null && reportVersion == version && !report.isCompletedExceptionally()) {
+            return report;
+        }
+        reportVersion = version;
+        if (propositionGraphIndex.read(ArgumentGraph::propositionCount) < properties.getAsyncAnalysisThreshold()) {
+            report = CompletableFuture.completedFuture(analyse());
+        } else {
+            report = CompletableFuture.supplyAsync(this::analyse, taskExecutor);
+        }
+        return report;
+    }
+
+    private CycleReportDTO analyse() {
+        log.debug("Looking for the support cycles of the argument graph");
+        return propositionGraphIndex.read(graph -> {
+            long start = System.nanoTime();
+            List<int[]> components = StronglyConnectedComponents.findCycles(graph);
+            List<List<Long>> cycles = new ArrayList<>(components.size());
+            for (int[] component : components) {
+                List<Long> ids = new ArrayList<>(component.length);
+                for (int slot : component) {
+                    ids.add(graph.propositionId(slot));
+                }
+                cycles.add(ids);
+            }
+            long elapsed = System.nanoTime() - start;
+            analysisTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            return new CycleReportDTO(graph.propositionCount(), graph.argumentCount(), TimeUnit.NANOSECONDS.toMillis(elapsed), cycles);
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package org.laybe.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive {@code int}s, used for adjacency lists.
+ * <p>
+ * Element order is not preserved by {@link #removeValue(int)}.
+ */
+public final class IntArrayList {
+
+    private static final int[] EMPTY_DATA = new int[0];
+
+    private int[] data;
+
+    private int size;
+
+    public IntArrayList() {
+        this.data = EMPTY_DATA;
+    }
+
+    public IntArrayList(int initialCapacity) {
+        this.data = initialCapacity == 0 ? EMPTY_DATA : new int[initialCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return data[index];
+    }
+
+    public void add(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, Math.max(4, size + (size >> 1) + 1));
+        }
+        data[size++] = value;
+    }
+
+    /**
+     * Remove one occurrence of the given value, by moving the last element in its place.
+     *
+     * @param value the value to remove.
+     * @return {@code true} if the value was found.
+     */
+    public boolean removeValue(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                data[i] = data[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int pop() {
+        return data[--size];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * @return an estimation of the heap used by this list, in bytes.
+     */
+    public long memoryFootprint() {
+        return 16L + 16L + 4L * data.length;
+    }
+}
@@ -0,0 +1,170 @@
+package org.laybe.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from {@code long} keys to {@code int} values, without boxing.
+ * <p>
+ * It uses linear probing with backward-shift deletion. The key {@code 0} is reserved to mark empty slots,
+ * which is fine for entity ids as they are always positive.
+ */
+public final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+
+    private static final double LOAD_FACTOR = 0.6;
+
+    private final int missingValue;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    private int resizeThreshold;
+
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(long key) {
+        checkKey(key);
+        int slot = slotFor(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != missingValue;
+    }
+
+    /**
+     * Associate the value with the key.
+     *
+     * @param key the key, which must not be {@code 0}.
+     * @param value the value.
+     * @return the previous value, or the missing value if there was none.
+     */
+    public int put(long key, int value) {
+        checkKey(key);
+        int slot = slotFor(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key the key.
+     * @return the value that was removed, or the missing value if there was none.
+     */
+    public int remove(long key) {
+        checkKey(key);
+        int slot = slotFor(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * @return an estimation of the heap used by this map, in bytes.
+     */
+    public long memoryFootprint() {
+        return 16L + 16L + 8L * keys.length + 16L + 4L * values.length;
+    }
+
+    /**
+     * Close the gap left at {@code gap} by moving back the entries of the same probe sequence.
+     */
+    private void shiftBack(int gap) {
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != EMPTY) {
+            int ideal = slotFor(keys[slot]);
+            if (((slot - ideal) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slotFor(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slotFor(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR);
+        int capacity = Integer.highestOneBit((int) Math.min(needed, 1 << 30));
+        return capacity < needed ? capacity << 1 : capacity;
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("The key 0 is reserved");
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package org.laybe.service.graph;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.laybe.repository.ArgumentRepository;
+import org.laybe.repository.PropositionRepository;
+import org.laybe.service.RebuildableIndex;
+import org.laybe.service.dto.GraphEdgeDTO;
+import org.laybe.service.dto.GraphNodeDTO;
+import org.laybe.service.event.ArgumentChangeEvent;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.DebateImportedEvent;
+import org.laybe.service.event.PropositionChangeEvent;
+import org.laybe.service.graph.GraphChange.Impact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service keeping the whole proposition/argument graph in memory, so that traversals never hit the database.
+ * <p>
+ * The index is loaded when the application is ready, then kept up to date by the change events published
+ * by the services once their transaction has committed.
+ * <p>
+ * Terminology: the <em>ancestors</em> of a proposition are the propositions supporting it, transitively
+ * (premises of the arguments concluding to it, operands of a connection); its <em>descendants</em> are the
+ * propositions it supports.
+ */
+@Service
+public class PropositionGraphIndex {
+
+    /**
+     * Number of changes kept in the change log.
+     */
+    private static final int CHANGE_LOG_SIZE = 1024;
+
+    private final Logger log = LoggerFactory.getLogger(PropositionGraphIndex.class);
+
+    private final PropositionRepository propositionRepository;
+
+    private final ArgumentRepository argumentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer rebuildTimer;
+
+    private final RebuildableIndex<ArgumentGraph> index = new RebuildableIndex<>("graph", new ArgumentGraph(0, 0));
+
+    /**
+     * The changes applied to the index, guarded by its lock.
+     */
+    private final Deque<GraphChange> changeLog = new ArrayDeque<>();
+
+    /**
+     * The version the change log starts from: older changes have been forgotten.
+     */
+    private long logStart;
+
+    private long version;
+
+    public PropositionGraphIndex(PropositionRepository propositionRepository, ArgumentRepository argumentRepository,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.propositionRepository = propositionRepository;
+        this.argumentRepository = argumentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.rebuildTimer = Timer.builder("graph.index.rebuild")
+            .description("Time spent loading the proposition graph index from the database")
+            .register(meterRegistry);
+        Gauge.builder("graph.index.propositions", this, index -> index.read(ArgumentGraph::propositionCount))
+            .description("Number of propositions in the graph index")
+            .register(meterRegistry);
+        Gauge.builder("graph.index.arguments", this, index -> index.read(ArgumentGraph::argumentCount))
+            .description("Number of arguments in the graph index")
+            .register(meterRegistry);
+        Gauge.builder("graph.index.memory", this, index -> index.read(ArgumentGraph::memoryFootprint))
+            .description("Estimated heap used by the graph index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload the whole index from the database.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        ArgumentGraph loaded = index.rebuild(() -> rebuildTimer.record(this::load), graph -> {
+            version++;
+            changeLog.clear();
+            logStart = version;
+        });
+        if (loaded == null) {
+            return;
+        }
+        log.info("Graph index loaded: {} propositions, {} arguments, in {} ms", loaded.propositionCount(),
+            loaded.argumentCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private ArgumentGraph load() {
+        return transactionTemplate.execute(status -> {
+            ArgumentGraph loading = new ArgumentGraph((int) propositionRepository.count(), (int) argumentRepository.count());
+            try (Stream<GraphNodeDTO> nodes = propositionRepository.streamAllGraphNodes()) {
+                nodes.forEach(node -> loading.putProposition(node.getId(), node.getType(), node.getConnectionType(),
+                    node.getProposition1Id(), node.getProposition2Id()));
+            }
+            try (Stream<GraphEdgeDTO> edges = argumentRepository.streamAllGraphEdges()) {
+                edges.forEach(edge -> loading.putArgument(edge.getArgumentId(), edge.getArgumentType(),
+                    edge.getSource(), edge.getTarget()));
+            }
+            return loading;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropositionChange(PropositionChangeEvent event) {
+        long id = event.getId();
+        if (event.getChangeType() == ChangeType.DELETED) {
+            update(graph -> {
+                graph.removeProposition(id);
+                return change(Impact.GLOBAL, id);
+            });
+        } else {
+            update(graph -> {
+                int slot = graph.propositionSlot(id);
+                boolean known = slot != ArgumentGraph.NONE && graph.propositionType(slot) != null;
+                long previous1 = known ? idOf(graph, graph.operand1(slot)) : 0L;
+                long previous2 = known ? idOf(graph, graph.operand2(slot)) : 0L;
+                graph.putProposition(id, event.getType(), event.getConnectionType(),
+                    event.getProposition1Id(), event.getProposition2Id());
+                slot = graph.propositionSlot(id);
+                return change(known ? Impact.LOCAL : Impact.EXTENDING, id, previous1, previous2,
+                    idOf(graph, graph.operand1(slot)), idOf(graph, graph.operand2(slot)));
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArgumentChange(ArgumentChangeEvent event) {
+        long id = event.getId();
+        update(graph -> {
+            int slot = graph.argumentSlot(id);
+            boolean known = slot != ArgumentGraph.NONE;
+            long previousPremise = known ? idOf(graph, graph.premise(slot)) : 0L;
+            long previousConclusion = known ? idOf(graph, graph.conclusion(slot)) : 0L;
+            if (event.getChangeType() == ChangeType.DELETED) {
+                graph.removeArgument(id);
+                return change(Impact.LOCAL, previousPremise, previousConclusion);
+            }
+            graph.putArgument(id, event.getType(), event.getPremiseId(), event.getConclusionId());
+            slot = graph.argumentSlot(id);
+            return change(known ? Impact.LOCAL : Impact.EXTENDING, previousPremise, previousConclusion,
+                idOf(graph, graph.premise(slot)), idOf(graph, graph.conclusion(slot)));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDebateImported(DebateImportedEvent event) {
+        update(graph -> {
+            for (PropositionChangeEvent proposition : event.getPropositions()) {
+                graph.putProposition(proposition.getId(), proposition.getType(), proposition.getConnectionType(),
+                    proposition.getProposition1Id(), proposition.getProposition2Id());
+            }
+            for (ArgumentChangeEvent argument : event.getArguments()) {
+                graph.putArgument(argument.getId(), argument.getType(), argument.getPremiseId(), argument.getConclusionId());
+            }
+            return change(Impact.EXTENDING, event.getPropositions().stream().mapToLong(PropositionChangeEvent::getId).toArray());
+        });
+    }
+
+    /**
+     * Apply a change to the index, and record it in the change log.
+     */
+    private void update(Function<ArgumentGraph, GraphChange> change) {
+        index.update(change, applied -> {
+            version++;
+            changeLog.addLast(new GraphChange(version, applied.getImpact(), applied.getPropositionIds()));
+            if (changeLog.size() > CHANGE_LOG_SIZE) {
+                logStart = changeLog.removeFirst().getVersion();
+            }
+        });
+    }
+
+    private static GraphChange change(Impact impact, long... ids) {
+        return new GraphChange(0L, impact, Arrays.stream(ids).filter(id -> id != 0L).distinct().toArray());
+    }
+
+    private static long idOf(ArgumentGraph graph, int slot) {
+        return slot == ArgumentGraph.NONE ? 0L : graph.propositionId(slot);
+    }
+
+    /**
+     * Get the changes applied since a given version of the index.
+     *
+     * @param since the version the caller is up to date with.
+     * @return the changes, oldest first, or {@code null} if they are no longer known and everything must be recomputed.
+     */
+    public List<GraphChange> changesSince(long since) {
+        return read(graph -> {
+            if (since < logStart) {
+                return null;
+            }
+            List<GraphChange> changes = new ArrayList<>();
+            for (GraphChange change : changeLog) {
+                if (change.getVersion() > since) {
+                    changes.add(change);
+                }
+            }
+            return changes;
+        });
+    }
+
+    /**
+     * Run a read-only computation over the graph.
+     *
+     * @param reader the computation; it must not keep any reference to the graph.
+     * @param <T> the type of the result.
+     * @return the result of the computation.
+     */
+    public <T> T read(Function<ArgumentGraph, T> reader) {
+        return index.read(reader);
+    }
+
+    /**
+     * @return a counter incremented on every change of the index.
+     */
+    public long getVersion() {
+        return read(graph -> version);
+    }
+
+    /**
+     * Get the propositions supporting a proposition.
+     *
+     * @param id the id of the proposition.
+     * @param maxDepth the maximum number of hops.
+     * @return the ids of the ancestors, in breadth-first order.
+     */
+    public long[] ancestors(long id, int maxDepth) {
+        return read(graph -> graph.reachable(id, false, maxDepth));
+    }
+
+    /**
+     * Get the propositions supported by a proposition.
+     *
+     * @param id the id of the proposition.
+     * @param maxDepth the maximum number of hops.
+     * @return the ids of the descendants, in breadth-first order.
+     */
+    public long[] descendants(long id, int maxDepth) {
+        return read(graph -> graph.reachable(id, true, maxDepth));
+    }
+
+    /**
+     * Get the shortest support chain from a premise up to a conclusion.
+     *
+     * @param premiseId the id of the supporting proposition.
+     * @param conclusionId the id of the supported proposition.
+     * @return the ids of the propositions along the chain, or an empty array if there is none.
+     */
+    public long[] supportChain(long premiseId, long conclusionId) {
+        return read(graph -> graph.supportChain(premiseId, conclusionId));
+    }
+}
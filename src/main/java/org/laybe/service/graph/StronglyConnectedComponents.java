@@ -0,0 +1,98 @@
+package org.laybe.service.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Tarjan's strongly connected components algorithm over the support relationships of an {@link ArgumentGraph}.
+ * <p>
+ * The depth-first search keeps its own stack instead of recursing, so that deep graphs cannot overflow the
+ * thread stack. It runs in linear time in the number of propositions and relationships.
+ */
+final class StronglyConnectedComponents {
+
+    private StronglyConnectedComponents() {
+    }
+
+    /**
+     * Find the cyclic components of a graph: the components holding more than one proposition, or a single
+     * proposition supporting itself directly.
+     *
+     * @param graph the graph.
+     * @return the slots of the propositions of each cyclic component, sorted by id.
+     */
+    static List<int[]> findCycles(ArgumentGraph graph) {
+        int limit = graph.propositionSlotLimit();
+        int[] indexes = new int[limit];
+        int[] lowLinks = new int[limit];
+        BitSet onStack = new BitSet(limit);
+        BitSet selfLoops = new BitSet();
+        int[] stack = new int[limit];
+        int[] calls = new int[limit];
+        int[] next = new int[limit];
+        int counter = 0;
+        int stackSize = 0;
+        List<int[]> components = new ArrayList<>();
+
+        for (int root = 0; root < limit; root++) {
+            if (indexes[root] != 0 || !graph.isProposition(root)) {
+                continue;
+            }
+            int top = 0;
+            calls[0] = root;
+            next[0] = 0;
+            indexes[root] = lowLinks[root] = ++counter;
+            stack[stackSize++] = root;
+            onStack.set(root);
+            while (top >= 0) {
+                int slot = calls[top];
+                if (next[top] < graph.upwardDegree(slot)) {
+                    int neighbour = graph.upwardNeighbour(slot, next[top]++);
+                    if (neighbour == ArgumentGraph.NONE) {
+                        continue;
+                    }
+                    if (neighbour == slot) {
+                        selfLoops.set(slot);
+                    }
+                    if (indexes[neighbour] == 0) {
+                        indexes[neighbour] = lowLinks[neighbour] = ++counter;
+                        stack[stackSize++] = neighbour;
+                        onStack.set(neighbour);
+                        top++;
+                        calls[top] = neighbour;
+                        next[top] = 0;
+                    } else if (onStack.get(neighbour)) {
+                        lowLinks[slot] = Math.min(lowLinks[slot], indexes[neighbour]);
+                    }
+                    continue;
+                }
+                if (lowLinks[slot] == indexes[slot]) {
+                    int start = stackSize;
+                    do {
+                        start--;
+                        onStack.clear(stack[start]);
+                    } while (stack[start] != slot);
+                    if (stackSize - start > 1 || selfLoops.get(slot)) {
+                        components.add(sortedById(graph, Arrays.copyOfRange(stack, start, stackSize)));
+                    }
+                    stackSize = start;
+                }
+                top--;
+                if (top >= 0) {
+                    int caller = calls[top];
+                    lowLinks[caller] = Math.min(lowLinks[caller], lowLinks[slot]);
+                }
+            }
+        }
+        return components;
+    }
+
+    private static int[] sortedById(ArgumentGraph graph, int[] slots) {
+        return Arrays.stream(slots).boxed()
+            .sorted((a, b) -> Long.compare(graph.propositionId(a), graph.propositionId(b)))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+}
@@ -0,0 +1,193 @@
+package org.laybe.service.graph;
+
+import org.laybe.service.dto.EvaluationResultDTO;
+import org.laybe.service.dto.PropositionStatusDTO;
+import org.laybe.service.dto.TruthStatus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The evaluation of the argument graph from a given set of assertions, kept up to date with the graph.
+ * <p>
+ * Not thread-safe: callers must synchronize on it, and hold the read lock of the graph.
+ */
+final class TruthEvaluation {
+
+    /**
+     * How an evaluation was brought up to date.
+     */
+    enum Mode {
+        FULL, INCREMENTAL, CACHED
+    }
+
+    private final long[] acceptedIds;
+
+    private final long[] rejectedIds;
+
+    private TruthPropagation propagation;
+
+    private ArgumentGraph graph;
+
+    private long version = -1L;
+
+    TruthEvaluation(long[] acceptedIds, long[] rejectedIds) {
+        this.acceptedIds = acceptedIds;
+        this.rejectedIds = rejectedIds;
+    }
+
+    /**
+     * @return the version of the graph this evaluation is up to date with, or {@code -1} if it was never computed.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Bring this evaluation up to date with the graph.
+     * <p>
+     * Changes only adding rules resume the propagation from the propositions they involve. Changes modifying or
+     * removing rules first reset the values of the region around the propositions they involve.
+     *
+     * @param graph the graph.
+     * @param graphVersion the current version of the graph.
+     * @param changes the changes applied to the graph since the version of this evaluation, {@code null} if unknown.
+     * @return how the evaluation was brought up to date.
+     */
+    Mode refresh(ArgumentGraph graph, long graphVersion, List<GraphChange> changes) {
+        if (this.graph == graph && version == graphVersion) {
+            return Mode.CACHED;
+        }
+        Mode mode;
+        if (this.graph != graph || changes == null || changes.stream().anyMatch(change -> change.getImpact() == GraphChange.Impact.GLOBAL)) {
+            propagation = new TruthPropagation(graph);
+            mode = Mode.FULL;
+        } else {
+            IntArrayList seeds = new IntArrayList();
+            for (GraphChange change : changes) {
+                if (change.getImpact() == GraphChange.Impact.LOCAL) {
+                    addSlots(graph, change.getPropositionIds(), seeds);
+                }
+            }
+            propagation.reset(propagation.region(seeds));
+            IntArrayList touched = new IntArrayList();
+            for (GraphChange change : changes) {
+                if (change.getImpact() == GraphChange.Impact.EXTENDING) {
+                    addSlots(graph, change.getPropositionIds(), touched);
+                }
+            }
+            for (int i = 0; i < touched.size(); i++) {
+                propagation.touch(touched.get(i));
+            }
+            mode = Mode.INCREMENTAL;
+        }
+        assertAll(graph, acceptedIds, TruthPropagation.TRUE);
+        assertAll(graph, rejectedIds, TruthPropagation.FALSE);
+        propagation.propagate();
+        this.graph = graph;
+        this.version = graphVersion;
+        return mode;
+    }
+
+    /**
+     * @return the status of every reached proposition, the propositions closing a cycle and the unknown asserted ids.
+     */
+    EvaluationResultDTO toResult() {
+        List<PropositionStatusDTO> propositions = new ArrayList<>();
+        int limit = Math.min(propagation.slotLimit(), graph.propositionSlotLimit());
+        for (int slot = 0; slot < limit; slot++) {
+            byte value = propagation.valueOf(slot);
+            if (value != 0 && graph.isProposition(slot)) {
+                propositions.add(new PropositionStatusDTO(graph.propositionId(slot), status(value)));
+            }
+        }
+        List<Long> unknownIds = new ArrayList<>();
+        addUnknown(acceptedIds, unknownIds);
+        addUnknown(rejectedIds, unknownIds);
+        return new EvaluationResultDTO(propositions, cycleIds(limit), unknownIds);
+    }
+
+    private static TruthStatus status(byte value) {
+        boolean isTrue = (value & TruthPropagation.TRUE) != 0;
+        boolean isFalse = (value & TruthPropagation.FALSE) != 0;
+        if (isTrue && isFalse) {
+            return TruthStatus.CONTRADICTED;
+        }
+        if (isTrue) {
+            return TruthStatus.ACCEPTED;
+        }
+        return isFalse ? TruthStatus.REJECTED : TruthStatus.UNDETERMINED;
+    }
+
+    /**
+     * Iterative depth-first search over the reached propositions, following the support relationships:
+     * every edge going back to a proposition on the stack closes a cycle.
+     */
+    private List<Long> cycleIds(int limit) {
+        BitSet cycles = new BitSet();
+        byte[] states = new byte[limit];
+        int[] stack = new int[limit];
+        int[] next = new int[limit];
+        for (int root = 0; root < limit; root++) {
+            if (states[root] != 0 || propagation.valueOf(root) == 0) {
+                continue;
+            }
+            int top = 0;
+            stack[0] = root;
+            next[0] = 0;
+            states[root] = 1;
+            while (top >= 0) {
+                int slot = stack[top];
+                if (next[top] < graph.upwardDegree(slot)) {
+                    int neighbour = graph.upwardNeighbour(slot, next[top]++);
+                    if (neighbour == ArgumentGraph.NONE || neighbour >= limit || propagation.valueOf(neighbour) == 0) {
+                        continue;
+                    }
+                    if (states[neighbour] == 1) {
+                        cycles.set(neighbour);
+                    } else if (states[neighbour] == 0) {
+                        states[neighbour] = 1;
+                        top++;
+                        stack[top] = neighbour;
+                        next[top] = 0;
+                    }
+                } else {
+                    states[slot] = 2;
+                    top--;
+                }
+            }
+        }
+        List<Long> ids = new ArrayList<>(cycles.cardinality());
+        for (int slot = cycles.nextSetBit(0); slot >= 0; slot = cycles.nextSetBit(slot + 1)) {
+            ids.add(graph.propositionId(slot));
+        }
+        return ids;
+    }
+
+    private void assertAll(ArgumentGraph graph, long[] ids, byte value) {
+        for (long id : ids) {
+            int slot = graph.propositionSlot(id);
+            if (slot != ArgumentGraph.NONE) {
+                propagation.assertValue(slot, value);
+            }
+        }
+    }
+
+    private void addUnknown(long[] ids, List<Long> unknownIds) {
+        for (long id : ids) {
+            if (graph.propositionSlot(id) == ArgumentGraph.NONE) {
+                unknownIds.add(id);
+            }
+        }
+    }
+
+    private static void addSlots(ArgumentGraph graph, long[] ids, IntArrayList slots) {
+        for (long id : ids) {
+            int slot = graph.propositionSlot(id);
+            if (slot != ArgumentGraph.NONE) {
+                slots.add(slot);
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.laybe.service.graph;
+
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Worklist propagation of truth values over an {@link ArgumentGraph}, up to a fixpoint.
+ * <p>
+ * Every proposition holds a set of derived values: true, false, or both when the graph is contradictory.
+ * Values only grow, so each proposition is queued at most twice and cycles cannot prevent termination.
+ * The rules are the unit propagation of:
+ * <ul>
+ * <li>a conjunction {@code c = a AND b}, in both directions;</li>
+ * <li>a disjunction {@code c = a OR b}, in both directions;</li>
+ * <li>an implication {@code p => q}: {@code p} gives {@code q}, {@code NOT q} gives {@code NOT p};</li>
+ * <li>an abjunction {@code p => NOT q}: {@code p} gives {@code NOT q}, {@code q} gives {@code NOT p}.</li>
+ * </ul>
+ * Propositions involved in a rule but without any derived value are marked as reached.
+ */
+final class TruthPropagation {
+
+    static final byte TRUE = 1;
+
+    static final byte FALSE = 2;
+
+    static final byte REACHED = 4;
+
+    private static final byte QUEUED = 8;
+
+    private static final byte VALUES = TRUE | FALSE;
+
+    private final ArgumentGraph graph;
+
+    private byte[] values;
+
+    private final IntArrayList worklist = new IntArrayList();
+
+    TruthPropagation(ArgumentGraph graph) {
+        this.graph = graph;
+        this.values = new byte[graph.propositionSlotLimit()];
+    }
+
+    /**
+     * @param slot a proposition slot.
+     * @return the derived values of the proposition, a combination of {@link #TRUE}, {@link #FALSE} and {@link #REACHED}.
+     */
+    byte valueOf(int slot) {
+        return slot < values.length ? (byte) (values[slot] & ~QUEUED) : 0;
+    }
+
+    /**
+     * @return the upper bound (exclusive) of the slots holding a value.
+     */
+    int slotLimit() {
+        return values.length;
+    }
+
+    /**
+     * Assert a value for a proposition; call {@link #propagate()} to derive its consequences.
+     *
+     * @param slot the proposition slot.
+     * @param value either {@link #TRUE} or {@link #FALSE}.
+     */
+    void assertValue(int slot, byte value) {
+        ensureCapacity();
+        derive(slot, value);
+    }
+
+    /**
+     * Queue a proposition so that the rules it is involved in are evaluated again, typically after a rule was added.
+     *
+     * @param slot the proposition slot.
+     */
+    void touch(int slot) {
+        ensureCapacity();
+        if ((values[slot] & VALUES) != 0) {
+            enqueue(slot);
+        }
+    }
+
+    /**
+     * Forget the values of some propositions.
+     *
+     * @param slots the proposition slots.
+     */
+    void reset(IntArrayList slots) {
+        ensureCapacity();
+        for (int i = 0; i < slots.size(); i++) {
+            values[slots.get(i)] = 0;
+        }
+    }
+
+    /**
+     * Collect the propositions holding a value and connected to the given ones through propositions holding a value.
+     * After a rule was modified or removed, this is the only part of the graph whose values may be invalid.
+     *
+     * @param seeds the proposition slots to start from.
+     * @return the slots of the region.
+     */
+    IntArrayList region(IntArrayList seeds) {
+        ensureCapacity();
+        IntArrayList region = new IntArrayList();
+        boolean[] visited = new boolean[values.length];
+        for (int i = 0; i < seeds.size(); i++) {
+            int seed = seeds.get(i);
+            if (!visited[seed] && values[seed] != 0) {
+                visited[seed] = true;
+                region.add(seed);
+            }
+        }
+        for (int head = 0; head < region.size(); head++) {
+            int slot = region.get(head);
+            IntConsumer visit = neighbour -> {
+                if (!visited[neighbour] && values[neighbour] != 0) {
+                    visited[neighbour] = true;
+                    region.add(neighbour);
+                }
+            };
+            graph.forEachUpward(slot, visit);
+            graph.forEachDownward(slot, visit);
+        }
+        return region;
+    }
+
+    /**
+     * Derive values until nothing changes.
+     */
+    void propagate() {
+        ensureCapacity();
+        while (!worklist.isEmpty()) {
+            int slot = worklist.pop();
+            values[slot] &= ~QUEUED;
+            if (graph.propositionType(slot) == PropositionType.CONNECTION) {
+                connection(slot);
+            }
+            IntArrayList connections = graph.connectionsOf(slot);
+            for (int i = 0; i < connections.size(); i++) {
+                connection(connections.get(i));
+            }
+            IntArrayList arguments = graph.argumentsFrom(slot);
+            for (int i = 0; i < arguments.size(); i++) {
+                argument(arguments.get(i));
+            }
+            arguments = graph.argumentsConcludingTo(slot);
+            for (int i = 0; i < arguments.size(); i++) {
+                argument(arguments.get(i));
+            }
+        }
+    }
+
+    private void connection(int c) {
+        int a = graph.operand1(c);
+        int b = graph.operand2(c);
+        ConnectionType type = graph.connectionType(c);
+        if (a == ArgumentGraph.NONE || b == ArgumentGraph.NONE || type == null) {
+            return;
+        }
+        reach(a);
+        reach(b);
+        reach(c);
+        if (type == ConnectionType.CONJUNCTION) {
+            if (has(a, TRUE) && has(b, TRUE)) {
+                derive(c, TRUE);
+            }
+            if (has(a, FALSE) || has(b, FALSE)) {
+                derive(c, FALSE);
+            }
+            if (has(c, TRUE)) {
+                derive(a, TRUE);
+                derive(b, TRUE);
+            }
+            if (has(c, FALSE)) {
+                if (has(a, TRUE)) {
+                    derive(b, FALSE);
+                }
+                if (has(b, TRUE)) {
+                    derive(a, FALSE);
+                }
+            }
+        } else {
+            if (has(a, TRUE) || has(b, TRUE)) {
+                derive(c, TRUE);
+            }
+            if (has(a, FALSE) && has(b, FALSE)) {
+                derive(c, FALSE);
+            }
+            if (has(c, FALSE)) {
+                derive(a, FALSE);
+                derive(b, FALSE);
+            }
+            if (has(c, TRUE)) {
+                if (has(a, FALSE)) {
+                    derive(b, TRUE);
+                }
+                if (has(b, FALSE)) {
+                    derive(a, TRUE);
+                }
+            }
+        }
+    }
+
+    private void argument(int argument) {
+        int p = graph.premise(argument);
+        int q = graph.conclusion(argument);
+        ArgumentType type = graph.argumentType(argument);
+        if (p == ArgumentGraph.NONE || q == ArgumentGraph.NONE || type == null) {
+            return;
+        }
+        reach(p);
+        reach(q);
+        if (type == ArgumentType.IMPLICATION) {
+            if (has(p, TRUE)) {
+                derive(q, TRUE);
+            }
+            if (has(q, FALSE)) {
+                derive(p, FALSE);
+            }
+        } else {
+            if (has(p, TRUE)) {
+                derive(q, FALSE);
+            }
+            if (has(q, TRUE)) {
+                derive(p, FALSE);
+            }
+        }
+    }
+
+    private boolean has(int slot, byte value) {
+        return (values[slot] & value) != 0;
+    }
+
+    private void reach(int slot) {
+        values[slot] |= REACHED;
+    }
+
+    private void derive(int slot, byte value) {
+        if ((values[slot] & value) == 0) {
+            values[slot] |= value | REACHED;
+            enqueue(slot);
+        }
+    }
+
+    private void enqueue(int slot) {
+        if ((values[slot] & QUEUED) == 0) {
+            values[slot] |= QUEUED;
+            worklist.add(slot);
+        }
+    }
+
+    private void ensureCapacity() {
+        if (values.length < graph.propositionSlotLimit()) {
+            values = Arrays.copyOf(values, graph.propositionSlotLimit());
+        }
+    }
+}
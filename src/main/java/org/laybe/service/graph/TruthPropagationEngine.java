@@ -0,0 +1,80 @@
+package org.laybe.service.graph;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.laybe.service.dto.EvaluationResultDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service evaluating the argument graph from the propositions asserted by a user.
+ * <p>
+ * The evaluations of the most recent assertion sets are kept, and brought up to date incrementally with the
+ * changes of the {@link PropositionGraphIndex} when they are requested again.
+ */
+@Service
+public class TruthPropagationEngine {
+
+    /**
+     * Number of evaluations kept up to date.
+     */
+    private static final int CACHED_EVALUATIONS = 16;
+
+    private final Logger log = LoggerFactory.getLogger(TruthPropagationEngine.class);
+
+    private final PropositionGraphIndex propositionGraphIndex;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TruthEvaluation> evaluations = new LinkedHashMap<String, TruthEvaluation>(CACHED_EVALUATIONS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TruthEvaluation> eldest) {
+            return size() > CACHED_EVALUATIONS;
+        }
+    };
+
+    public TruthPropagationEngine(PropositionGraphIndex propositionGraphIndex, MeterRegistry meterRegistry) {
+        this.propositionGraphIndex = propositionGraphIndex;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Derive the status of every proposition reachable from the asserted ones.
+     *
+     * @param accepted the ids of the propositions asserted as true.
+     * @param rejected the ids of the propositions asserted as false.
+     * @return the result of the evaluation.
+     */
+    public EvaluationResultDTO evaluate(Collection<Long> accepted, Collection<Long> rejected) {
+        log.debug("Request to evaluate the graph from accepted {} and rejected {}", accepted, rejected);
+        long[] acceptedIds = sortedIds(accepted);
+        long[] rejectedIds = sortedIds(rejected);
+        String key = Arrays.toString(acceptedIds) + Arrays.toString(rejectedIds);
+        TruthEvaluation evaluation;
+        synchronized (evaluations) {
+            evaluation = evaluations.computeIfAbsent(key, k -> new TruthEvaluation(acceptedIds, rejectedIds));
+        }
+        synchronized (evaluation) {
+            return propositionGraphIndex.read(graph -> {
+                long start = System.nanoTime();
+                TruthEvaluation.Mode mode = evaluation.refresh(graph, propositionGraphIndex.getVersion(),
+                    propositionGraphIndex.changesSince(evaluation.getVersion()));
+                meterRegistry.timer("graph.evaluation", "mode", mode.name().toLowerCase(Locale.ROOT))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return evaluation.toResult();
+            });
+        }
+    }
+
+    private static long[] sortedIds(Collection<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+}
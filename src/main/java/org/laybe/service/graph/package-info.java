@@ -0,0 +1,4 @@
+/**
+ * In-memory representation of the argument graph, and the algorithms running over it.
+ */
+package org.laybe.service.graph;
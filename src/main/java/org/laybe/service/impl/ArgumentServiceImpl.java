@@ -1,17 +1,30 @@
 package org.laybe.service.impl;
 
 import org.laybe.service.ArgumentService;
+import org.laybe.service.DebateCacheService;
 import org.laybe.domain.Argument;
 import org.laybe.repository.ArgumentRepository;
+import org.laybe.service.dto.ArgumentDTO;
+import org.laybe.service.dto.ArgumentPatchDTO;
+import org.laybe.service.event.ArgumentChangeEvent;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.graph.GraphCycleService;
+import org.laybe.service.mapper.ArgumentMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 
 /**
  * Service Implementation for managing {@link Argument}.
@@ -24,34 +37,118 @@ public class ArgumentServiceImpl implements ArgumentService {
 
     private final ArgumentRepository argumentRepository;
 
-    public ArgumentServiceImpl(ArgumentRepository argumentRepository) {
+    private final ArgumentMapper argumentMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final GraphCycleService graphCycleService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DebateCacheService debateCacheService;
+
+    public ArgumentServiceImpl(ArgumentRepository argumentRepository, ArgumentMapper argumentMapper,
+                               ApplicationEventPublisher eventPublisher, GraphCycleService graphCycleService,
+                               JdbcTemplate jdbcTemplate, DebateCacheService debateCacheService) {
         this.argumentRepository = argumentRepository;
+        this.argumentMapper = argumentMapper;
+        this.eventPublisher = eventPublisher;
+        this.graphCycleService = graphCycleService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.debateCacheService = debateCacheService;
     }
 
     @Override
-    public Argument save(Argument argument) {
-        log.debug("Request to save Argument : {}", argument);
-        return argumentRepository.save(argument);
+    public ArgumentDTO save(ArgumentDTO argumentDTO) {
+        log.debug("Request to save Argument : {}", argumentDTO);
+        graphCycleService.checkArgument(argumentDTO.getPremiseId(), argumentDTO.getConclusionId());
+        ChangeType changeType = argumentDTO.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+        Argument argument = argumentMapper.toEntity(argumentDTO);
+        if (argument.getId() != null && argument.getVersion() == null) {
+            // Update from a client unaware of versions: it overwrites the current one.
+            argumentRepository.findVersionById(argument.getId()).ifPresent(argument::setVersion);
+        }
+        // Flushed so that the returned version is the one the update leads to.
+        argument = argumentRepository.saveAndFlush(argument);
+        eventPublisher.publishEvent(ArgumentChangeEvent.saved(changeType, argument));
+        return argumentMapper.toDto(argument);
+    }
+
+    @Override
+    public Optional<ArgumentDTO> partialUpdate(Long id, ArgumentPatchDTO patch, Long version) {
+        log.debug("Request to partially update Argument : {}, {}", id, patch);
+        Optional<ArgumentDTO> current = argumentRepository.findOneAsDTO(id);
+        if (!current.isPresent()) {
+            return current;
+        }
+        ArgumentDTO argument = current.get();
+        if (version != null && !version.equals(argument.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Argument.class, id);
+        }
+        List<Long> endIds = new ArrayList<>(Arrays.asList(argument.getPremiseId(), argument.getConclusionId()));
+        PartialUpdate update = new PartialUpdate("argument");
+        update.set(patch.getType(), "type", Enum::name, argument::setType);
+        boolean endsChanged = update.set(patch.getPremiseId(), "premise_id", Function.identity(), argument::setPremiseId);
+        endsChanged |= update.set(patch.getConclusionId(), "conclusion_id", Function.identity(), argument::setConclusionId);
+        if (update.isEmpty()) {
+            return current;
+        }
+        if (endsChanged) {
+            graphCycleService.checkArgument(argument.getPremiseId(), argument.getConclusionId());
+        }
+        update.execute(jdbcTemplate, Argument.class, id, argument.getVersion());
+        // The row is written without Hibernate: its cached state, and the cached arguments of its ends, are stale.
+        debateCacheService.evictArgument(id);
+        if (endsChanged) {
+            endIds.addAll(Arrays.asList(argument.getPremiseId(), argument.getConclusionId()));
+            debateCacheService.evictArgumentsOf(endIds);
+        }
+        argument.setVersion(argument.getVersion() + 1);
+        eventPublisher.publishEvent(new ArgumentChangeEvent(ChangeType.UPDATED, id, argument.getType(),
+            argument.getPremiseId(), argument.getConclusionId()));
+        return Optional.of(argument);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Argument> findAll(Pageable pageable) {
+    public Page<ArgumentDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Arguments");
-        return argumentRepository.findAll(pageable);
+        return argumentRepository.findAllAsDTO(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ArgumentDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get Arguments after : {}", afterId);
+        return argumentRepository.findAllAsDTOByIdGreaterThan(afterId, PageRequest.of(0, size));
     }
 
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<Argument> findOne(Long id) {
+    public Optional<ArgumentDTO> findOne(Long id) {
         log.debug("Request to get Argument : {}", id);
-        return argumentRepository.findById(id);
+        return argumentRepository.findOneAsDTO(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        log.debug("Request to get the version of Argument : {}", id);
+        return argumentRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, ArgumentDTO> findAllById(Collection<Long> ids) {
+        log.debug("Request to get Arguments : {}", ids);
+        return BatchLookup.findAllById(ids, argumentRepository::findAllAsDTOByIdIn, ArgumentDTO::getId);
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Argument : {}", id);
         argumentRepository.deleteById(id);
+        eventPublisher.publishEvent(ArgumentChangeEvent.deleted(id));
     }
 }
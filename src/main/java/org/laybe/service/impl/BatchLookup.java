@@ -0,0 +1,48 @@
+package org.laybe.service.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Lookup of entities by id with a single query, keeping the order of the requested ids.
+ */
+final class BatchLookup {
+
+    private BatchLookup() {
+    }
+
+    /**
+     * Find the entities of the given ids.
+     *
+     * @param ids the ids, possibly with duplicates.
+     * @param query the query of the entities of distinct ids, never run with no ids as {@code in ()} is invalid SQL.
+     * @param idOf the id of an entity.
+     * @param <T> the type of the entities.
+     * @return the entities found, by id, in the order of the ids.
+     */
+    static <T> Map<Long, T> findAllById(Collection<Long> ids, Function<Collection<Long>, List<T>> query, Function<T, Long> idOf) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, T> found = new HashMap<>();
+        for (T entity : query.apply(distinctIds)) {
+            found.put(idOf.apply(entity), entity);
+        }
+        Map<Long, T> result = new LinkedHashMap<>();
+        for (Long id : distinctIds) {
+            T entity = found.get(id);
+            if (entity != null) {
+                result.put(id, entity);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package org.laybe.service.impl;
+
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Update statement of the columns of a versioned entity supplied by a JSON Merge Patch, leaving the others untouched.
+ * <p>
+ * The statement only applies to the expected version of the row, and increments it.
+ */
+final class PartialUpdate {
+
+    private final String table;
+
+    private final List<String> assignments = new ArrayList<>();
+
+    private final List<Object> values = new ArrayList<>();
+
+    PartialUpdate(String table) {
+        this.table = table;
+    }
+
+    /**
+     * Set a column if the patch supplies its field.
+     *
+     * @param field the field of the patch.
+     * @param column the column of the field.
+     * @param toColumn the conversion of a non-null value of the field to the value of the column.
+     * @param target the setter of the field in the patched representation.
+     * @param <T> the type of the field.
+     * @return whether the field was supplied.
+     */
+    <T> boolean set(JsonNullable<T> field, String column, Function<? super T, ?> toColumn, Consumer<? super T> target) {
+        if (field == null || !field.isPresent()) {
+            return false;
+        }
+        T value = field.get();
+        assignments.add(column + " = ?");
+        values.add(value == null ? null : toColumn.apply(value));
+        target.accept(value);
+        return true;
+    }
+
+    /**
+     * @return whether no column is set.
+     */
+    boolean isEmpty() {
+        return assignments.isEmpty();
+    }
+
+    String sql() {
+        return "update " + table + " set " + String.join(", ", assignments) + ", version = version + 1 where id = ? and version = ?";
+    }
+
+    /**
+     * Run the statement.
+     *
+     * @param jdbcTemplate the template running it.
+     * @param entityClass the class of the entity, for the error.
+     * @param id the id of the row.
+     * @param version the expected version of the row.
+     * @throws ObjectOptimisticLockingFailureException if the row is missing or not at the expected version.
+     */
+    void execute(JdbcTemplate jdbcTemplate, Class<?> entityClass, long id, long version) {
+        List<Object> arguments = new ArrayList<>(values);
+        arguments.add(id);
+        arguments.add(version);
+        if (jdbcTemplate.update(sql(), arguments.toArray()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+    }
+}
@@ -1,17 +1,36 @@
 package org.laybe.service.impl;
 
 import org.laybe.service.PropositionService;
+import org.laybe.service.DebateCacheService;
 import org.laybe.domain.Proposition;
+import org.laybe.repository.ArgumentRepository;
 import org.laybe.repository.PropositionRepository;
+import org.laybe.service.dto.GraphDirection;
+import org.laybe.service.dto.GraphEdgeDTO;
+import org.laybe.service.dto.GraphNodeDTO;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.dto.PropositionGraphDTO;
+import org.laybe.service.dto.PropositionPatchDTO;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.PropositionChangeEvent;
+import org.laybe.service.graph.GraphCycleService;
+import org.laybe.service.mapper.PropositionMapper;
+import org.laybe.service.search.PropositionSimilarityService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 
 /**
  * Service Implementation for managing {@link Proposition}.
@@ -20,38 +39,236 @@ import java.util.Optional;
 @Transactional
 public class PropositionServiceImpl implements PropositionService {
 
+    /**
+     * Maximum number of parameters bound to a single IN clause.
+     */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final Logger log = LoggerFactory.getLogger(PropositionServiceImpl.class);
 
     private final PropositionRepository propositionRepository;
 
-    public PropositionServiceImpl(PropositionRepository propositionRepository) {
+    private final ArgumentRepository argumentRepository;
+
+    private final PropositionMapper propositionMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final GraphCycleService graphCycleService;
+
+    private final PropositionSimilarityService propositionSimilarityService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DebateCacheService debateCacheService;
+
+    public PropositionServiceImpl(PropositionRepository propositionRepository, ArgumentRepository argumentRepository,
+                                  PropositionMapper propositionMapper, ApplicationEventPublisher eventPublisher,
+                                  GraphCycleService graphCycleService, PropositionSimilarityService propositionSimilarityService,
+                                  JdbcTemplate jdbcTemplate, DebateCacheService debateCacheService) {
         this.propositionRepository = propositionRepository;
+        this.argumentRepository = argumentRepository;
+        this.propositionMapper = propositionMapper;
+        this.eventPublisher = eventPublisher;
+        this.graphCycleService = graphCycleService;
+        this.propositionSimilarityService = propositionSimilarityService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.debateCacheService = debateCacheService;
     }
 
     @Override
-    public Proposition save(Proposition proposition) {
-        log.debug("Request to save Proposition : {}", proposition);
-        return propositionRepository.save(proposition);
+    public PropositionDTO save(PropositionDTO propositionDTO) {
+        log.debug("Request to save Proposition : {}", propositionDTO);
+        graphCycleService.checkConnection(propositionDTO.getId(), propositionDTO.getProposition1Id(), propositionDTO.getProposition2Id());
+        // As with partial updates, an unchanged text is not checked again: it would be rejected for its existing near-duplicates.
+        boolean textChanged = propositionDTO.getId() == null
+            || !propositionRepository.findTextById(propositionDTO.getId()).equals(Optional.ofNullable(propositionDTO.getText()));
+        List<Long> similarPropositionIds = textChanged
+            ? propositionSimilarityService.checkDuplicates(propositionDTO.getId(), propositionDTO.getText()) : Collections.emptyList();
+        ChangeType changeType = propositionDTO.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+        Proposition proposition = propositionMapper.toEntity(propositionDTO);
+        if (proposition.getId() != null && proposition.getVersion() == null) {
+            // Update from a client unaware of versions: it overwrites the current one.
+            propositionRepository.findVersionById(proposition.getId()).ifPresent(proposition::setVersion);
+        }
+        // Flushed so that the returned version is the one the update leads to.
+        proposition = propositionRepository.saveAndFlush(proposition);
+        eventPublisher.publishEvent(PropositionChangeEvent.saved(changeType, proposition));
+        PropositionDTO result = propositionMapper.toDto(proposition);
+        result.setSimilarPropositionIds(similarPropositionIds);
+        return result;
+    }
+
+    @Override
+    public Optional<PropositionDTO> partialUpdate(Long id, PropositionPatchDTO patch, Long version) {
+        log.debug("Request to partially update Proposition : {}, {}", id, patch);
+        Optional<PropositionDTO> current = propositionRepository.findOneAsDTO(id);
+        if (!current.isPresent()) {
+            return current;
+        }
+        PropositionDTO proposition = current.get();
+        if (version != null && !version.equals(proposition.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Proposition.class, id);
+        }
+        List<Long> operandIds = new ArrayList<>(Arrays.asList(proposition.getProposition1Id(), proposition.getProposition2Id()));
+        PartialUpdate update = new PartialUpdate("proposition");
+        update.set(patch.getType(), "type", Enum::name, proposition::setType);
+        boolean textChanged = update.set(patch.getText(), "text", Function.identity(), proposition::setText);
+        update.set(patch.getConnectionType(), "connection_type", Enum::name, proposition::setConnectionType);
+        boolean operandsChanged = update.set(patch.getProposition1Id(), "proposition1_id", Function.identity(), proposition::setProposition1Id);
+        operandsChanged |= update.set(patch.getProposition2Id(), "proposition2_id", Function.identity(), proposition::setProposition2Id);
+        if (update.isEmpty()) {
+            return current;
+        }
+        if (operandsChanged) {
+            graphCycleService.checkConnection(id, proposition.getProposition1Id(), proposition.getProposition2Id());
+        }
+        List<Long> similarPropositionIds = textChanged
+            ? propositionSimilarityService.checkDuplicates(id, proposition.getText()) : Collections.emptyList();
+        update.execute(jdbcTemplate, Proposition.class, id, proposition.getVersion());
+        // The row is written without Hibernate: its cached state, and the cached connections of its operands, are stale.
+        debateCacheService.evictProposition(id);
+        if (operandsChanged) {
+            operandIds.addAll(Arrays.asList(proposition.getProposition1Id(), proposition.getProposition2Id()));
+            debateCacheService.evictConnectionsOf(operandIds);
+        }
+        proposition.setVersion(proposition.getVersion() + 1);
+        proposition.setSimilarPropositionIds(similarPropositionIds);
+        eventPublisher.publishEvent(new PropositionChangeEvent(ChangeType.UPDATED, id, proposition.getType(), proposition.getText(),
+            proposition.getConnectionType(), proposition.getProposition1Id(), proposition.getProposition2Id()));
+        return Optional.of(proposition);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Proposition> findAll(Pageable pageable) {
+    public Page<PropositionDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Propositions");
-        return propositionRepository.findAll(pageable);
+        return propositionRepository.findAllAsDTO(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<PropositionDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get Propositions after : {}", afterId);
+        return propositionRepository.findAllAsDTOByIdGreaterThan(afterId, PageRequest.of(0, size));
     }
 
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<Proposition> findOne(Long id) {
+    public Optional<PropositionDTO> findOne(Long id) {
         log.debug("Request to get Proposition : {}", id);
-        return propositionRepository.findById(id);
+        return propositionRepository.findOneAsDTO(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        log.debug("Request to get the version of Proposition : {}", id);
+        return propositionRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, PropositionDTO> findAllById(Collection<Long> ids) {
+        log.debug("Request to get Propositions : {}", ids);
+        return BatchLookup.findAllById(ids, propositionRepository::findAllAsDTOByIdIn, PropositionDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PropositionGraphDTO> findGraph(Long id, int depth, GraphDirection direction) {
+        log.debug("Request to get the graph of Proposition : {}, depth {}, direction {}", id, depth, direction);
+        List<GraphNodeDTO> roots = propositionRepository.findGraphNodesByIdIn(Collections.singleton(id));
+        if (roots.isEmpty()) {
+            return Optional.empty();
+        }
+        int maxDepth = Math.max(0, Math.min(depth, MAX_GRAPH_DEPTH));
+        Map<Long, GraphNodeDTO> nodes = new LinkedHashMap<>();
+        Set<GraphEdgeDTO> edges = new LinkedHashSet<>();
+        nodes.put(id, roots.get(0));
+
+        Set<Long> frontier = Collections.singleton(id);
+        for (int level = 1; level <= maxDepth && !frontier.isEmpty(); level++) {
+            Set<Long> visited = new HashSet<>(nodes.keySet());
+            Set<Long> discovered = new LinkedHashSet<>();
+            if (direction.isDownward()) {
+                for (GraphEdgeDTO edge : inChunks(frontier, argumentRepository::findGraphEdgesByConclusionIdIn)) {
+                    edges.add(edge);
+                    discovered.add(edge.getSource());
+                }
+                for (Long nodeId : frontier) {
+                    GraphNodeDTO node = nodes.get(nodeId);
+                    if (node.getProposition1Id() != null) {
+                        edges.add(GraphEdgeDTO.operand(GraphEdgeDTO.Kind.PROPOSITION1, node.getProposition1Id(), nodeId));
+                        discovered.add(node.getProposition1Id());
+                    }
+                    if (node.getProposition2Id() != null) {
+                        edges.add(GraphEdgeDTO.operand(GraphEdgeDTO.Kind.PROPOSITION2, node.getProposition2Id(), nodeId));
+                        discovered.add(node.getProposition2Id());
+                    }
+                }
+            }
+            if (direction.isUpward()) {
+                for (GraphEdgeDTO edge : inChunks(frontier, argumentRepository::findGraphEdgesByPremiseIdIn)) {
+                    edges.add(edge);
+                    discovered.add(edge.getTarget());
+                }
+                for (GraphNodeDTO connection : inChunks(frontier, propositionRepository::findGraphNodesByOperandIdIn)) {
+                    if (frontier.contains(connection.getProposition1Id())) {
+                        edges.add(GraphEdgeDTO.operand(GraphEdgeDTO.Kind.PROPOSITION1, connection.getProposition1Id(), connection.getId()));
+                    }
+                    if (frontier.contains(connection.getProposition2Id())) {
+                        edges.add(GraphEdgeDTO.operand(GraphEdgeDTO.Kind.PROPOSITION2, connection.getProposition2Id(), connection.getId()));
+                    }
+                    if (!nodes.containsKey(connection.getId())) {
+                        connection.setDepth(level);
+                        nodes.put(connection.getId(), connection);
+                    }
+                    discovered.add(connection.getId());
+                }
+            }
+            discovered.removeAll(visited);
+            Set<Long> missing = new HashSet<>(discovered);
+            missing.removeAll(nodes.keySet());
+            for (GraphNodeDTO node : inChunks(missing, propositionRepository::findGraphNodesByIdIn)) {
+                node.setDepth(level);
+                nodes.put(node.getId(), node);
+            }
+            frontier = discovered;
+        }
+        return Optional.of(new PropositionGraphDTO(id, maxDepth, direction, new ArrayList<>(nodes.values()), new ArrayList<>(edges)));
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Proposition : {}", id);
         propositionRepository.deleteById(id);
+        eventPublisher.publishEvent(PropositionChangeEvent.deleted(id));
+    }
+
+    /**
+     * Run an IN query over the given ids, splitting them so that a single statement never binds too many parameters.
+     */
+    private static <T> List<T> inChunks(Collection<Long> ids, Function<Collection<Long>, List<T>> query) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (ids.size() <= IN_CLAUSE_CHUNK_SIZE) {
+            return query.apply(ids);
+        }
+        List<T> results = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(IN_CLAUSE_CHUNK_SIZE);
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == IN_CLAUSE_CHUNK_SIZE) {
+                results.addAll(query.apply(chunk));
+                chunk = new ArrayList<>(IN_CLAUSE_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(query.apply(chunk));
+        }
+        return results;
     }
 }
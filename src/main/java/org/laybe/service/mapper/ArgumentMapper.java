@@ -0,0 +1,31 @@
+package org.laybe.service.mapper;
+
+
+import org.laybe.domain.*;
+import org.laybe.service.dto.ArgumentDTO;
+
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Argument} and its DTO {@link ArgumentDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {PropositionMapper.class})
+public interface ArgumentMapper extends EntityMapper<ArgumentDTO, Argument> {
+
+    @Mapping(source = "premise.id", target = "premiseId")
+    @Mapping(source = "conclusion.id", target = "conclusionId")
+    ArgumentDTO toDto(Argument argument);
+
+    @Mapping(source = "premiseId", target = "premise")
+    @Mapping(source = "conclusionId", target = "conclusion")
+    Argument toEntity(ArgumentDTO argumentDTO);
+
+    default Argument fromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Argument argument = new Argument();
+        argument.setId(id);
+        return argument;
+    }
+}
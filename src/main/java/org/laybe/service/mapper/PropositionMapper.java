@@ -0,0 +1,40 @@
+package org.laybe.service.mapper;
+
+
+import org.laybe.domain.*;
+import org.laybe.service.dto.PropositionDTO;
+
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Proposition} and its DTO {@link PropositionDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {})
+public interface PropositionMapper extends EntityMapper<PropositionDTO, Proposition> {
+
+    @Mapping(source = "proposition1.id", target = "proposition1Id")
+    @Mapping(source = "proposition2.id", target = "proposition2Id")
+    @Mapping(target = "similarPropositionIds", ignore = true)
+    PropositionDTO toDto(Proposition proposition);
+
+    @Mapping(target = "conclusions", ignore = true)
+    @Mapping(target = "removeConclusions", ignore = true)
+    @Mapping(target = "premises", ignore = true)
+    @Mapping(target = "removePremises", ignore = true)
+    @Mapping(target = "partOfConnections1s", ignore = true)
+    @Mapping(target = "removePartOfConnections1", ignore = true)
+    @Mapping(target = "partOfConnections2s", ignore = true)
+    @Mapping(target = "removePartOfConnections2", ignore = true)
+    @Mapping(source = "proposition1Id", target = "proposition1")
+    @Mapping(source = "proposition2Id", target = "proposition2")
+    Proposition toEntity(PropositionDTO propositionDTO);
+
+    default Proposition fromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Proposition proposition = new Proposition();
+        proposition.setId(id);
+        return proposition;
+    }
+}
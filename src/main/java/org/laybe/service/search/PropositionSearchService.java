@@ -0,0 +1,187 @@
+package org.laybe.service.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.repository.PropositionRepository;
+import org.laybe.service.RebuildableIndex;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.DebateImportedEvent;
+import org.laybe.service.event.PropositionChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service searching the propositions by the words of their text, best matches first.
+ * <p>
+ * On PostgreSQL, queries run against the {@code text_search} column and its GIN index, with the French text search
+ * configuration. Other databases are searched through a {@link PropositionTextIndex}, loaded when the application
+ * is ready, then kept up to date by the change events published once their transaction has committed.
+ */
+@Service
+public class PropositionSearchService {
+
+    private static final String SEARCH = "select p.id from proposition p, websearch_to_tsquery('french', ?) q "
+        + "where p.text_search @@ q order by ts_rank(p.text_search, q) desc, p.id limit ? offset ?";
+
+    private static final String COUNT = "select count(*) from proposition p where p.text_search @@ websearch_to_tsquery('french', ?)";
+
+    private final Logger log = LoggerFactory.getLogger(PropositionSearchService.class);
+
+    private final PropositionRepository propositionRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Search.Engine engine;
+
+    private final Timer searchTimer;
+
+    private final RebuildableIndex<PropositionTextIndex> index = new RebuildableIndex<>("search", new PropositionTextIndex());
+
+    public PropositionSearchService(PropositionRepository propositionRepository, JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties,
+                                    MeterRegistry meterRegistry) {
+        this.propositionRepository = propositionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.engine = resolveEngine(applicationProperties.getSearch().getEngine());
+        log.info("Searching propositions with the {} engine", engine);
+        this.searchTimer = Timer.builder("proposition.search")
+            .description("Time spent searching propositions")
+            .tag("engine", engine.name().toLowerCase(Locale.ENGLISH))
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        if (engine == ApplicationProperties.Search.Engine.IN_MEMORY) {
+            Gauge.builder("proposition.search.index.propositions", this, service -> service.read(PropositionTextIndex::size))
+                .description("Number of propositions in the in-memory search index")
+                .register(meterRegistry);
+        }
+    }
+
+    private ApplicationProperties.Search.Engine resolveEngine(ApplicationProperties.Search.Engine configured) {
+        if (configured != ApplicationProperties.Search.Engine.AUTO) {
+            return configured;
+        }
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(database) ? ApplicationProperties.Search.Engine.POSTGRESQL : ApplicationProperties.Search.Engine.IN_MEMORY;
+    }
+
+    /**
+     * Search the propositions holding the words of a query.
+     * <p>
+     * The sort of the page request is ignored, as matches are sorted by relevance.
+     *
+     * @param query the words to look for.
+     * @param pageable the pagination information.
+     * @return the page of matching propositions, best first.
+     */
+    @Transactional(readOnly = true)
+    public Page<PropositionDTO> search(String query, Pageable pageable) {
+        log.debug("Request to search Propositions for : {}", query);
+        return searchTimer.record(() -> {
+            List<Long> ids;
+            long total;
+            if (engine == ApplicationProperties.Search.Engine.POSTGRESQL) {
+                total = jdbcTemplate.queryForObject(COUNT, Long.class, query);
+                ids = total == 0 ? Collections.emptyList()
+                    : jdbcTemplate.queryForList(SEARCH, Long.class, query, pageable.getPageSize(), pageable.getOffset());
+            } else {
+                PropositionTextIndex.Hits hits = read(textIndex -> textIndex.search(query, pageable.getOffset(), pageable.getPageSize()));
+                ids = Arrays.stream(hits.getIds()).boxed().collect(Collectors.toList());
+                total = hits.getTotal();
+            }
+            Map<Long, PropositionDTO> propositions = ids.isEmpty() ? Collections.emptyMap()
+                : propositionRepository.findAllAsDTOByIdIn(ids).stream()
+                    .collect(Collectors.toMap(PropositionDTO::getId, Function.identity()));
+            List<PropositionDTO> content = ids.stream()
+                .map(propositions::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, total);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload the whole in-memory index from the database, when it is used.
+     */
+    public void rebuild() {
+        if (engine != ApplicationProperties.Search.Engine.IN_MEMORY) {
+            return;
+        }
+        long start = System.nanoTime();
+        PropositionTextIndex loaded = index.rebuild(() -> transactionTemplate.execute(status -> {
+            PropositionTextIndex loading = new PropositionTextIndex();
+            try (Stream<PropositionDTO> propositions = propositionRepository.streamAllAsDTO()) {
+                propositions.forEach(proposition -> loading.put(proposition.getId(), proposition.getText()));
+            }
+            return loading;
+        }));
+        if (loaded == null) {
+            return;
+        }
+        log.info("Search index loaded: {} propositions, in {} ms", loaded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropositionChange(PropositionChangeEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            update(textIndex -> textIndex.remove(event.getId()));
+        } else {
+            update(textIndex -> textIndex.put(event.getId(), event.getText()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDebateImported(DebateImportedEvent event) {
+        update(textIndex -> {
+            for (PropositionChangeEvent proposition : event.getPropositions()) {
+                textIndex.put(proposition.getId(), proposition.getText());
+            }
+        });
+    }
+
+    private void update(Consumer<PropositionTextIndex> change) {
+        if (engine != ApplicationProperties.Search.Engine.IN_MEMORY) {
+            return;
+        }
+        index.update(change);
+    }
+
+    private <T> T read(Function<PropositionTextIndex, T> reader) {
+        return index.read(reader);
+    }
+}
@@ -0,0 +1,300 @@
+package org.laybe.service.search;
+
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory locality-sensitive hashing index of the texts of the propositions, finding their near-duplicates.
+ * <p>
+ * Texts are folded to lowercase words without accents, and cut into overlapping shingles of {@value #SHINGLE_LENGTH}
+ * characters. Each text is summed up by a MinHash signature of {@value #SIGNATURE_LENGTH} values, whose share of
+ * equal values between two texts estimates the Jaccard similarity of their shingles. The signature is split into
+ * {@value #BANDS} bands: texts sharing a band are candidates, which are then compared by signature. With these
+ * parameters, texts more than about 50% similar are very likely to share a band.
+ * <p>
+ * Only the signatures are kept, so the memory used does not depend on the length of the texts. Buckets are hash
+ * sets, so that adding or removing a proposition costs the same however many near-identical texts share its bands,
+ * and at most {@value #MAX_CANDIDATES_PER_BUCKET} candidates are compared from each bucket.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class PropositionSimilarityIndex {
+
+    static final int SHINGLE_LENGTH = 4;
+
+    static final int BANDS = 16;
+
+    static final int ROWS = 4;
+
+    static final int SIGNATURE_LENGTH = BANDS * ROWS;
+
+    static final int MAX_CANDIDATES_PER_BUCKET = 512;
+
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private static final long[] NONE = new long[0];
+
+    /**
+     * The propositions in each bucket, keyed by band and hash of the band.
+     */
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+
+    /**
+     * The signature of each proposition.
+     */
+    private final Map<Long, int[]> signatures = new HashMap<>();
+
+    /**
+     * Compute the MinHash signature of a text.
+     *
+     * @param text the text, or {@code null}.
+     * @return the signature, or {@code null} if the text holds no word.
+     */
+    public static int[] signature(String text) {
+        String folded = TextFolding.words(text).collect(Collectors.joining(" "));
+        if (folded.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, folded.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0;
+            for (int i = start; i < Math.min(start + SHINGLE_LENGTH, folded.length()); i++) {
+                shingle = shingle * 31 + folded.charAt(i);
+            }
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int hash = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Index the text of a proposition, replacing its previous text.
+     *
+     * @param id the id of the proposition.
+     * @param text the text, or {@code null}.
+     */
+    public void put(long id, String text) {
+        put(id, signature(text));
+    }
+
+    /**
+     * Index the signature of a proposition, replacing its previous signature.
+     *
+     * @param id the id of the proposition.
+     * @param signature the signature of its text, or {@code null}.
+     */
+    public void put(long id, int[] signature) {
+        remove(id);
+        if (signature == null) {
+            return;
+        }
+        signatures.put(id, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new Bucket()).add(id);
+        }
+    }
+
+    /**
+     * Remove a proposition from the index.
+     *
+     * @param id the id of the proposition.
+     */
+    public void remove(long id) {
+        int[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            Bucket bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(id) && bucket.size() == 0) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @return the number of indexed propositions.
+     */
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Find the propositions whose text is similar to a signature.
+     *
+     * @param signature the signature of the text.
+     * @param excludedId the id of a proposition left out of the results, such as the one being updated, or {@code null}.
+     * @param threshold the minimum estimated similarity, between 0 and 1.
+     * @param limit the maximum number of ids returned.
+     * @return the ids of the similar propositions, most similar first.
+     */
+    public long[] findSimilar(int[] signature, Long excludedId, double threshold, int limit) {
+        if (signature == null || limit <= 0) {
+            return NONE;
+        }
+        Map<Long, Double> similarities = new HashMap<>();
+        for (int band = 0; band < BANDS; band++) {
+            Bucket bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            bucket.forEach(MAX_CANDIDATES_PER_BUCKET, candidate -> {
+                if ((excludedId == null || candidate != excludedId) && !similarities.containsKey(candidate)) {
+                    similarities.put(candidate, similarity(signature, signatures.get(candidate)));
+                }
+            });
+        }
+        return similarities.entrySet().stream()
+            .filter(entry -> entry.getValue() >= threshold)
+            .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .limit(limit)
+            .mapToLong(Map.Entry::getKey)
+            .toArray();
+    }
+
+    /**
+     * @return the share of equal values of two signatures, which estimates the Jaccard similarity of their texts.
+     */
+    static double similarity(int[] signature, int[] other) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (signature[i] == other[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long hash = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The finalizer of SplitMix64, spreading the bits of a value.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Set of the ids of the propositions sharing a band, with open addressing and linear probing.
+     */
+    static final class Bucket {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] slots = emptySlots(4);
+
+        private int size;
+
+        /**
+         * @return whether the id was added.
+         */
+        boolean add(long id) {
+            int mask = slots.length - 1;
+            int slot = home(id, mask);
+            while (slots[slot] != EMPTY) {
+                if (slots[slot] == id) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id;
+            if (++size * 2 > slots.length) {
+                grow();
+            }
+            return true;
+        }
+
+        /**
+         * @return whether the id was removed.
+         */
+        boolean remove(long id) {
+            int mask = slots.length - 1;
+            int slot = home(id, mask);
+            while (slots[slot] != id) {
+                if (slots[slot] == EMPTY) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = EMPTY;
+            size--;
+            // Shift back the following ids of the run that can no longer be reached from their home slot
+            int hole = slot;
+            for (int next = (hole + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+                int home = home(slots[next], mask);
+                boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (!reachable) {
+                    slots[hole] = slots[next];
+                    slots[next] = EMPTY;
+                    hole = next;
+                }
+            }
+            return true;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Run an action on some ids of the set.
+         *
+         * @param limit the maximum number of ids.
+         * @param action the action.
+         */
+        void forEach(int limit, LongConsumer action) {
+            int remaining = limit;
+            for (int slot = 0; slot < slots.length && remaining > 0; slot++) {
+                if (slots[slot] != EMPTY) {
+                    action.accept(slots[slot]);
+                    remaining--;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] previous = slots;
+            slots = emptySlots(previous.length * 2);
+            size = 0;
+            for (long id : previous) {
+                if (id != EMPTY) {
+                    add(id);
+                }
+            }
+        }
+
+        private static long[] emptySlots(int capacity) {
+            long[] slots = new long[capacity];
+            Arrays.fill(slots, EMPTY);
+            return slots;
+        }
+
+        private static int home(long id, int mask) {
+            return (int) mix(id) & mask;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.laybe.service.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.repository.PropositionRepository;
+import org.laybe.service.NearDuplicatePropositionException;
+import org.laybe.service.RebuildableIndex;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.DebateImportedEvent;
+import org.laybe.service.event.PropositionChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service finding the propositions whose text is a near-duplicate of the text of a proposition being saved.
+ * <p>
+ * Depending on {@code application.search.duplicates.check}, near-duplicates are returned or the write is rejected.
+ * Lookups go through a {@link PropositionSimilarityIndex}, loaded when the application is ready, with the
+ * signatures computed in parallel, then kept up to date by the change events published once their transaction
+ * has committed.
+ */
+@Service
+public class PropositionSimilarityService {
+
+    /**
+     * Number of propositions whose signatures are computed together while loading the index.
+     */
+    private static final int REBUILD_CHUNK_SIZE = 10000;
+
+    private final Logger log = LoggerFactory.getLogger(PropositionSimilarityService.class);
+
+    private final PropositionRepository propositionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Search.Duplicates properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer lookupTimer;
+
+    private final RebuildableIndex<PropositionSimilarityIndex> index =
+        new RebuildableIndex<>("near-duplicate", new PropositionSimilarityIndex());
+
+    public PropositionSimilarityService(PropositionRepository propositionRepository, PlatformTransactionManager transactionManager,
+                                        ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.propositionRepository = propositionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getSearch().getDuplicates();
+        this.meterRegistry = meterRegistry;
+        this.lookupTimer = Timer.builder("proposition.duplicates.lookup")
+            .description("Time spent looking for the near-duplicates of a proposition")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("proposition.duplicates.index.propositions", this, service -> service.read(PropositionSimilarityIndex::size))
+            .description("Number of propositions in the near-duplicate index")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Check whether the text of a proposition being saved is a near-duplicate of other propositions.
+     *
+     * @param id the id of the proposition, {@code null} if it is not created yet.
+     * @param text the text of the proposition.
+     * @return the ids of the similar propositions, most similar first.
+     * @throws NearDuplicatePropositionException if there are similar propositions and such writes are rejected.
+     */
+    public List<Long> checkDuplicates(Long id, String text) {
+        if (properties.getCheck() == ApplicationProperties.Search.Duplicates.DuplicateCheck.NONE) {
+            return Collections.emptyList();
+        }
+        List<Long> similar = findSimilar(id, text);
+        if (similar.isEmpty()) {
+            return similar;
+        }
+        if (properties.getCheck() == ApplicationProperties.Search.Duplicates.DuplicateCheck.REJECT) {
+            meterRegistry.counter("proposition.duplicates", "action", "rejected").increment();
+            throw new NearDuplicatePropositionException(similar);
+        }
+        meterRegistry.counter("proposition.duplicates", "action", "flagged").increment();
+        log.debug("Saving a near-duplicate of propositions {}", similar);
+        return similar;
+    }
+
+    /**
+     * Find the propositions whose text is similar to a text.
+     *
+     * @param id the id of a proposition left out of the results, or {@code null}.
+     * @param text the text.
+     * @return the ids of the similar propositions, most similar first.
+     */
+    public List<Long> findSimilar(Long id, String text) {
+        long start = System.nanoTime();
+        int[] signature = PropositionSimilarityIndex.signature(text);
+        long[] similar = read(similarityIndex ->
+            similarityIndex.findSimilar(signature, id, properties.getSimilarityThreshold(), properties.getMaxSuggestions()));
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Arrays.stream(similar).boxed().collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload the whole index from the database, unless near-duplicates are not checked.
+     */
+    public void rebuild() {
+        if (properties.getCheck() == ApplicationProperties.Search.Duplicates.DuplicateCheck.NONE) {
+            return;
+        }
+        long start = System.nanoTime();
+        PropositionSimilarityIndex loaded = index.rebuild(() -> transactionTemplate.execute(status -> {
+            PropositionSimilarityIndex loading = new PropositionSimilarityIndex();
+            List<PropositionDTO> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+            try (Stream<PropositionDTO> propositions = propositionRepository.streamAllAsDTO()) {
+                propositions.forEach(proposition -> {
+                    chunk.add(proposition);
+                    if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                        putAll(loading, chunk);
+                        chunk.clear();
+                    }
+                });
+            }
+            putAll(loading, chunk);
+            return loading;
+        }));
+        if (loaded == null) {
+            return;
+        }
+        log.info("Near-duplicate index loaded: {} propositions, in {} ms", loaded.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Index a chunk of propositions, computing their signatures in parallel.
+     */
+    private static void putAll(PropositionSimilarityIndex loading, List<PropositionDTO> chunk) {
+        int[][] signatures = chunk.parallelStream()
+            .map(proposition -> PropositionSimilarityIndex.signature(proposition.getText()))
+            .toArray(int[][]::new);
+        for (int i = 0; i < signatures.length; i++) {
+            loading.put(chunk.get(i).getId(), signatures[i]);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropositionChange(PropositionChangeEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            update(similarityIndex -> similarityIndex.remove(event.getId()));
+        } else {
+            int[] signature = PropositionSimilarityIndex.signature(event.getText());
+            update(similarityIndex -> similarityIndex.put(event.getId(), signature));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDebateImported(DebateImportedEvent event) {
+        List<int[]> signatures = event.getPropositions().parallelStream()
+            .map(proposition -> PropositionSimilarityIndex.signature(proposition.getText()))
+            .collect(Collectors.toList());
+        update(similarityIndex -> {
+            for (int i = 0; i < signatures.size(); i++) {
+                similarityIndex.put(event.getPropositions().get(i).getId(), signatures.get(i));
+            }
+        });
+    }
+
+    private void update(Consumer<PropositionSimilarityIndex> change) {
+        if (properties.getCheck() == ApplicationProperties.Search.Duplicates.DuplicateCheck.NONE) {
+            return;
+        }
+        index.update(change);
+    }
+
+    private <T> T read(Function<PropositionSimilarityIndex, T> reader) {
+        return index.read(reader);
+    }
+}
@@ -0,0 +1,191 @@
+package org.laybe.service.search;
+
+import java.util.*;
+
+/**
+ * In-memory inverted index of the texts of the propositions, for the databases without full-text search.
+ * <p>
+ * Texts are split into words, folded to lowercase without accents, and French stop words are dropped. The words
+ * are then reduced by a light French stemmer, which removes the plural and the feminine or verbal endings, so that
+ * "énergies" matches "énergie" as with the {@code french} configuration of PostgreSQL; unlike its Snowball stemmer,
+ * derivational suffixes are kept, so that "stockage" does not match "stocker". A query matches the propositions
+ * holding all its words, ranked by TF-IDF, normalized by the length of the text.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class PropositionTextIndex {
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "au", "aux", "avec", "ce", "ces", "dans", "de", "des", "du", "elle", "en", "est", "et", "il", "ils", "la", "le",
+        "les", "leur", "mais", "ne", "nous", "on", "ou", "par", "pas", "pour", "qu", "que", "qui", "sa", "se", "ses",
+        "son", "sur", "un", "une", "vous"));
+
+    /**
+     * The propositions holding each word, with the number of occurrences of the word.
+     */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    /**
+     * The words of each proposition.
+     */
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    /**
+     * Index the text of a proposition, replacing its previous text.
+     *
+     * @param id the id of the proposition.
+     * @param text the text, or {@code null}.
+     */
+    public void put(long id, String text) {
+        remove(id);
+        String[] words = words(text);
+        if (words.length == 0) {
+            return;
+        }
+        documents.put(id, words);
+        for (String word : words) {
+            postings.computeIfAbsent(word, key -> new HashMap<>()).merge(id, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Remove a proposition from the index.
+     *
+     * @param id the id of the proposition.
+     */
+    public void remove(long id) {
+        String[] words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Map<Long, Integer> posting = postings.get(word);
+            if (posting != null && posting.remove(id) != null && posting.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    /**
+     * @return the number of indexed propositions.
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Find the propositions holding all the words of a query.
+     *
+     * @param query the query.
+     * @param offset the number of best matches to skip.
+     * @param limit the maximum number of ids returned.
+     * @return the ids of the matches, best first, and their total number.
+     */
+    public Hits search(String query, long offset, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(Arrays.asList(words(query))));
+        if (words.isEmpty()) {
+            return new Hits(new long[0], 0);
+        }
+        List<Map<Long, Integer>> matches = new ArrayList<>(words.size());
+        for (String word : words) {
+            Map<Long, Integer> posting = postings.get(word);
+            if (posting == null) {
+                return new Hits(new long[0], 0);
+            }
+            matches.add(posting);
+        }
+        matches.sort(Comparator.comparingInt(Map::size));
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<Long, Integer> candidate : matches.get(0).entrySet()) {
+            double score = 0;
+            for (Map<Long, Integer> posting : matches) {
+                Integer occurrences = posting.get(candidate.getKey());
+                if (occurrences == null) {
+                    score = -1;
+                    break;
+                }
+                score += occurrences * Math.log(1.0 + (double) documents.size() / posting.size());
+            }
+            if (score >= 0) {
+                scores.put(candidate.getKey(), score / Math.sqrt(documents.get(candidate.getKey()).length));
+            }
+        }
+        long[] ids = scores.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .skip(offset)
+            .limit(limit)
+            .mapToLong(Map.Entry::getKey)
+            .toArray();
+        return new Hits(ids, scores.size());
+    }
+
+    /**
+     * Split a text into its indexed words.
+     *
+     * @param text the text, or {@code null}.
+     * @return the stemmed words, lowercase and without accents, in the order of the text.
+     */
+    static String[] words(String text) {
+        return TextFolding.words(text)
+            .filter(word -> word.length() > 1 && !STOP_WORDS.contains(word))
+            .map(PropositionTextIndex::stem)
+            .toArray(String[]::new);
+    }
+
+    /**
+     * Reduce a folded word to its stem, with the minimal French stemmer of J. Savoy: the plural and the final
+     * "r", "e" and doubled letter are removed from the words of at least 6 letters.
+     *
+     * @param word the word, lowercase and without accents.
+     * @return the stem.
+     */
+    static String stem(String word) {
+        int length = word.length();
+        if (length < 6 || !Character.isLetter(word.charAt(length - 1))) {
+            return word;
+        }
+        if (word.endsWith("x")) {
+            // "chevaux" becomes "cheval", but "reseaux" only loses its "x"
+            return word.endsWith("aux") && !word.endsWith("eaux")
+                ? word.substring(0, length - 2) + "l" : word.substring(0, length - 1);
+        }
+        if (word.endsWith("s")) {
+            length--;
+        }
+        if (word.charAt(length - 1) == 'r') {
+            length--;
+        }
+        // Twice, for the folded "ée" of the feminine past participles
+        for (int i = 0; i < 2 && word.charAt(length - 1) == 'e'; i++) {
+            length--;
+        }
+        if (word.charAt(length - 1) == word.charAt(length - 2)) {
+            length--;
+        }
+        return word.substring(0, length);
+    }
+
+    /**
+     * A page of matches.
+     */
+    public static final class Hits {
+
+        private final long[] ids;
+
+        private final long total;
+
+        Hits(long[] ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public long[] getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.laybe.service.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Splitting of the texts of the propositions into lowercase words without accents, shared by the in-memory
+ * indexes so that they see the same words.
+ */
+final class TextFolding {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextFolding() {
+    }
+
+    /**
+     * Split a text into folded words.
+     *
+     * @param text the text, or {@code null}.
+     * @return the words, lowercase and without accents, in the order of the text.
+     */
+    static Stream<String> words(String text) {
+        if (text == null) {
+            return Stream.empty();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(folded).filter(word -> !word.isEmpty());
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Full-text search over the texts of the propositions.
+ */
+package org.laybe.service.search;
@@ -1,26 +1,33 @@
 package org.laybe.web.rest;
 
-import org.laybe.domain.Argument;
 import org.laybe.service.ArgumentService;
+import org.laybe.service.dto.ArgumentDTO;
+import org.laybe.service.dto.ArgumentPatchDTO;
 import org.laybe.web.rest.errors.BadRequestAlertException;
+import org.laybe.web.rest.util.CursorPaginationUtil;
+import org.laybe.web.rest.util.ETagUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
-import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -46,17 +53,17 @@ public class ArgumentResource {
     /**
      * {@code POST  /arguments} : Create a new argument.
      *
-     * @param argument the argument to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new argument, or with status {@code 400 (Bad Request)} if the argument has already an ID.
+     * @param argumentDTO the argumentDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new argumentDTO, or with status {@code 400 (Bad Request)} if the argument has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/arguments")
-    public ResponseEntity<Argument> createArgument(@RequestBody Argument argument) throws URISyntaxException {
-        log.debug("REST request to save Argument : {}", argument);
-        if (argument.getId() != null) {
+    public ResponseEntity<ArgumentDTO> createArgument(@RequestBody ArgumentDTO argumentDTO) throws URISyntaxException {
+        log.debug("REST request to save Argument : {}", argumentDTO);
+        if (argumentDTO.getId() != null) {
             throw new BadRequestAlertException("A new argument cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Argument result = argumentService.save(argument);
+        ArgumentDTO result = argumentService.save(argumentDTO);
         return ResponseEntity.created(new URI("/api/arguments/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -64,25 +71,83 @@ public class ArgumentResource {
 
     /**
      * {@code PUT  /arguments} : Updates an existing argument.
+     * <p>
+     * With an {@code If-Match} header, the update is only applied to the version it designates.
      *
-     * @param argument the argument to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated argument,
-     * or with status {@code 400 (Bad Request)} if the argument is not valid,
-     * or with status {@code 500 (Internal Server Error)} if the argument couldn't be updated.
+     * @param argumentDTO the argumentDTO to update.
+     * @param ifMatch the tags of the versions the update applies to, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated argumentDTO,
+     * or with status {@code 400 (Bad Request)} if the argumentDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the argument is not at the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the argument has been updated concurrently,
+     * or with status {@code 500 (Internal Server Error)} if the argumentDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/arguments")
-    public ResponseEntity<Argument> updateArgument(@RequestBody Argument argument) throws URISyntaxException {
-        log.debug("REST request to update Argument : {}", argument);
-        if (argument.getId() == null) {
+    public ResponseEntity<ArgumentDTO> updateArgument(@RequestBody ArgumentDTO argumentDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+        throws URISyntaxException {
+        log.debug("REST request to update Argument : {}", argumentDTO);
+        if (argumentDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Argument result = argumentService.save(argument);
+        if (ifMatch != null) {
+            long version = argumentService.findVersion(argumentDTO.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            if (!ETagUtil.matchesIfMatch(ifMatch, version)) {
+                return versionMismatch(version);
+            }
+            // Checked again when the update is written, should another one have happened meanwhile.
+            argumentDTO.setVersion(version);
+        }
+        ArgumentDTO result = argumentService.save(argumentDTO);
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, argument.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, argumentDTO.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code PATCH  /arguments/:id} : Partially updates an existing argument, following JSON Merge Patch.
+     * <p>
+     * Only the fields present in the request are written, with a single statement, and the others are left unchanged.
+     * With an {@code If-Match} header, the update is only applied to the version it designates.
+     *
+     * @param id the id of the argument to update.
+     * @param patch the fields to update.
+     * @param ifMatch the tags of the versions the update applies to, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated argumentDTO,
+     * or with status {@code 404 (Not Found)},
+     * or with status {@code 412 (Precondition Failed)} if the argument is not at the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the argument has been updated concurrently.
+     */
+    @PatchMapping(value = "/arguments/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ArgumentDTO> partialUpdateArgument(@PathVariable Long id, @RequestBody ArgumentPatchDTO patch,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("REST request to partially update Argument : {}, {}", id, patch);
+        Long version = null;
+        if (ifMatch != null) {
+            version = argumentService.findVersion(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            if (!ETagUtil.matchesIfMatch(ifMatch, version)) {
+                return versionMismatch(version);
+            }
+        }
+        ArgumentDTO result = argumentService.partialUpdate(id, patch, version)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+            .body(result);
+    }
+
+    private ResponseEntity<ArgumentDTO> versionMismatch(long version) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+            .eTag(ETagUtil.toETag(version))
+            .headers(HeaderUtil.createFailureAlert(applicationName, false, ENTITY_NAME, "versionmismatch",
+                "The argument has been modified"))
+            .build();
+    }
+
     /**
      * {@code GET  /arguments} : get all the arguments.
      *
@@ -90,24 +155,79 @@ public class ArgumentResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of arguments in body.
      */
     @GetMapping("/arguments")
-    public ResponseEntity<List<Argument>> getAllArguments(Pageable pageable) {
+    public ResponseEntity<List<ArgumentDTO>> getAllArguments(Pageable pageable) {
         log.debug("REST request to get a page of Arguments");
-        Page<Argument> page = argumentService.findAll(pageable);
+        Page<ArgumentDTO> page = argumentService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /arguments?after=:cursor&size=:size} : get the arguments following a cursor, by increasing id.
+     * <p>
+     * No count query is issued, so every page costs the same. The cursor of the next page is returned in the
+     * {@code X-Next-Cursor} header, absent on the last page; an empty cursor designates the first page.
+     *
+     * @param after the cursor returned with the previous page.
+     * @param size the maximum number of arguments.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of arguments in body.
+     */
+    @GetMapping(value = "/arguments", params = CursorPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<ArgumentDTO>> getAllArgumentsAfter(@RequestParam(CursorPaginationUtil.AFTER_PARAMETER) String after,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        log.debug("REST request to get Arguments after : {}", after);
+        Long afterId = CursorPaginationUtil.decodeCursor(after)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+        if (size < 1 || size > CursorPaginationUtil.MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("Invalid page size", ENTITY_NAME, "sizeinvalid");
+        }
+        Slice<ArgumentDTO> slice = argumentService.findAllAfter(afterId, size);
+        List<ArgumentDTO> content = slice.getContent();
+        Long lastId = slice.hasNext() ? content.get(content.size() - 1).getId() : null;
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), lastId);
+        return ResponseEntity.ok().headers(headers).body(content);
+    }
+
     /**
      * {@code GET  /arguments/:id} : get the "id" argument.
+     * <p>
+     * The response is tagged with the version of the argument. With an {@code If-None-Match} header, only the version
+     * is looked up, and the argument is not sent again if the client already holds it.
      *
-     * @param id the id of the argument to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the argument, or with status {@code 404 (Not Found)}.
+     * @param id the id of the argumentDTO to retrieve.
+     * @param ifNoneMatch the tags of the versions held by the client, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the argumentDTO,
+     * or with status {@code 304 (Not Modified)} if the client holds the current version,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/arguments/{id}")
-    public ResponseEntity<Argument> getArgument(@PathVariable Long id) {
+    public ResponseEntity<ArgumentDTO> getArgument(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("REST request to get Argument : {}", id);
-        Optional<Argument> argument = argumentService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(argument);
+        if (ifNoneMatch != null) {
+            long version = argumentService.findVersion(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETagUtil.toETag(version)).build();
+            }
+        }
+        Optional<ArgumentDTO> argumentDTO = argumentService.findOne(id);
+        return argumentDTO.map(result -> ResponseEntity.ok().eTag(ETagUtil.toETag(result.getVersion())).body(result))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * {@code POST  /arguments/batch} : get the arguments of the given ids, with a single query.
+     *
+     * @param ids the ids of the arguments, at most {@link ArgumentService#MAX_BATCH_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the arguments found, by id, or with status {@code 400 (Bad Request)} if the ids are not valid.
+     */
+    @PostMapping("/arguments/batch")
+    public ResponseEntity<Map<Long, ArgumentDTO>> getArgumentsById(@RequestBody List<Long> ids) {
+        log.debug("REST request to get Arguments : {}", ids);
+        if (ids.size() > ArgumentService.MAX_BATCH_SIZE || ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestAlertException("Invalid ids", ENTITY_NAME, "idsinvalid");
+        }
+        return ResponseEntity.ok(argumentService.findAllById(ids));
     }
 
     /**
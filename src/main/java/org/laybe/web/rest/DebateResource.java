@@ -0,0 +1,138 @@
+package org.laybe.web.rest;
+
+import org.laybe.config.ApplicationProperties;
+import org.laybe.service.PropositionService;
+import org.laybe.service.debate.DebateEventService;
+import org.laybe.service.debate.DebateEventSink;
+import org.laybe.service.debate.DebateExportService;
+import org.laybe.service.debate.DebateImportService;
+import org.laybe.service.dto.DebateChangeDTO;
+import org.laybe.service.dto.DebateImportResultDTO;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * REST controller for importing and exporting whole debates.
+ */
+@RestController
+@RequestMapping("/api")
+public class DebateResource {
+
+    /**
+     * Media type of newline delimited JSON documents.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final Logger log = LoggerFactory.getLogger(DebateResource.class);
+
+    private final DebateImportService debateImportService;
+
+    private final DebateExportService debateExportService;
+
+    private final DebateEventService debateEventService;
+
+    private final PropositionService propositionService;
+
+    private final ApplicationProperties.DebateEvents debateEventsProperties;
+
+    public DebateResource(DebateImportService debateImportService, DebateExportService debateExportService,
+                          DebateEventService debateEventService, PropositionService propositionService,
+                          ApplicationProperties applicationProperties) {
+        this.debateImportService = debateImportService;
+        this.debateExportService = debateExportService;
+        this.debateEventService = debateEventService;
+        this.propositionService = propositionService;
+        this.debateEventsProperties = applicationProperties.getDebateEvents();
+    }
+
+    /**
+     * {@code POST  /debates/import} : Import a debate, given as a JSON document or as NDJSON records.
+     * <p>
+     * The propositions and arguments of the debate refer to each other with references local to the document;
+     * the ids they are given are returned for each reference.
+     *
+     * @param request the request, whose body is read as a stream.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ids of the created propositions and arguments,
+     * or with status {@code 400 (Bad Request)} if the debate is invalid.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/debates/import", consumes = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<DebateImportResultDTO> importDebate(HttpServletRequest request) throws IOException {
+        log.debug("REST request to import a Debate");
+        boolean lines = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE));
+        DebateImportResultDTO result = debateImportService.importDebate(request.getInputStream(), lines);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * {@code GET  /debates/export} : Export all the propositions and arguments as NDJSON records, which can be imported back.
+     * <p>
+     * The records are streamed while they are read from the database.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the records in body.
+     */
+    @GetMapping(value = "/debates/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDebate() {
+        log.debug("REST request to export all Debates");
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"debates.ndjson\"")
+            .body(debateExportService::exportDebate);
+    }
+
+    /**
+     * {@code GET  /debates/:rootId/events} : subscribe to the changes to the debate of the "rootId" proposition,
+     * that is to the proposition and everything supporting it, as server-sent events.
+     * <p>
+     * Each event is named after the changed entity, {@code proposition} or {@code argument}, and holds its new state.
+     * Successive changes to an entity may be merged into one. Changes are not replayed: clients subscribing again,
+     * after the subscription has timed out or after they have been evicted for not keeping up, must reload the debate.
+     *
+     * @param rootId the id of the root proposition of the debate.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the stream of events in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/debates/{rootId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getDebateEvents(@PathVariable Long rootId) {
+        log.debug("REST request to subscribe to the changes of Debate : {}", rootId);
+        return ResponseUtil.wrapOrNotFound(propositionService.findOne(rootId).map(root -> subscribe(rootId)));
+    }
+
+    private SseEmitter subscribe(long rootId) {
+        SseEmitter emitter = new SseEmitter(debateEventsProperties.getTimeout().toMillis());
+        Runnable unsubscribe = debateEventService.subscribe(rootId, new DebateEventSink() {
+            @Override
+            public void send(DebateChangeDTO change) throws IOException {
+                emitter.send(SseEmitter.event().name(change.getEntity()).data(change, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+}
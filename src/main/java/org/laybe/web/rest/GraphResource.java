@@ -0,0 +1,40 @@
+package org.laybe.web.rest;
+
+import org.laybe.service.dto.CycleReportDTO;
+import org.laybe.service.graph.GraphCycleService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller for analysing the argument graph as a whole.
+ */
+@RestController
+@RequestMapping("/api")
+public class GraphResource {
+
+    private final Logger log = LoggerFactory.getLogger(GraphResource.class);
+
+    private final GraphCycleService graphCycleService;
+
+    public GraphResource(GraphCycleService graphCycleService) {
+        this.graphCycleService = graphCycleService;
+    }
+
+    /**
+     * {@code GET  /graph/cycles} : get the support cycles of the argument graph.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the report of the cycles in body.
+     */
+    @GetMapping("/graph/cycles")
+    public CompletableFuture<ResponseEntity<CycleReportDTO>> getCycles() {
+        log.debug("REST request to get the cycles of the argument graph");
+        return graphCycleService.findCycles().thenApply(ResponseEntity::ok);
+    }
+}
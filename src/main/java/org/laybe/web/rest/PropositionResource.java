@@ -1,8 +1,17 @@
 package org.laybe.web.rest;
 
-import org.laybe.domain.Proposition;
 import org.laybe.service.PropositionService;
+import org.laybe.service.dto.EvaluationRequestDTO;
+import org.laybe.service.dto.EvaluationResultDTO;
+import org.laybe.service.dto.GraphDirection;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.dto.PropositionPatchDTO;
+import org.laybe.service.dto.PropositionGraphDTO;
+import org.laybe.service.graph.TruthPropagationEngine;
+import org.laybe.service.search.PropositionSearchService;
 import org.laybe.web.rest.errors.BadRequestAlertException;
+import org.laybe.web.rest.util.CursorPaginationUtil;
+import org.laybe.web.rest.util.ETagUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -12,15 +21,21 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -39,24 +54,31 @@ public class PropositionResource {
 
     private final PropositionService propositionService;
 
-    public PropositionResource(PropositionService propositionService) {
+    private final TruthPropagationEngine truthPropagationEngine;
+
+    private final PropositionSearchService propositionSearchService;
+
+    public PropositionResource(PropositionService propositionService, TruthPropagationEngine truthPropagationEngine,
+                               PropositionSearchService propositionSearchService) {
         this.propositionService = propositionService;
+        this.truthPropagationEngine = truthPropagationEngine;
+        this.propositionSearchService = propositionSearchService;
     }
 
     /**
      * {@code POST  /propositions} : Create a new proposition.
      *
-     * @param proposition the proposition to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new proposition, or with status {@code 400 (Bad Request)} if the proposition has already an ID.
+     * @param propositionDTO the propositionDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new propositionDTO, or with status {@code 400 (Bad Request)} if the proposition has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/propositions")
-    public ResponseEntity<Proposition> createProposition(@RequestBody Proposition proposition) throws URISyntaxException {
-        log.debug("REST request to save Proposition : {}", proposition);
-        if (proposition.getId() != null) {
+    public ResponseEntity<PropositionDTO> createProposition(@RequestBody PropositionDTO propositionDTO) throws URISyntaxException {
+        log.debug("REST request to save Proposition : {}", propositionDTO);
+        if (propositionDTO.getId() != null) {
             throw new BadRequestAlertException("A new proposition cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Proposition result = propositionService.save(proposition);
+        PropositionDTO result = propositionService.save(propositionDTO);
         return ResponseEntity.created(new URI("/api/propositions/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -64,25 +86,83 @@ public class PropositionResource {
 
     /**
      * {@code PUT  /propositions} : Updates an existing proposition.
+     * <p>
+     * With an {@code If-Match} header, the update is only applied to the version it designates.
      *
-     * @param proposition the proposition to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated proposition,
-     * or with status {@code 400 (Bad Request)} if the proposition is not valid,
-     * or with status {@code 500 (Internal Server Error)} if the proposition couldn't be updated.
+     * @param propositionDTO the propositionDTO to update.
+     * @param ifMatch the tags of the versions the update applies to, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated propositionDTO,
+     * or with status {@code 400 (Bad Request)} if the propositionDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the proposition is not at the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the proposition has been updated concurrently,
+     * or with status {@code 500 (Internal Server Error)} if the propositionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/propositions")
-    public ResponseEntity<Proposition> updateProposition(@RequestBody Proposition proposition) throws URISyntaxException {
-        log.debug("REST request to update Proposition : {}", proposition);
-        if (proposition.getId() == null) {
+    public ResponseEntity<PropositionDTO> updateProposition(@RequestBody PropositionDTO propositionDTO,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+        throws URISyntaxException {
+        log.debug("REST request to update Proposition : {}", propositionDTO);
+        if (propositionDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Proposition result = propositionService.save(proposition);
+        if (ifMatch != null) {
+            long version = propositionService.findVersion(propositionDTO.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            if (!ETagUtil.matchesIfMatch(ifMatch, version)) {
+                return versionMismatch(version);
+            }
+            // Checked again when the update is written, should another one have happened meanwhile.
+            propositionDTO.setVersion(version);
+        }
+        PropositionDTO result = propositionService.save(propositionDTO);
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, proposition.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, propositionDTO.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code PATCH  /propositions/:id} : Partially updates an existing proposition, following JSON Merge Patch.
+     * <p>
+     * Only the fields present in the request are written, with a single statement, and the others are left unchanged.
+     * With an {@code If-Match} header, the update is only applied to the version it designates.
+     *
+     * @param id the id of the proposition to update.
+     * @param patch the fields to update.
+     * @param ifMatch the tags of the versions the update applies to, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated propositionDTO,
+     * or with status {@code 404 (Not Found)},
+     * or with status {@code 412 (Precondition Failed)} if the proposition is not at the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the proposition has been updated concurrently.
+     */
+    @PatchMapping(value = "/propositions/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PropositionDTO> partialUpdateProposition(@PathVariable Long id, @RequestBody PropositionPatchDTO patch,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("REST request to partially update Proposition : {}, {}", id, patch);
+        Long version = null;
+        if (ifMatch != null) {
+            version = propositionService.findVersion(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            if (!ETagUtil.matchesIfMatch(ifMatch, version)) {
+                return versionMismatch(version);
+            }
+        }
+        PropositionDTO result = propositionService.partialUpdate(id, patch, version)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+            .body(result);
+    }
+
+    private ResponseEntity<PropositionDTO> versionMismatch(long version) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+            .eTag(ETagUtil.toETag(version))
+            .headers(HeaderUtil.createFailureAlert(applicationName, false, ENTITY_NAME, "versionmismatch",
+                "The proposition has been modified"))
+            .build();
+    }
+
     /**
      * {@code GET  /propositions} : get all the propositions.
      *
@@ -90,24 +170,132 @@ public class PropositionResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of propositions in body.
      */
     @GetMapping("/propositions")
-    public ResponseEntity<List<Proposition>> getAllPropositions(Pageable pageable) {
+    public ResponseEntity<List<PropositionDTO>> getAllPropositions(Pageable pageable) {
         log.debug("REST request to get a page of Propositions");
-        Page<Proposition> page = propositionService.findAll(pageable);
+        Page<PropositionDTO> page = propositionService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /propositions?after=:cursor&size=:size} : get the propositions following a cursor, by increasing id.
+     * <p>
+     * No count query is issued, so every page costs the same. The cursor of the next page is returned in the
+     * {@code X-Next-Cursor} header, absent on the last page; an empty cursor designates the first page.
+     *
+     * @param after the cursor returned with the previous page.
+     * @param size the maximum number of propositions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of propositions in body.
+     */
+    @GetMapping(value = "/propositions", params = CursorPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<PropositionDTO>> getAllPropositionsAfter(@RequestParam(CursorPaginationUtil.AFTER_PARAMETER) String after,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        log.debug("REST request to get Propositions after : {}", after);
+        Long afterId = CursorPaginationUtil.decodeCursor(after)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+        if (size < 1 || size > CursorPaginationUtil.MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("Invalid page size", ENTITY_NAME, "sizeinvalid");
+        }
+        Slice<PropositionDTO> slice = propositionService.findAllAfter(afterId, size);
+        List<PropositionDTO> content = slice.getContent();
+        Long lastId = slice.hasNext() ? content.get(content.size() - 1).getId() : null;
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), lastId);
+        return ResponseEntity.ok().headers(headers).body(content);
+    }
+
+    /**
+     * {@code GET  /propositions/_search?q=:query} : search the propositions by the words of their text.
+     *
+     * @param query the words to look for.
+     * @param pageable the pagination information; matches are sorted by relevance.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of matching propositions in body, best first, or with status {@code 400 (Bad Request)} if the query is blank.
+     */
+    @GetMapping("/propositions/_search")
+    public ResponseEntity<List<PropositionDTO>> searchPropositions(@RequestParam("q") String query, Pageable pageable) {
+        log.debug("REST request to search a page of Propositions for : {}", query);
+        if (query.trim().isEmpty()) {
+            throw new BadRequestAlertException("Invalid query", ENTITY_NAME, "queryinvalid");
+        }
+        Page<PropositionDTO> page = propositionSearchService.search(query, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
      * {@code GET  /propositions/:id} : get the "id" proposition.
+     * <p>
+     * The response is tagged with the version of the proposition. With an {@code If-None-Match} header, only the version
+     * is looked up, and the proposition is not sent again if the client already holds it.
      *
-     * @param id the id of the proposition to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the proposition, or with status {@code 404 (Not Found)}.
+     * @param id the id of the propositionDTO to retrieve.
+     * @param ifNoneMatch the tags of the versions held by the client, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the propositionDTO,
+     * or with status {@code 304 (Not Modified)} if the client holds the current version,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/propositions/{id}")
-    public ResponseEntity<Proposition> getProposition(@PathVariable Long id) {
+    public ResponseEntity<PropositionDTO> getProposition(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("REST request to get Proposition : {}", id);
-        Optional<Proposition> proposition = propositionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(proposition);
+        if (ifNoneMatch != null) {
+            long version = propositionService.findVersion(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETagUtil.toETag(version)).build();
+            }
+        }
+        Optional<PropositionDTO> propositionDTO = propositionService.findOne(id);
+        return propositionDTO.map(result -> ResponseEntity.ok().eTag(ETagUtil.toETag(result.getVersion())).body(result))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * {@code POST  /propositions/batch} : get the propositions of the given ids, with a single query.
+     *
+     * @param ids the ids of the propositions, at most {@link PropositionService#MAX_BATCH_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the propositions found, by id, or with status {@code 400 (Bad Request)} if the ids are not valid.
+     */
+    @PostMapping("/propositions/batch")
+    public ResponseEntity<Map<Long, PropositionDTO>> getPropositionsById(@RequestBody List<Long> ids) {
+        log.debug("REST request to get Propositions : {}", ids);
+        if (ids.size() > PropositionService.MAX_BATCH_SIZE || ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestAlertException("Invalid ids", ENTITY_NAME, "idsinvalid");
+        }
+        return ResponseEntity.ok(propositionService.findAllById(ids));
+    }
+
+    /**
+     * {@code GET  /propositions/:id/graph} : get the neighbourhood of the "id" proposition as flat nodes and edges.
+     *
+     * @param id the id of the root proposition.
+     * @param depth the maximum number of hops from the root.
+     * @param direction the traversal direction: {@code up} (towards conclusions), {@code down} (towards premises) or {@code both}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the graph, or with status {@code 400 (Bad Request)} if the parameters are not valid,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/propositions/{id}/graph")
+    public ResponseEntity<PropositionGraphDTO> getPropositionGraph(@PathVariable Long id,
+                                                                   @RequestParam(defaultValue = "1") int depth,
+                                                                   @RequestParam(defaultValue = "both") String direction) {
+        log.debug("REST request to get the graph of Proposition : {}", id);
+        if (depth < 0 || depth > PropositionService.MAX_GRAPH_DEPTH) {
+            throw new BadRequestAlertException("Invalid depth", ENTITY_NAME, "depthinvalid");
+        }
+        GraphDirection graphDirection = GraphDirection.fromValue(direction)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid direction", ENTITY_NAME, "directioninvalid"));
+        Optional<PropositionGraphDTO> graph = propositionService.findGraph(id, depth, graphDirection);
+        return ResponseUtil.wrapOrNotFound(graph);
+    }
+
+    /**
+     * {@code POST  /propositions/evaluate} : evaluate the argument graph from asserted propositions.
+     *
+     * @param evaluationRequest the ids of the propositions asserted as true and false.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the derived status of every reached proposition in body.
+     */
+    @PostMapping("/propositions/evaluate")
+    public ResponseEntity<EvaluationResultDTO> evaluatePropositions(@Valid @RequestBody EvaluationRequestDTO evaluationRequest) {
+        log.debug("REST request to evaluate Propositions : {}", evaluationRequest);
+        return ResponseEntity.ok(truthPropagationEngine.evaluate(evaluationRequest.getAccepted(), evaluationRequest.getRejected()));
     }
 
     /**
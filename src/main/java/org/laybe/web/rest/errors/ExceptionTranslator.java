@@ -4,6 +4,7 @@ import io.github.jhipster.web.util.HeaderUtil;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -108,6 +109,31 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleCircularReasoningException(org.laybe.service.CircularReasoningException ex, NativeWebRequest request) {
+        BadRequestAlertException problem = new BadRequestAlertException(ErrorConstants.CIRCULAR_REASONING_TYPE, ex.getMessage(), ex.getEntityName(), "circularreasoning");
+        return create(problem, request, HeaderUtil.createFailureAlert(applicationName, false, problem.getEntityName(), problem.getErrorKey(), problem.getMessage()));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleNearDuplicatePropositionException(org.laybe.service.NearDuplicatePropositionException ex, NativeWebRequest request) {
+        Problem problem = Problem.builder()
+            .withType(ErrorConstants.NEAR_DUPLICATE_TYPE)
+            .withTitle(ex.getMessage())
+            .withStatus(Status.CONFLICT)
+            .with(MESSAGE_KEY, "error.nearduplicate")
+            .with("params", "proposition")
+            .with("similarPropositionIds", ex.getSimilarPropositionIds())
+            .build();
+        return create(ex, problem, request, HeaderUtil.createFailureAlert(applicationName, false, "proposition", "nearduplicate", ex.getMessage()));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleInvalidDebateException(org.laybe.service.InvalidDebateException ex, NativeWebRequest request) {
+        BadRequestAlertException problem = new BadRequestAlertException(ex.getMessage(), "debate", "debateinvalid");
+        return create(problem, request, HeaderUtil.createFailureAlert(applicationName, false, problem.getEntityName(), problem.getErrorKey(), problem.getMessage()));
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(ex, request, HeaderUtil.createFailureAlert(applicationName, false, ex.getEntityName(), ex.getErrorKey(), ex.getMessage()));
@@ -121,4 +147,15 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
             .build();
         return create(ex, problem, request);
     }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handlePasswordHashingRejected(org.laybe.security.PasswordHashingRejectedException ex, NativeWebRequest request) {
+        Problem problem = Problem.builder()
+            .withStatus(Status.SERVICE_UNAVAILABLE)
+            .withDetail(ex.getMessage())
+            .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return create(ex, problem, request, headers);
+    }
 }
@@ -0,0 +1,75 @@
+package org.laybe.web.rest.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Utility class for handling keyset pagination, where a page starts after the last id of the previous one.
+ * <p>
+ * Unlike offset pagination, no count query is needed and every page costs the same, however deep.
+ * The position is exchanged with clients as an opaque cursor.
+ */
+public final class CursorPaginationUtil {
+
+    /**
+     * Header holding the cursor of the next page, absent on the last page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String AFTER_PARAMETER = "after";
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private CursorPaginationUtil() {
+    }
+
+    /**
+     * Encode the last id of a page as a cursor.
+     *
+     * @param id the id.
+     * @return the cursor.
+     */
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    /**
+     * Decode a cursor.
+     *
+     * @param cursor the cursor; an empty cursor designates the first page.
+     * @return the id the page starts after, {@link Long#MIN_VALUE} for the first page, or an empty optional if the cursor is invalid.
+     */
+    public static Optional<Long> decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Optional.of(Long.MIN_VALUE);
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            return bytes.length == Long.BYTES ? Optional.of(ByteBuffer.wrap(bytes).getLong()) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Generate the headers of a keyset page: the cursor of the next page and its {@code Link} header.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param lastId the last id of the page, {@code null} if there is no next page.
+     * @return the headers.
+     */
+    public static HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, Long lastId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (lastId != null) {
+            String cursor = encodeCursor(lastId);
+            headers.add(NEXT_CURSOR_HEADER, cursor);
+            String next = uriBuilder.replaceQueryParam(AFTER_PARAMETER, cursor).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,69 @@
+package org.laybe.web.rest.util;
+
+/**
+ * Utility class for handling the entity tags of versioned entities.
+ * <p>
+ * The tag of an entity is its version, which the persistence layer increments with each update: it is a strong
+ * tag, and can be checked with a lookup of the version alone, without loading the entity.
+ */
+public final class ETagUtil {
+
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtil() {
+    }
+
+    /**
+     * Build the tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the quoted tag.
+     */
+    public static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Check an {@code If-None-Match} header, with the weak comparison.
+     *
+     * @param ifNoneMatch the header value.
+     * @param version the current version of the entity.
+     * @return whether the client already holds the current version.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, long version) {
+        return matches(ifNoneMatch, version, true);
+    }
+
+    /**
+     * Check an {@code If-Match} header, with the strong comparison.
+     *
+     * @param ifMatch the header value.
+     * @param version the current version of the entity.
+     * @return whether the client expects the current version.
+     */
+    public static boolean matchesIfMatch(String ifMatch, long version) {
+        return matches(ifMatch, version, false);
+    }
+
+    private static boolean matches(String header, long version, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+        String eTag = toETag(version);
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (ANY.equals(tag)) {
+                return true;
+            }
+            if (weak && tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
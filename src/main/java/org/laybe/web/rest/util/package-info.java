@@ -0,0 +1,4 @@
+/**
+ * Utility classes shared by the REST controllers.
+ */
+package org.laybe.web.rest.util;
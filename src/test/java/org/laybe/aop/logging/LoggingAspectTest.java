@@ -0,0 +1,118 @@
+package org.laybe.aop.logging;
+
+import org.laybe.config.ApplicationProperties;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link LoggingAspect}.
+ */
+public class LoggingAspectTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testPointcutExpression() {
+        assertThat(LoggingAspect.pointcutExpression(Arrays.asList("org.laybe.service", "org.laybe.web.rest")))
+            .startsWith("(within(org.laybe.service..*) || within(org.laybe.web.rest..*)) && (");
+    }
+
+    @Test
+    public void testTimesSampledCalls() {
+        Function<String, String> traced = proxy(String::toUpperCase);
+
+        assertThat(traced.apply("a")).isEqualTo("A");
+        assertThat(traced.apply("b")).isEqualTo("B");
+
+        assertThat(meterRegistry.get("method.calls").tag("method", "apply").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSkipsCallsOutOfSample() {
+        applicationProperties.getTracing().setSampleRate(0.0);
+        Function<String, String> traced = proxy(String::toUpperCase);
+
+        assertThat(traced.apply("a")).isEqualTo("A");
+
+        assertThat(meterRegistry.find("method.calls").timer()).isNull();
+    }
+
+    @Test
+    public void testRejectsEmptyPackages() {
+        assertThatIllegalArgumentException().isThrownBy(() -> LoggingAspect.pointcutExpression(Collections.emptyList()));
+        assertThatIllegalArgumentException().isThrownBy(() -> LoggingAspect.pointcutExpression(Collections.singletonList(" ")));
+    }
+
+    @Test
+    public void testLogsSlowCallsOutOfSample() {
+        applicationProperties.getTracing().setSampleRate(0.0);
+        applicationProperties.getTracing().setSlowCallThreshold(Duration.ofMillis(1));
+        Function<String, String> traced = proxy(value -> {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        });
+        Logger logger = (Logger) LoggerFactory.getLogger(Function.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            assertThat(traced.apply("a")).isEqualTo("a");
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        assertThat(appender.list.stream().map(ILoggingEvent::getLevel)).containsExactly(Level.WARN);
+        assertThat(meterRegistry.find("method.calls").timer()).isNull();
+    }
+
+    @Test
+    public void testRethrowsExceptions() {
+        Function<String, String> traced = proxy(value -> {
+            throw new IllegalArgumentException(value);
+        });
+
+        assertThatIllegalArgumentException().isThrownBy(() -> traced.apply("a"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<String, String> proxy(Function<String, String> target) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(Function.class);
+        proxyFactory.addAdvice(new LoggingAspect(new MockEnvironment(), applicationProperties,
+            beanFactory.getBeanProvider(MeterRegistry.class)));
+        return (Function<String, String>) proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,76 @@
+package org.laybe.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link BoundedDataSource}.
+ */
+public class BoundedDataSourceTest {
+
+    private DataSource target;
+
+    private BoundedDataSource dataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new BoundedDataSource(target, 1, Duration.ofMillis(10));
+    }
+
+    @Test
+    public void testTimeOutWhenAllConnectionsAreBorrowed() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        assertThatExceptionOfType(SQLTransientConnectionException.class).isThrownBy(dataSource::getConnection);
+        verify(target, times(1)).getConnection();
+
+        connection.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    public void testReleaseOncePerConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        dataSource.getConnection();
+        assertThatExceptionOfType(SQLTransientConnectionException.class).isThrownBy(dataSource::getConnection);
+    }
+
+    @Test
+    public void testReleaseWhenThePoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool failure"));
+
+        assertThatExceptionOfType(SQLException.class).isThrownBy(dataSource::getConnection).withMessage("pool failure");
+        reset(target);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    public void testDelegateToTheConnection() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        verify(pooled).setAutoCommit(false);
+        verify(pooled).close();
+    }
+}
@@ -0,0 +1,52 @@
+package org.laybe.config;
+
+import org.laybe.FaxiomApp;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.User;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link CacheConfiguration}.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+public class CacheConfigurationIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void regionsAreConfiguredPerName() {
+        CaffeineConfiguration<?, ?> proposition = configuration(Proposition.class.getName());
+        assertThat(proposition.getMaximumSize()).isEqualTo(OptionalLong.of(1000));
+        assertThat(proposition.getExpireAfterWrite()).isEqualTo(OptionalLong.of(TimeUnit.MINUTES.toNanos(10)));
+        assertThat(proposition.isStatisticsEnabled()).isTrue();
+
+        CaffeineConfiguration<?, ?> user = configuration(User.class.getName());
+        assertThat(user.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+        assertThat(user.getExpireAfterWrite()).isEqualTo(OptionalLong.of(TimeUnit.HOURS.toNanos(1)));
+    }
+
+    @Test
+    public void regionsExportMetrics() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", Proposition.class.getName()).meters()).isNotEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuration(String cacheName) {
+        return cacheManager.getCache(cacheName).getConfiguration(CaffeineConfiguration.class);
+    }
+}
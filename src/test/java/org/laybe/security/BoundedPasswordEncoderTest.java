@@ -0,0 +1,97 @@
+package org.laybe.security;
+
+import org.laybe.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link BoundedPasswordEncoder}.
+ */
+public class BoundedPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void close() {
+        passwordEncoder.close();
+    }
+
+    @Test
+    public void testEncodeAndMatch() {
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), properties(2, 10), meterRegistry);
+
+        String encoded = passwordEncoder.encode("password");
+
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("other", encoded)).isFalse();
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRejectWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(started, release), properties(1, 0), meterRegistry);
+
+        CompletableFuture<String> blocked = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        started.await();
+
+        assertThatExceptionOfType(PasswordHashingRejectedException.class)
+            .isThrownBy(() -> passwordEncoder.encode("second"));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(blocked.get()).isEqualTo("first");
+    }
+
+    private static ApplicationProperties.PasswordHashing properties(int poolSize, int queueCapacity) {
+        ApplicationProperties.PasswordHashing properties = new ApplicationProperties.PasswordHashing();
+        properties.setPoolSize(poolSize);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    /**
+     * Holds the hashing thread until released.
+     */
+    private static class BlockingPasswordEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+
+        private final CountDownLatch release;
+
+        BlockingPasswordEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.laybe.security;
+
+import org.laybe.config.ApplicationProperties;
+import org.laybe.domain.Authority;
+import org.laybe.domain.User;
+import org.laybe.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the user cache of {@link DomainUserDetailsService}, outside of any transaction.
+ */
+public class DomainUserDetailsServiceTest {
+
+    private static final String LOGIN = "test-user";
+    private static final String EMAIL = "test-user@localhost";
+
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        domainUserDetailsService = new DomainUserDetailsService(userRepository, new ApplicationProperties(), meterRegistry);
+
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        User user = new User();
+        user.setLogin(LOGIN);
+        user.setEmail(EMAIL);
+        user.setPassword("password-hash");
+        user.setActivated(true);
+        user.setAuthorities(Collections.singleton(authority));
+        when(userRepository.findOneWithAuthoritiesByLogin(LOGIN)).thenReturn(Optional.of(user));
+        when(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    public void assertThatUserIsLoadedOnce() {
+        UserDetails first = domainUserDetailsService.loadUserByUsername(LOGIN);
+        UserDetails second = domainUserDetailsService.loadUserByUsername("Test-User");
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin(LOGIN);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getUsername()).isEqualTo(LOGIN);
+        assertThat(second.getPassword()).isEqualTo("password-hash");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly(AuthoritiesConstants.USER);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "user.details").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void assertThatUserIsReloadedOnceEvicted() {
+        domainUserDetailsService.loadUserByUsername(LOGIN);
+        domainUserDetailsService.loadUserByUsername(EMAIL);
+
+        domainUserDetailsService.evict(LOGIN, EMAIL);
+        domainUserDetailsService.loadUserByUsername(LOGIN);
+        domainUserDetailsService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin(LOGIN);
+        verify(userRepository, times(2)).findOneWithAuthoritiesByEmailIgnoreCase(EMAIL);
+    }
+
+    @Test
+    public void assertThatUnknownUserIsNotCached() {
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+            .isThrownBy(() -> domainUserDetailsService.loadUserByUsername("unknown"));
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+            .isThrownBy(() -> domainUserDetailsService.loadUserByUsername("unknown"));
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("unknown");
+    }
+}
@@ -0,0 +1,93 @@
+package org.laybe.service;
+
+import org.laybe.FaxiomApp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link AuditPartitionService}.
+ * <p>
+ * Partitions only exist on PostgreSQL: run with {@code -Dspring.profiles.active=testcontainers}. The audit events
+ * are partitioned in a database of their own, so that the other tests keep the regular table.
+ */
+@SpringBootTest(classes = FaxiomApp.class, properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///faxiom_audit?TC_TMPFS=/testtmpfs:rw",
+    "spring.liquibase.contexts=test,audit-partitioning",
+    "application.audit.partitioning.enabled=true",
+    "application.audit.partitioning.precreated-months=2"})
+@EnabledIfSystemProperty(named = "spring.profiles.active", matches = ".*testcontainers.*")
+public class AuditPartitionServiceIT {
+
+    private static final YearMonth EXPIRED_MONTH = YearMonth.of(2000, 1);
+
+    private static final String FIND_PARTITIONS = "select c.relname from pg_inherits i "
+        + "join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent where p.relname = ?";
+
+    @Autowired
+    private AuditPartitionService auditPartitionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanUp() {
+        execute("drop table if exists " + AuditPartitionService.partitionName(EXPIRED_MONTH));
+    }
+
+    @Test
+    public void createsTheMissingPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        String latest = AuditPartitionService.partitionName(current.plusMonths(2));
+        execute("drop table " + latest);
+        assertThat(partitions()).doesNotContain(latest);
+
+        auditPartitionService.maintainPartitions();
+
+        assertThat(partitions()).contains(AuditPartitionService.partitionName(current),
+            AuditPartitionService.partitionName(current.plusMonths(1)), latest);
+    }
+
+    @Test
+    public void dropsTheExpiredPartitionsWithTheirData() {
+        String expired = AuditPartitionService.partitionName(EXPIRED_MONTH);
+        execute("create table " + expired + " partition of " + AuditPartitionService.TABLE
+            + " for values from ('" + EXPIRED_MONTH.atDay(1) + "') to ('" + EXPIRED_MONTH.plusMonths(1).atDay(1) + "')");
+        execute("insert into " + AuditPartitionService.TABLE + " (event_id, principal, event_date, event_type) "
+            + "values (-1, 'test', '" + EXPIRED_MONTH.atDay(15) + "', 'TEST')");
+        execute("insert into jhi_persistent_audit_evt_data (event_id, name, value) values (-1, 'key', 'value')");
+        assertThat(partitions()).contains(expired);
+
+        auditPartitionService.maintainPartitions();
+
+        assertThat(partitions()).doesNotContain(expired);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_evt_data where event_id = -1",
+            Integer.class)).isZero();
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS, String.class, AuditPartitionService.TABLE);
+    }
+
+    private void execute(String sql) {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute(sql);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package org.laybe.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link AuditPartitionService}.
+ */
+public class AuditPartitionServiceTest {
+
+    @Test
+    public void partitionNameRoundTrip() {
+        YearMonth month = YearMonth.of(2020, 9);
+
+        String partition = AuditPartitionService.partitionName(month);
+
+        assertThat(partition).isEqualTo("jhi_persistent_audit_event_202009");
+        assertThat(AuditPartitionService.partitionMonth(partition)).contains(month);
+    }
+
+    @Test
+    public void defaultPartitionHasNoMonth() {
+        assertThat(AuditPartitionService.partitionMonth("jhi_persistent_audit_event_default")).isEmpty();
+    }
+}
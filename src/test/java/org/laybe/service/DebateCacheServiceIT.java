@@ -0,0 +1,101 @@
+package org.laybe.service;
+
+import org.hibernate.Cache;
+import org.laybe.FaxiomApp;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.PropositionType;
+import org.laybe.repository.PropositionRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link DebateCacheService}.
+ * <p>
+ * Not transactional, as the second-level cache is only filled and evicted around committed transactions.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+public class DebateCacheServiceIT {
+
+    private static final String PREMISES = Proposition.class.getName() + ".premises";
+
+    @Autowired
+    private DebateCacheService debateCacheService;
+
+    @Autowired
+    private PropositionRepository propositionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long id;
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        id = transactionTemplate.execute(status ->
+            propositionRepository.saveAndFlush(new Proposition().type(PropositionType.SINGLE).text("cached")).getId());
+        loadPremises();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionTemplate.execute(status -> {
+            propositionRepository.deleteById(id);
+            return null;
+        });
+    }
+
+    @Test
+    public void evictsRightAway() {
+        assertThat(cache().containsEntity(Proposition.class, id)).isTrue();
+        assertThat(cache().containsCollection(PREMISES, id)).isTrue();
+
+        debateCacheService.evictProposition(id);
+        debateCacheService.evictArgumentsOf(Collections.singleton(id));
+
+        assertThat(cache().containsEntity(Proposition.class, id)).isFalse();
+        assertThat(cache().containsCollection(PREMISES, id)).isFalse();
+    }
+
+    @Test
+    public void evictsAgainAfterCommit() {
+        transactionTemplate.execute(status -> {
+            debateCacheService.evictArgumentsOf(Collections.singleton(id));
+            // A read within the transaction puts the collection back in the cache
+            entityManager.clear();
+            propositionRepository.findById(id).get().getPremises().size();
+            assertThat(cache().containsCollection(PREMISES, id)).isTrue();
+            return null;
+        });
+
+        assertThat(cache().containsCollection(PREMISES, id)).isFalse();
+    }
+
+    private void loadPremises() {
+        transactionTemplate.execute(status -> propositionRepository.findById(id).get().getPremises().size());
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
@@ -0,0 +1,64 @@
+package org.laybe.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link RebuildableIndex}.
+ */
+public class RebuildableIndexTest {
+
+    @Test
+    public void replaysTheChangesReceivedWhileLoading() {
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>("test", new ArrayList<>(Arrays.asList("initial")));
+        List<String> published = new ArrayList<>();
+
+        List<String> loaded = index.rebuild(() -> {
+            index.update(list -> list.add("during"));
+            assertThat(contents(index)).containsExactly("initial", "during");
+            return new ArrayList<>(Arrays.asList("loaded"));
+        }, published::addAll);
+
+        assertThat(loaded).containsExactly("loaded", "during");
+        assertThat(published).containsExactly("loaded", "during");
+        assertThat(contents(index)).containsExactly("loaded", "during");
+
+        index.update(list -> list.add("after"));
+        assertThat(contents(index)).containsExactly("loaded", "during", "after");
+    }
+
+    @Test
+    public void skipsARebuildWhileAnotherIsLoading() {
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>("test", new ArrayList<>());
+
+        index.rebuild(() -> {
+            assertThat(index.rebuild(ArrayList::new)).isNull();
+            return new ArrayList<>(Arrays.asList("loaded"));
+        });
+
+        assertThat(contents(index)).containsExactly("loaded");
+    }
+
+    @Test
+    public void runsTheActionOfAChangeOnlyOnce() {
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>("test", new ArrayList<>());
+        List<Boolean> results = new ArrayList<>();
+
+        index.rebuild(() -> {
+            index.update(list -> list.add("during"), results::add);
+            return new ArrayList<>();
+        });
+
+        assertThat(results).containsExactly(true);
+        assertThat(contents(index)).containsExactly("during");
+    }
+
+    private static List<String> contents(RebuildableIndex<List<String>> index) {
+        return index.read(ArrayList::new);
+    }
+}
@@ -0,0 +1,87 @@
+package org.laybe.service;
+
+import org.laybe.FaxiomApp;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.domain.PersistentAuditEvent;
+import org.laybe.repository.PersistenceAuditEventRepository;
+import org.laybe.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link RetentionService}.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+@Transactional
+public class RetentionServiceIT {
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    private RetentionService retentionService;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getRetention().setChunkSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        retentionService = new RetentionService(persistenceAuditEventRepository, userRepository, entityManager,
+            transactionManager, applicationProperties, meterRegistry);
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    @Test
+    public void purgeAuditEventsInChunks() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            persistenceAuditEventRepository.save(createAuditEvent("test-user-old", now.minus(10, ChronoUnit.DAYS)));
+        }
+        persistenceAuditEventRepository.save(createAuditEvent("test-user-new", now));
+        persistenceAuditEventRepository.flush();
+
+        long deleted = retentionService.purgeAuditEvents(now.minus(1, ChronoUnit.DAYS));
+
+        assertThat(deleted).isEqualTo(5);
+        assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-old")).isEmpty();
+        assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-new")).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_evt_data", Long.class)).isEqualTo(1L);
+        assertThat(meterRegistry.get("retention.purged").tag("entity", "audit_event").counter().count()).isEqualTo(5);
+    }
+
+    private static PersistentAuditEvent createAuditEvent(String principal, Instant date) {
+        PersistentAuditEvent auditEvent = new PersistentAuditEvent();
+        auditEvent.setPrincipal(principal);
+        auditEvent.setAuditEventType("test-type");
+        auditEvent.setAuditEventDate(date);
+        auditEvent.getData().put("test-key", "test-value");
+        return auditEvent;
+    }
+}
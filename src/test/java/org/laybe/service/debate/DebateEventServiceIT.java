@@ -0,0 +1,105 @@
+package org.laybe.service.debate;
+
+import org.laybe.FaxiomApp;
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.PropositionType;
+import org.laybe.repository.ArgumentRepository;
+import org.laybe.repository.PropositionRepository;
+import org.laybe.service.dto.DebateChangeDTO;
+import org.laybe.service.event.ArgumentChangeEvent;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.PropositionChangeEvent;
+import org.laybe.service.graph.PropositionGraphIndex;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link DebateEventService}.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+@Transactional
+public class DebateEventServiceIT {
+
+    @Autowired
+    private PropositionRepository propositionRepository;
+
+    @Autowired
+    private ArgumentRepository argumentRepository;
+
+    @Autowired
+    private PropositionGraphIndex propositionGraphIndex;
+
+    @Autowired
+    private DebateEventService debateEventService;
+
+    @Test
+    public void pushChangesToTheDebatesOfTheChangedEntities() throws Exception {
+        // premise --IMPLICATION--> conclusion, and an unrelated proposition
+        Proposition premise = propositionRepository.saveAndFlush(new Proposition().type(PropositionType.SINGLE).text("premise"));
+        Proposition conclusion = propositionRepository.saveAndFlush(new Proposition().type(PropositionType.SINGLE).text("conclusion"));
+        Proposition unrelated = propositionRepository.saveAndFlush(new Proposition().type(PropositionType.SINGLE).text("unrelated"));
+        Argument argument = argumentRepository.saveAndFlush(new Argument().type(ArgumentType.IMPLICATION).premise(premise).conclusion(conclusion));
+        propositionGraphIndex.rebuild();
+
+        RecordingSink conclusionSink = new RecordingSink();
+        RecordingSink unrelatedSink = new RecordingSink();
+        Runnable conclusionSubscription = debateEventService.subscribe(conclusion.getId(), conclusionSink);
+        Runnable unrelatedSubscription = debateEventService.subscribe(unrelated.getId(), unrelatedSink);
+        try {
+            debateEventService.onPropositionChange(PropositionChangeEvent.saved(ChangeType.UPDATED, premise.text("premise, amended")));
+            DebateChangeDTO change = conclusionSink.changes.poll(10, TimeUnit.SECONDS);
+            assertThat(change).isNotNull();
+            assertThat(change.getEntity()).isEqualTo(DebateChangeDTO.PROPOSITION);
+            assertThat(change.getId()).isEqualTo(premise.getId());
+            assertThat(change.getProposition().getText()).isEqualTo("premise, amended");
+
+            debateEventService.onArgumentChange(ArgumentChangeEvent.deleted(argument.getId()));
+            change = conclusionSink.changes.poll(10, TimeUnit.SECONDS);
+            assertThat(change).isNotNull();
+            assertThat(change.getEntity()).isEqualTo(DebateChangeDTO.ARGUMENT);
+            assertThat(change.getChangeType()).isEqualTo(ChangeType.DELETED);
+
+            assertThat(unrelatedSink.changes).isEmpty();
+        } finally {
+            conclusionSubscription.run();
+            unrelatedSubscription.run();
+        }
+
+        debateEventService.onPropositionChange(PropositionChangeEvent.saved(ChangeType.UPDATED, conclusion));
+        assertThat(conclusionSink.changes.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(conclusionSink.closed).isFalse();
+    }
+
+    private static class RecordingSink implements DebateEventSink {
+
+        private final BlockingQueue<DebateChangeDTO> changes = new LinkedBlockingQueue<>();
+
+        private volatile boolean closed;
+
+        @Override
+        public void send(DebateChangeDTO change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void heartbeat() {
+            // Nothing to check
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
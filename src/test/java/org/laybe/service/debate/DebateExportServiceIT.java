@@ -0,0 +1,67 @@
+package org.laybe.service.debate;
+
+import org.laybe.FaxiomApp;
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+import org.laybe.repository.ArgumentRepository;
+import org.laybe.repository.PropositionRepository;
+import org.laybe.service.dto.DebateImportResultDTO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link DebateExportService}.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+@Transactional
+public class DebateExportServiceIT {
+
+    @Autowired
+    private PropositionRepository propositionRepository;
+
+    @Autowired
+    private ArgumentRepository argumentRepository;
+
+    @Autowired
+    private DebateExportService debateExportService;
+
+    @Autowired
+    private DebateImportService debateImportService;
+
+    @Test
+    public void exportDebateAsLines() {
+        Proposition first = propositionRepository.saveAndFlush(new Proposition().type(PropositionType.SINGLE).text("AAAAAAAAAA"));
+        Proposition second = propositionRepository.saveAndFlush(new Proposition().type(PropositionType.SINGLE).text("BBBBBBBBBB"));
+        Proposition connection = propositionRepository.saveAndFlush(new Proposition().type(PropositionType.CONNECTION)
+            .connectionType(ConnectionType.DISJUNCTION).proposition1(first).proposition2(second));
+        Argument argument = argumentRepository.saveAndFlush(new Argument().type(ArgumentType.IMPLICATION).premise(connection).conclusion(first));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        debateExportService.exportDebate(output);
+
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(propositionRepository.findAll().size() + argumentRepository.findAll().size());
+        assertThat(lines).contains("{\"proposition\":{\"ref\":\"" + first.getId() + "\",\"type\":\"SINGLE\",\"text\":\"AAAAAAAAAA\"}}");
+        assertThat(lines).contains("{\"proposition\":{\"ref\":\"" + connection.getId() + "\",\"type\":\"CONNECTION\",\"connectionType\":\"DISJUNCTION\"," +
+            "\"proposition1\":\"" + first.getId() + "\",\"proposition2\":\"" + second.getId() + "\"}}");
+        assertThat(lines[lines.length - 1]).isEqualTo("{\"argument\":{\"ref\":\"" + argument.getId() + "\",\"type\":\"IMPLICATION\"," +
+            "\"premise\":\"" + connection.getId() + "\",\"conclusion\":\"" + first.getId() + "\"}}");
+
+        // The export can be imported back
+        DebateImportResultDTO result = debateImportService.importDebate(new ByteArrayInputStream(output.toByteArray()), true);
+        assertThat(result.getPropositionCount()).isEqualTo(lines.length - 1);
+        assertThat(result.getArgumentCount()).isEqualTo(1);
+    }
+}
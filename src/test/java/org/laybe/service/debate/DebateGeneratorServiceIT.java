@@ -0,0 +1,118 @@
+package org.laybe.service.debate;
+
+import org.laybe.FaxiomApp;
+import org.laybe.config.ApplicationProperties;
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.PropositionType;
+import org.laybe.repository.ArgumentRepository;
+import org.laybe.repository.PropositionRepository;
+import org.laybe.service.dto.DebateGenerationResultDTO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for {@link DebateGeneratorService}.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+@Transactional
+public class DebateGeneratorServiceIT {
+
+    @Autowired
+    private PropositionRepository propositionRepository;
+
+    @Autowired
+    private ArgumentRepository argumentRepository;
+
+    @Autowired
+    private DebateGeneratorService debateGeneratorService;
+
+    @Test
+    public void generateDebate() {
+        long propositionsBefore = propositionRepository.count();
+        long argumentsBefore = argumentRepository.count();
+        ApplicationProperties.DebateGenerator settings = settings(1000, 0.0);
+
+        DebateGenerationResultDTO result = debateGeneratorService.generate(settings);
+
+        assertThat(result.getPropositionCount()).isEqualTo(1000);
+        assertThat(result.getCycleCount()).isZero();
+        assertThat(propositionRepository.count()).isEqualTo(propositionsBefore + 1000);
+        assertThat(argumentRepository.count()).isEqualTo(argumentsBefore + result.getArgumentCount());
+
+        List<Proposition> propositions = generated(propositionRepository.findAll(), result);
+        assertThat(propositions).hasSize(1000);
+        assertThat(propositions).anyMatch(proposition -> proposition.getType() == PropositionType.CONNECTION);
+        List<Argument> arguments = argumentRepository.findAll().stream()
+            .filter(argument -> isGenerated(argument.getConclusion().getId(), result))
+            .collect(Collectors.toList());
+        assertThat(arguments).hasSize(result.getArgumentCount());
+        Map<Long, Long> fanIn = arguments.stream()
+            .collect(Collectors.groupingBy(argument -> argument.getConclusion().getId(), Collectors.counting()));
+        assertThat(fanIn.values()).allMatch(count -> count <= settings.getMaxFanIn());
+        Map<Long, Long> fanOut = arguments.stream()
+            .collect(Collectors.groupingBy(argument -> argument.getPremise().getId(), Collectors.counting()));
+        assertThat(fanOut.values()).allMatch(count -> count <= settings.getMaxFanOut());
+    }
+
+    @Test
+    public void generateSameDebateFromSameSeed() {
+        DebateGenerationResultDTO first = debateGeneratorService.generate(settings(300, 0.5));
+        DebateGenerationResultDTO second = debateGeneratorService.generate(settings(300, 0.5));
+
+        assertThat(second.getArgumentCount()).isEqualTo(first.getArgumentCount());
+        assertThat(second.getCycleCount()).isEqualTo(first.getCycleCount());
+    }
+
+    @Test
+    public void generateCycles() {
+        DebateGenerationResultDTO result = debateGeneratorService.generate(settings(300, 1.0));
+
+        assertThat(result.getCycleCount()).isPositive();
+        Set<String> supports = argumentRepository.findAll().stream()
+            .filter(argument -> isGenerated(argument.getPremise().getId(), result))
+            .map(argument -> argument.getPremise().getId() + ">" + argument.getConclusion().getId())
+            .collect(Collectors.toSet());
+        assertThat(supports).anyMatch(support -> {
+            String[] ids = support.split(">");
+            return supports.contains(ids[1] + ">" + ids[0]);
+        });
+    }
+
+    @Test
+    public void rejectLayersWithoutPropositions() {
+        ApplicationProperties.DebateGenerator settings = settings(5, 0.0);
+        settings.setDepth(10);
+
+        assertThatThrownBy(() -> debateGeneratorService.generate(settings)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ApplicationProperties.DebateGenerator settings(int propositionCount, double cycleProbability) {
+        ApplicationProperties.DebateGenerator settings = new ApplicationProperties.DebateGenerator();
+        settings.setPropositionCount(propositionCount);
+        settings.setDepth(5);
+        settings.setCycleProbability(cycleProbability);
+        return settings;
+    }
+
+    private static List<Proposition> generated(List<Proposition> propositions, DebateGenerationResultDTO result) {
+        return propositions.stream()
+            .filter(proposition -> isGenerated(proposition.getId(), result))
+            .collect(Collectors.toList());
+    }
+
+    private static boolean isGenerated(Long id, DebateGenerationResultDTO result) {
+        return id >= result.getFirstPropositionId() && id <= result.getLastPropositionId();
+    }
+}
@@ -0,0 +1,70 @@
+package org.laybe.service.debate;
+
+import org.laybe.FaxiomApp;
+import org.laybe.service.dto.DebateImportResultDTO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput benchmark of {@link DebateImportService}, only run with {@code -Dbenchmark=true}.
+ * <p>
+ * The size of the debate is set with {@code -Dbenchmark.propositions}, 100000 by default.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DebateImportBenchmarkIT {
+
+    private final Logger log = LoggerFactory.getLogger(DebateImportBenchmarkIT.class);
+
+    @Autowired
+    private DebateImportService debateImportService;
+
+    @Test
+    @Transactional
+    public void importLargeDebate() {
+        int propositionCount = Integer.getInteger("benchmark.propositions", 100000);
+        byte[] debate = generateDebate(propositionCount);
+
+        long start = System.nanoTime();
+        DebateImportResultDTO result = debateImportService.importDebate(new ByteArrayInputStream(debate), true);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(result.getPropositionCount()).isEqualTo(propositionCount);
+        log.info("Imported {} propositions and {} arguments ({} kB) in {} s: {} rows/s", result.getPropositionCount(),
+            result.getArgumentCount(), debate.length / 1024, String.format("%.2f", seconds),
+            Math.round((result.getPropositionCount() + result.getArgumentCount()) / seconds));
+    }
+
+    /**
+     * Every third proposition is the conjunction of the two previous ones, and implies the next single proposition.
+     */
+    private static byte[] generateDebate(int propositionCount) {
+        StringBuilder lines = new StringBuilder(propositionCount * 100);
+        for (int i = 0; i < propositionCount; i++) {
+            if (i % 3 == 2) {
+                lines.append("{\"proposition\": {\"ref\": \"").append(i)
+                    .append("\", \"type\": \"CONNECTION\", \"connectionType\": \"CONJUNCTION\", \"proposition1\": \"")
+                    .append(i - 2).append("\", \"proposition2\": \"").append(i - 1).append("\"}}\n");
+                if (i + 1 < propositionCount) {
+                    lines.append("{\"argument\": {\"type\": \"IMPLICATION\", \"premise\": \"").append(i)
+                        .append("\", \"conclusion\": \"").append(i + 1).append("\"}}\n");
+                }
+            } else {
+                lines.append("{\"proposition\": {\"ref\": \"").append(i)
+                    .append("\", \"type\": \"SINGLE\", \"text\": \"Proposition ").append(i).append("\"}}\n");
+            }
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package org.laybe.service.debate;
+
+import org.laybe.service.dto.DebateChangeDTO;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.event.ChangeType;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link DebateSubscriber}.
+ */
+public class DebateSubscriberTest {
+
+    private final RecordingSink sink = new RecordingSink();
+
+    @Test
+    public void coalescesChangesToTheSameEntity() {
+        DebateSubscriber subscriber = new DebateSubscriber(1L, sink, 10);
+        assertThat(subscriber.offer(proposition(ChangeType.UPDATED, 1L, "first"))).isTrue();
+        assertThat(subscriber.offer(proposition(ChangeType.CREATED, 2L, "created"))).isTrue();
+        assertThat(subscriber.offer(proposition(ChangeType.UPDATED, 1L, "second"))).isTrue();
+        assertThat(subscriber.offer(proposition(ChangeType.UPDATED, 2L, "updated"))).isTrue();
+        assertThat(subscriber.offer(proposition(ChangeType.CREATED, 3L, "created"))).isTrue();
+        assertThat(subscriber.offer(proposition(ChangeType.DELETED, 3L, null))).isTrue();
+
+        assertThat(subscriber.startDraining()).isTrue();
+        assertThat(subscriber.startDraining()).isFalse();
+        assertThat(subscriber.drain()).isTrue();
+
+        assertThat(sink.sent).extracting(change -> change.getId() + " " + change.getChangeType() + " " + change.getProposition().getText())
+            .containsExactly("1 UPDATED second", "2 CREATED updated");
+        assertThat(subscriber.startDraining()).isFalse();
+    }
+
+    @Test
+    public void rejectsChangesBeyondCapacity() {
+        DebateSubscriber subscriber = new DebateSubscriber(1L, sink, 2);
+        assertThat(subscriber.offer(proposition(ChangeType.UPDATED, 1L, "a"))).isTrue();
+        assertThat(subscriber.offer(proposition(ChangeType.UPDATED, 2L, "b"))).isTrue();
+        assertThat(subscriber.offer(proposition(ChangeType.UPDATED, 2L, "c"))).isTrue();
+        assertThat(subscriber.offer(proposition(ChangeType.UPDATED, 3L, "d"))).isFalse();
+
+        subscriber.close(true);
+        assertThat(sink.closed).isTrue();
+        assertThat(subscriber.startDraining()).isFalse();
+    }
+
+    @Test
+    public void sendsHeartbeatsWhenIdle() {
+        DebateSubscriber subscriber = new DebateSubscriber(1L, sink, 10);
+        subscriber.requestHeartbeat();
+        assertThat(subscriber.startDraining()).isTrue();
+        assertThat(subscriber.drain()).isTrue();
+        assertThat(sink.heartbeats).isEqualTo(1);
+
+        sink.failing = true;
+        subscriber.requestHeartbeat();
+        assertThat(subscriber.startDraining()).isTrue();
+        assertThat(subscriber.drain()).isFalse();
+    }
+
+    private static DebateChangeDTO proposition(ChangeType changeType, long id, String text) {
+        PropositionDTO proposition = text == null ? null : new PropositionDTO(id, null, text, null, null, null);
+        return DebateChangeDTO.ofProposition(changeType, id, proposition);
+    }
+
+    private static class RecordingSink implements DebateEventSink {
+
+        private final List<DebateChangeDTO> sent = new ArrayList<>();
+
+        private int heartbeats;
+
+        private boolean failing;
+
+        private boolean closed;
+
+        @Override
+        public void send(DebateChangeDTO change) {
+            sent.add(change);
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            heartbeats++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
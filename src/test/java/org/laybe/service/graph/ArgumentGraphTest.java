@@ -0,0 +1,109 @@
+package org.laybe.service.graph;
+
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ArgumentGraph}.
+ */
+public class ArgumentGraphTest {
+
+    private ArgumentGraph graph;
+
+    /**
+     * 1 and 2 are the operands of the conjunction 3, which is the premise of the argument 10 concluding to 4,
+     * itself the premise of the argument 11 concluding to 5.
+     */
+    @BeforeEach
+    public void init() {
+        graph = new ArgumentGraph(0, 0);
+        graph.putProposition(1L, PropositionType.SINGLE, null, null, null);
+        graph.putProposition(2L, PropositionType.SINGLE, null, null, null);
+        graph.putProposition(3L, PropositionType.CONNECTION, ConnectionType.CONJUNCTION, 1L, 2L);
+        graph.putProposition(4L, PropositionType.SINGLE, null, null, null);
+        graph.putProposition(5L, PropositionType.SINGLE, null, null, null);
+        graph.putArgument(10L, ArgumentType.IMPLICATION, 3L, 4L);
+        graph.putArgument(11L, ArgumentType.IMPLICATION, 4L, 5L);
+    }
+
+    @Test
+    public void traversesBothDirections() {
+        assertThat(graph.reachable(5L, false, 10)).containsExactly(4L, 3L, 1L, 2L);
+        assertThat(graph.reachable(5L, false, 2)).containsExactly(4L, 3L);
+        assertThat(graph.reachable(1L, true, 10)).containsExactly(3L, 4L, 5L);
+        assertThat(graph.reachable(42L, true, 10)).isEmpty();
+    }
+
+    @Test
+    public void stopsVisitingWhenAsked() {
+        List<Long> visited = new ArrayList<>();
+        graph.visitUpward(1L, visited::add);
+        assertThat(visited).containsExactly(3L, 4L, 5L);
+
+        visited.clear();
+        graph.visitUpward(1L, id -> visited.add(id) && id != 4L);
+        assertThat(visited).containsExactly(3L, 4L);
+
+        graph.visitUpward(42L, id -> {
+            throw new AssertionError("Unknown proposition visited");
+        });
+    }
+
+    @Test
+    public void findsSupportChains() {
+        assertThat(graph.supportChain(2L, 5L)).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(graph.supportChain(5L, 2L)).isEmpty();
+        assertThat(graph.supportChain(4L, 4L)).containsExactly(4L);
+    }
+
+    @Test
+    public void updatesIncrementally() {
+        graph.putArgument(11L, ArgumentType.IMPLICATION, 1L, 5L);
+        assertThat(graph.reachable(5L, false, 1)).containsExactly(1L);
+        assertThat(graph.reachable(4L, true, 10)).isEmpty();
+
+        graph.removeProposition(3L);
+        assertThat(graph.propositionCount()).isEqualTo(4);
+        assertThat(graph.argumentCount()).isEqualTo(1);
+        assertThat(graph.reachable(1L, true, 10)).containsExactly(5L);
+
+        graph.putProposition(6L, PropositionType.CONNECTION, ConnectionType.DISJUNCTION, 4L, 5L);
+        int slot = graph.propositionSlot(6L);
+        assertThat(graph.connectionType(slot)).isEqualTo(ConnectionType.DISJUNCTION);
+        assertThat(graph.reachable(1L, true, 10)).containsExactly(5L, 6L);
+    }
+
+    @Test
+    public void createsPlaceholdersForUnknownPropositions() {
+        graph.putArgument(12L, ArgumentType.ABJUNCTION, 7L, 1L);
+        int slot = graph.propositionSlot(7L);
+        assertThat(slot).isNotEqualTo(ArgumentGraph.NONE);
+        assertThat(graph.propositionType(slot)).isNull();
+
+        graph.putProposition(7L, PropositionType.SINGLE, null, null, null);
+        assertThat(graph.propositionSlot(7L)).isEqualTo(slot);
+        assertThat(graph.propositionType(slot)).isEqualTo(PropositionType.SINGLE);
+        assertThat(graph.reachable(7L, true, 10)).containsExactly(1L, 3L, 4L, 5L);
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        graph.putProposition(100L, PropositionType.SINGLE, null, null, null);
+        for (long id = 101; id < 1100; id++) {
+            graph.putProposition(id, PropositionType.SINGLE, null, null, null);
+            graph.putArgument(id, ArgumentType.IMPLICATION, id - 1, id);
+        }
+        assertThat(graph.propositionCount()).isEqualTo(1005);
+        assertThat(graph.argumentCount()).isEqualTo(1001);
+        assertThat(graph.reachable(1099L, false, 2000)).hasSize(999);
+        assertThat(graph.memoryFootprint()).isPositive();
+    }
+}
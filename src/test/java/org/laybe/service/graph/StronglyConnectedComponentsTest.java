@@ -0,0 +1,63 @@
+package org.laybe.service.graph;
+
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link StronglyConnectedComponents}.
+ */
+public class StronglyConnectedComponentsTest {
+
+    @Test
+    public void findsCyclicComponents() {
+        ArgumentGraph graph = new ArgumentGraph(0, 0);
+        for (long id = 1; id <= 6; id++) {
+            graph.putProposition(id, PropositionType.SINGLE, null, null, null);
+        }
+        // 1 -> 2 -> 3 -> 1, 3 -> 4, 5 -> 5, and 6 is the conjunction of 4 and 2, concluding to 1
+        graph.putArgument(10L, ArgumentType.IMPLICATION, 1L, 2L);
+        graph.putArgument(11L, ArgumentType.IMPLICATION, 2L, 3L);
+        graph.putArgument(12L, ArgumentType.ABJUNCTION, 3L, 1L);
+        graph.putArgument(13L, ArgumentType.IMPLICATION, 3L, 4L);
+        graph.putArgument(14L, ArgumentType.IMPLICATION, 5L, 5L);
+        assertThat(cycles(graph)).containsExactlyInAnyOrder("1,2,3", "5");
+
+        graph.putProposition(6L, PropositionType.CONNECTION, ConnectionType.CONJUNCTION, 4L, 2L);
+        graph.putArgument(15L, ArgumentType.IMPLICATION, 6L, 1L);
+        assertThat(cycles(graph)).containsExactlyInAnyOrder("1,2,3,4,6", "5");
+
+        graph.removeArgument(12L);
+        graph.removeArgument(14L);
+        graph.removeArgument(15L);
+        assertThat(cycles(graph)).isEmpty();
+    }
+
+    @Test
+    public void handlesDeepGraphsWithoutRecursion() {
+        int length = 200_000;
+        ArgumentGraph graph = new ArgumentGraph(length, length);
+        for (long id = 1; id <= length; id++) {
+            graph.putProposition(id, PropositionType.SINGLE, null, null, null);
+            graph.putArgument(id, ArgumentType.IMPLICATION, id, id % length + 1);
+        }
+        List<int[]> components = StronglyConnectedComponents.findCycles(graph);
+        assertThat(components).hasSize(1);
+        assertThat(components.get(0)).hasSize(length);
+    }
+
+    private static List<String> cycles(ArgumentGraph graph) {
+        return StronglyConnectedComponents.findCycles(graph).stream()
+            .map(component -> Arrays.stream(component)
+                .mapToObj(slot -> Long.toString(graph.propositionId(slot)))
+                .collect(Collectors.joining(",")))
+            .collect(Collectors.toList());
+    }
+}
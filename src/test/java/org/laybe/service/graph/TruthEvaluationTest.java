@@ -0,0 +1,111 @@
+package org.laybe.service.graph;
+
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.domain.enumeration.PropositionType;
+import org.laybe.service.dto.EvaluationResultDTO;
+import org.laybe.service.dto.PropositionStatusDTO;
+import org.laybe.service.dto.TruthStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TruthEvaluation}.
+ */
+public class TruthEvaluationTest {
+
+    private ArgumentGraph graph;
+
+    private long version;
+
+    /**
+     * 3 is the conjunction of 1 and 2, 4 is the disjunction of 3 and 5; 4 implies 6, and 6 abjuncts 7.
+     */
+    @BeforeEach
+    public void init() {
+        graph = new ArgumentGraph(0, 0);
+        graph.putProposition(1L, PropositionType.SINGLE, null, null, null);
+        graph.putProposition(2L, PropositionType.SINGLE, null, null, null);
+        graph.putProposition(3L, PropositionType.CONNECTION, ConnectionType.CONJUNCTION, 1L, 2L);
+        graph.putProposition(5L, PropositionType.SINGLE, null, null, null);
+        graph.putProposition(4L, PropositionType.CONNECTION, ConnectionType.DISJUNCTION, 3L, 5L);
+        graph.putProposition(6L, PropositionType.SINGLE, null, null, null);
+        graph.putProposition(7L, PropositionType.SINGLE, null, null, null);
+        graph.putArgument(10L, ArgumentType.IMPLICATION, 4L, 6L);
+        graph.putArgument(11L, ArgumentType.ABJUNCTION, 6L, 7L);
+        version = 1L;
+    }
+
+    @Test
+    public void propagatesToFixpoint() {
+        TruthEvaluation evaluation = new TruthEvaluation(new long[] { 1L, 2L }, new long[0]);
+        assertThat(evaluation.refresh(graph, version, null)).isEqualTo(TruthEvaluation.Mode.FULL);
+
+        Map<Long, TruthStatus> statuses = statuses(evaluation.toResult());
+        assertThat(statuses).containsEntry(3L, TruthStatus.ACCEPTED)
+            .containsEntry(4L, TruthStatus.ACCEPTED)
+            .containsEntry(6L, TruthStatus.ACCEPTED)
+            .containsEntry(7L, TruthStatus.REJECTED)
+            .containsEntry(5L, TruthStatus.UNDETERMINED);
+        assertThat(evaluation.refresh(graph, version, Collections.emptyList())).isEqualTo(TruthEvaluation.Mode.CACHED);
+    }
+
+    @Test
+    public void propagatesBackwards() {
+        TruthEvaluation evaluation = new TruthEvaluation(new long[] { 7L }, new long[] { 5L });
+        evaluation.refresh(graph, version, null);
+
+        Map<Long, TruthStatus> statuses = statuses(evaluation.toResult());
+        assertThat(statuses).containsEntry(6L, TruthStatus.REJECTED)
+            .containsEntry(4L, TruthStatus.REJECTED)
+            .containsEntry(3L, TruthStatus.REJECTED)
+            .containsEntry(1L, TruthStatus.UNDETERMINED);
+    }
+
+    @Test
+    public void detectsContradictionsAndCycles() {
+        graph.putArgument(12L, ArgumentType.ABJUNCTION, 6L, 1L);
+        TruthEvaluation evaluation = new TruthEvaluation(new long[] { 1L, 2L }, new long[0]);
+        evaluation.refresh(graph, version, null);
+
+        EvaluationResultDTO result = evaluation.toResult();
+        assertThat(statuses(result)).containsEntry(1L, TruthStatus.CONTRADICTED);
+        assertThat(result.getCycleIds()).containsExactly(1L);
+    }
+
+    @Test
+    public void refreshesIncrementally() {
+        TruthEvaluation evaluation = new TruthEvaluation(new long[] { 1L, 2L }, new long[] { 42L });
+        evaluation.refresh(graph, version, null);
+        assertThat(evaluation.toResult().getUnknownIds()).containsExactly(42L);
+
+        graph.putProposition(8L, PropositionType.SINGLE, null, null, null);
+        graph.putArgument(13L, ArgumentType.IMPLICATION, 7L, 8L);
+        graph.putArgument(14L, ArgumentType.IMPLICATION, 6L, 8L);
+        assertThat(evaluation.refresh(graph, ++version, Collections.singletonList(
+            new GraphChange(version, GraphChange.Impact.EXTENDING, new long[] { 6L, 8L })))).isEqualTo(TruthEvaluation.Mode.INCREMENTAL);
+        assertThat(statuses(evaluation.toResult())).containsEntry(8L, TruthStatus.ACCEPTED);
+
+        graph.putArgument(10L, ArgumentType.ABJUNCTION, 4L, 6L);
+        assertThat(evaluation.refresh(graph, ++version, Collections.singletonList(
+            new GraphChange(version, GraphChange.Impact.LOCAL, new long[] { 4L, 6L })))).isEqualTo(TruthEvaluation.Mode.INCREMENTAL);
+        Map<Long, TruthStatus> statuses = statuses(evaluation.toResult());
+        assertThat(statuses).containsEntry(6L, TruthStatus.REJECTED)
+            .containsEntry(7L, TruthStatus.UNDETERMINED)
+            .containsEntry(8L, TruthStatus.UNDETERMINED);
+
+        TruthEvaluation full = new TruthEvaluation(new long[] { 1L, 2L }, new long[] { 42L });
+        full.refresh(graph, version, null);
+        assertThat(statuses(full.toResult())).isEqualTo(statuses);
+    }
+
+    private static Map<Long, TruthStatus> statuses(EvaluationResultDTO result) {
+        return result.getPropositions().stream().collect(Collectors.toMap(PropositionStatusDTO::getId, PropositionStatusDTO::getStatus));
+    }
+}
@@ -0,0 +1,42 @@
+package org.laybe.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link BatchLookup}.
+ */
+public class BatchLookupTest {
+
+    @Test
+    public void keepsTheOrderOfTheIds() {
+        List<Collection<Long>> queries = new ArrayList<>();
+        Map<Long, Long> found = BatchLookup.findAllById(Arrays.asList(3L, 1L, 3L, 2L), ids -> {
+            queries.add(ids);
+            return Arrays.asList(1L, 3L);
+        }, Function.identity());
+
+        assertThat(found).containsOnlyKeys(3L, 1L);
+        assertThat(found.keySet()).containsExactly(3L, 1L);
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0)).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    public void runsNoQueryWithoutIds() {
+        Map<Long, Long> found = BatchLookup.findAllById(Collections.emptyList(), ids -> {
+            throw new AssertionError("No query expected");
+        }, Function.identity());
+
+        assertThat(found).isEmpty();
+    }
+}
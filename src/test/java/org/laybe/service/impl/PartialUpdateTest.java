@@ -0,0 +1,39 @@
+package org.laybe.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.dto.PropositionPatchDTO;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PartialUpdate}.
+ */
+public class PartialUpdateTest {
+
+    @Test
+    public void setsOnlyTheSuppliedColumns() {
+        PropositionPatchDTO patch = new PropositionPatchDTO();
+        patch.setText(JsonNullable.of("amended"));
+        patch.setConnectionType(JsonNullable.of(null));
+        PropositionDTO proposition = new PropositionDTO(1L, null, "initial", ConnectionType.CONJUNCTION, 2L, 3L, 4L);
+
+        PartialUpdate update = new PartialUpdate("proposition");
+        assertThat(update.set(patch.getType(), "type", Enum::name, proposition::setType)).isFalse();
+        assertThat(update.isEmpty()).isTrue();
+        assertThat(update.set(patch.getText(), "text", Function.identity(), proposition::setText)).isTrue();
+        assertThat(update.set(patch.getConnectionType(), "connection_type", Enum::name, proposition::setConnectionType)).isTrue();
+        assertThat(update.set(patch.getProposition1Id(), "proposition1_id", Function.identity(), proposition::setProposition1Id)).isFalse();
+
+        assertThat(update.isEmpty()).isFalse();
+        assertThat(update.sql())
+            .isEqualTo("update proposition set text = ?, connection_type = ?, version = version + 1 where id = ? and version = ?");
+        assertThat(proposition.getText()).isEqualTo("amended");
+        assertThat(proposition.getConnectionType()).isNull();
+        assertThat(proposition.getProposition1Id()).isEqualTo(2L);
+    }
+}
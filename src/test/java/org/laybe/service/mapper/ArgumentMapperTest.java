@@ -0,0 +1,23 @@
+package org.laybe.service.mapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArgumentMapperTest {
+
+    private ArgumentMapper argumentMapper;
+
+    @BeforeEach
+    public void setUp() {
+        argumentMapper = new ArgumentMapperImpl();
+    }
+
+    @Test
+    public void testEntityFromId() {
+        Long id = 1L;
+        assertThat(argumentMapper.fromId(id).getId()).isEqualTo(id);
+        assertThat(argumentMapper.fromId(null)).isNull();
+    }
+}
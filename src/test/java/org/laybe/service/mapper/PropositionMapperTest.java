@@ -0,0 +1,23 @@
+package org.laybe.service.mapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PropositionMapperTest {
+
+    private PropositionMapper propositionMapper;
+
+    @BeforeEach
+    public void setUp() {
+        propositionMapper = new PropositionMapperImpl();
+    }
+
+    @Test
+    public void testEntityFromId() {
+        Long id = 1L;
+        assertThat(propositionMapper.fromId(id).getId()).isEqualTo(id);
+        assertThat(propositionMapper.fromId(null)).isNull();
+    }
+}
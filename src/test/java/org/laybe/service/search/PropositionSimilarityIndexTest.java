@@ -0,0 +1,103 @@
+package org.laybe.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PropositionSimilarityIndex}.
+ */
+public class PropositionSimilarityIndexTest {
+
+    private static final String TEXT = "La peine de mort doit être abolie dans tous les pays";
+
+    @Test
+    public void ignoresCaseAccentsAndPunctuation() {
+        int[] signature = PropositionSimilarityIndex.signature(TEXT);
+        assertThat(PropositionSimilarityIndex.signature("  LA PEINE de mort, doit etre abolie dans tous les pays !"))
+            .containsExactly(signature);
+        assertThat(PropositionSimilarityIndex.signature(null)).isNull();
+        assertThat(PropositionSimilarityIndex.signature(" - ; ")).isNull();
+    }
+
+    @Test
+    public void estimatesTheSimilarityOfTexts() {
+        int[] signature = PropositionSimilarityIndex.signature(TEXT);
+        assertThat(PropositionSimilarityIndex.similarity(signature, PropositionSimilarityIndex.signature(TEXT + " du monde")))
+            .isBetween(0.6, 1.0);
+        assertThat(PropositionSimilarityIndex.similarity(signature, PropositionSimilarityIndex.signature("Le nucléaire est une énergie décarbonée")))
+            .isLessThan(0.2);
+    }
+
+    @Test
+    public void findsSimilarPropositions() {
+        PropositionSimilarityIndex index = new PropositionSimilarityIndex();
+        index.put(1L, TEXT);
+        index.put(2L, TEXT + " du monde");
+        index.put(3L, "Le nucléaire est une énergie décarbonée");
+        index.put(4L, (String) null);
+        assertThat(index.size()).isEqualTo(3);
+
+        int[] signature = PropositionSimilarityIndex.signature(TEXT + ".");
+        assertThat(index.findSimilar(signature, null, 0.5, 10)).containsExactly(1L, 2L);
+        assertThat(index.findSimilar(signature, null, 0.5, 1)).containsExactly(1L);
+        assertThat(index.findSimilar(signature, 1L, 0.5, 10)).containsExactly(2L);
+        assertThat(index.findSimilar(signature, null, 1.0, 10)).containsExactly(1L);
+        assertThat(index.findSimilar(PropositionSimilarityIndex.signature("Un tout autre sujet"), null, 0.5, 10)).isEmpty();
+    }
+
+    @Test
+    public void replacesAndRemovesTexts() {
+        PropositionSimilarityIndex index = new PropositionSimilarityIndex();
+        index.put(1L, TEXT);
+        index.put(1L, "Le nucléaire est une énergie décarbonée");
+        assertThat(index.findSimilar(PropositionSimilarityIndex.signature(TEXT), null, 0.5, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(1L);
+        assertThat(index.findSimilar(PropositionSimilarityIndex.signature("Le nucléaire est une énergie décarbonée"), null, 0.5, 10))
+            .isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    public void capsTheCandidatesOfCrowdedBuckets() {
+        PropositionSimilarityIndex index = new PropositionSimilarityIndex();
+        int[] signature = PropositionSimilarityIndex.signature(TEXT);
+        int count = 20 * PropositionSimilarityIndex.MAX_CANDIDATES_PER_BUCKET;
+        for (long id = 1; id <= count; id++) {
+            index.put(id, signature);
+        }
+        assertThat(index.size()).isEqualTo(count);
+
+        assertThat(index.findSimilar(signature, null, 0.5, Integer.MAX_VALUE)).hasSize(PropositionSimilarityIndex.MAX_CANDIDATES_PER_BUCKET);
+
+        for (long id = 1; id < count; id++) {
+            index.remove(id);
+        }
+        assertThat(index.findSimilar(signature, null, 0.5, 10)).containsExactly(count);
+    }
+
+    @Test
+    public void keepsBucketsConsistentWithASet() {
+        PropositionSimilarityIndex.Bucket bucket = new PropositionSimilarityIndex.Bucket();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long id = random.nextInt(300);
+            if (random.nextBoolean()) {
+                assertThat(bucket.add(id)).isEqualTo(expected.add(id));
+            } else {
+                assertThat(bucket.remove(id)).isEqualTo(expected.remove(id));
+            }
+            assertThat(bucket.size()).isEqualTo(expected.size());
+        }
+        Set<Long> contents = new HashSet<>();
+        bucket.forEach(Integer.MAX_VALUE, contents::add);
+        assertThat(contents).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,64 @@
+package org.laybe.service.search;
+
+import org.laybe.config.ApplicationProperties;
+import org.laybe.service.NearDuplicatePropositionException;
+import org.laybe.service.event.ChangeType;
+import org.laybe.service.event.PropositionChangeEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Unit tests for {@link PropositionSimilarityService}.
+ */
+public class PropositionSimilarityServiceTest {
+
+    private static final String TEXT = "Le vote doit être rendu obligatoire pour toutes les élections";
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private PropositionSimilarityService propositionSimilarityService;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        propositionSimilarityService = new PropositionSimilarityService(null, null, applicationProperties, meterRegistry);
+        propositionSimilarityService.onPropositionChange(new PropositionChangeEvent(ChangeType.CREATED, 1L, null, TEXT, null, null, null));
+    }
+
+    @Test
+    public void flagsNearDuplicates() {
+        assertThat(propositionSimilarityService.checkDuplicates(null, TEXT + ".")).containsExactly(1L);
+        assertThat(propositionSimilarityService.checkDuplicates(1L, TEXT + ".")).isEmpty();
+        assertThat(propositionSimilarityService.checkDuplicates(null, "Le nucléaire est une énergie décarbonée")).isEmpty();
+        assertThat(meterRegistry.get("proposition.duplicates").tag("action", "flagged").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectsNearDuplicates() {
+        applicationProperties.getSearch().getDuplicates().setCheck(ApplicationProperties.Search.Duplicates.DuplicateCheck.REJECT);
+
+        NearDuplicatePropositionException exception = catchThrowableOfType(
+            () -> propositionSimilarityService.checkDuplicates(null, TEXT.toUpperCase(Locale.ROOT)), NearDuplicatePropositionException.class);
+
+        assertThat(exception.getSimilarPropositionIds()).containsExactly(1L);
+        assertThat(meterRegistry.get("proposition.duplicates").tag("action", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void forgetsDeletedPropositions() {
+        propositionSimilarityService.onPropositionChange(PropositionChangeEvent.deleted(1L));
+
+        assertThat(propositionSimilarityService.findSimilar(null, TEXT)).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package org.laybe.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PropositionTextIndex}.
+ */
+public class PropositionTextIndexTest {
+
+    @Test
+    public void foldsWordsAndDropsStopWords() {
+        assertThat(PropositionTextIndex.words("L'Économie de la Forêt, c'est 2 FOIS plus !"))
+            .containsExactly("economi", "foret", "fois", "plus");
+        assertThat(PropositionTextIndex.words(null)).isEmpty();
+        assertThat(PropositionTextIndex.words(" - ; ")).isEmpty();
+    }
+
+    @Test
+    public void stemsPluralsAndFeminineEndings() {
+        assertThat(PropositionTextIndex.stem("energies")).isEqualTo(PropositionTextIndex.stem("energie"));
+        assertThat(PropositionTextIndex.stem("decarbonees")).isEqualTo(PropositionTextIndex.stem("decarbone"));
+        assertThat(PropositionTextIndex.stem("nouvelles")).isEqualTo("nouvel");
+        assertThat(PropositionTextIndex.stem("journaux")).isEqualTo("journal");
+        assertThat(PropositionTextIndex.stem("reseaux")).isEqualTo(PropositionTextIndex.stem("reseau"));
+        assertThat(PropositionTextIndex.stem("nouveaux")).isEqualTo(PropositionTextIndex.stem("nouveau"));
+        assertThat(PropositionTextIndex.stem("100000")).isEqualTo("100000");
+        assertThat(PropositionTextIndex.stem("vote")).isEqualTo("vote");
+    }
+
+    @Test
+    public void matchesAllTheWordsOfTheQuery() {
+        PropositionTextIndex index = new PropositionTextIndex();
+        index.put(1L, "Le nucléaire est une énergie décarbonée");
+        index.put(2L, "L'énergie solaire est intermittente");
+        index.put(3L, "Le charbon émet du carbone");
+
+        assertThat(index.search("energie", 0, 10).getIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("Énergie solaire", 0, 10).getIds()).containsExactly(2L);
+        assertThat(index.search("énergies décarbonées", 0, 10).getIds()).containsExactly(1L);
+        assertThat(index.search("énergie charbon", 0, 10).getIds()).isEmpty();
+        assertThat(index.search("inconnu", 0, 10).getIds()).isEmpty();
+        assertThat(index.search("de la", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    public void ranksRareAndRepeatedWordsFirst() {
+        PropositionTextIndex index = new PropositionTextIndex();
+        index.put(1L, "Le vote obligatoire renforce la démocratie");
+        index.put(2L, "Le vote, rien que le vote");
+        index.put(3L, "Le vote blanc devrait compter dans le résultat final et être reconnu comme suffrage exprimé");
+
+        assertThat(index.search("vote", 0, 10).getIds()).containsExactly(2L, 1L, 3L);
+        assertThat(index.search("vote démocratie", 0, 10).getIds()).containsExactly(1L);
+    }
+
+    @Test
+    public void replacesAndRemovesTexts() {
+        PropositionTextIndex index = new PropositionTextIndex();
+        index.put(1L, "Les impôts doivent baisser");
+        index.put(1L, "Les impôts doivent augmenter");
+        assertThat(index.search("baisser", 0, 10).getIds()).isEmpty();
+        assertThat(index.search("augmenter", 0, 10).getIds()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(1L);
+        assertThat(index.search("impots", 0, 10).getIds()).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    public void pagesTheMatches() {
+        PropositionTextIndex index = new PropositionTextIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, "Proposition numéro " + id);
+        }
+
+        PropositionTextIndex.Hits hits = index.search("proposition", 2, 2);
+        assertThat(hits.getIds()).containsExactly(3L, 4L);
+        assertThat(hits.getTotal()).isEqualTo(5);
+        assertThat(index.search("proposition", 4, 2).getIds()).containsExactly(5L);
+    }
+}
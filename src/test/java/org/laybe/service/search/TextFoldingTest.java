@@ -0,0 +1,18 @@
+package org.laybe.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TextFolding}.
+ */
+public class TextFoldingTest {
+
+    @Test
+    public void foldsCaseAndAccents() {
+        assertThat(TextFolding.words(" L'Économie, c'est 2 FOIS plus !")).containsExactly("l", "economie", "c", "est", "2", "fois", "plus");
+        assertThat(TextFolding.words(null)).isEmpty();
+        assertThat(TextFolding.words(" - ; ")).isEmpty();
+    }
+}
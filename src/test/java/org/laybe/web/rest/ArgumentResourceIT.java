@@ -2,22 +2,31 @@ package org.laybe.web.rest;
 
 import org.laybe.FaxiomApp;
 import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
 import org.laybe.repository.ArgumentRepository;
 import org.laybe.service.ArgumentService;
+import org.laybe.service.dto.ArgumentDTO;
+import org.laybe.service.mapper.ArgumentMapper;
+import org.laybe.web.rest.util.CursorPaginationUtil;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +46,9 @@ public class ArgumentResourceIT {
     @Autowired
     private ArgumentRepository argumentRepository;
 
+    @Autowired
+    private ArgumentMapper argumentMapper;
+
     @Autowired
     private ArgumentService argumentService;
 
@@ -81,9 +93,10 @@ public class ArgumentResourceIT {
     public void createArgument() throws Exception {
         int databaseSizeBeforeCreate = argumentRepository.findAll().size();
         // Create the Argument
+        ArgumentDTO argumentDTO = argumentMapper.toDto(argument);
         restArgumentMockMvc.perform(post("/api/arguments")
             .contentType(MediaType.APPLICATION_JSON)
-            .content(TestUtil.convertObjectToJsonBytes(argument)))
+            .content(TestUtil.convertObjectToJsonBytes(argumentDTO)))
             .andExpect(status().isCreated());
 
         // Validate the Argument in the database
@@ -100,11 +113,12 @@ public class ArgumentResourceIT {
 
         // Create the Argument with an existing ID
         argument.setId(1L);
+        ArgumentDTO argumentDTO = argumentMapper.toDto(argument);
 
         // An entity with an existing ID cannot be created, so this API call must fail
         restArgumentMockMvc.perform(post("/api/arguments")
             .contentType(MediaType.APPLICATION_JSON)
-            .content(TestUtil.convertObjectToJsonBytes(argument)))
+            .content(TestUtil.convertObjectToJsonBytes(argumentDTO)))
             .andExpect(status().isBadRequest());
 
         // Validate the Argument in the database
@@ -127,6 +141,30 @@ public class ArgumentResourceIT {
             .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getAllArgumentsAfterCursor() throws Exception {
+        // Initialize the database
+        Proposition premise = PropositionResourceIT.createEntity(em);
+        em.persist(premise);
+        Proposition conclusion = PropositionResourceIT.createEntity(em);
+        em.persist(conclusion);
+        Argument first = argumentRepository.saveAndFlush(createEntity(em).premise(premise).conclusion(conclusion));
+        Argument second = argumentRepository.saveAndFlush(createEntity(em).premise(conclusion).conclusion(premise));
+
+        // The first page starts at the beginning, and holds the premises and conclusions
+        String cursor = restArgumentMockMvc.perform(get("/api/arguments?after={cursor}&size=1",
+            CursorPaginationUtil.encodeCursor(first.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())))
+            .andExpect(jsonPath("$.[0].premiseId").value(premise.getId().intValue()))
+            .andReturn().getResponse().getHeader(CursorPaginationUtil.NEXT_CURSOR_HEADER);
+
+        restArgumentMockMvc.perform(get("/api/arguments?after={cursor}&size=1", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())));
+    }
+
     @Test
     @Transactional
     public void getArgument() throws Exception {
@@ -140,6 +178,52 @@ public class ArgumentResourceIT {
             .andExpect(jsonPath("$.id").value(argument.getId().intValue()))
             .andExpect(jsonPath("$.type").value(DEFAULT_TYPE.toString()));
     }
+
+    @Test
+    @Transactional
+    public void getArgumentsById() throws Exception {
+        // Initialize the database
+        Proposition premise = PropositionResourceIT.createEntity(em);
+        em.persist(premise);
+        argumentRepository.saveAndFlush(argument.premise(premise));
+
+        // Get the arguments, ignoring duplicates and unknown ids
+        restArgumentMockMvc.perform(post("/api/arguments/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(argument.getId(), argument.getId(), Long.MAX_VALUE))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$['" + argument.getId() + "'].type").value(DEFAULT_TYPE.toString()))
+            .andExpect(jsonPath("$['" + argument.getId() + "'].premiseId").value(premise.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void loadArgumentWithoutItsPropositions() {
+        // Initialize the database
+        Proposition premise = PropositionResourceIT.createEntity(em);
+        em.persist(premise);
+        argumentRepository.saveAndFlush(argument.premise(premise));
+        em.clear();
+
+        // The premise is a proxy, whose id is read without loading it
+        Argument loaded = argumentRepository.findById(argument.getId()).get();
+        assertThat(Hibernate.isInitialized(loaded.getPremise())).isFalse();
+        assertThat(argumentMapper.toDto(loaded).getPremiseId()).isEqualTo(premise.getId());
+        assertThat(Hibernate.isInitialized(loaded.getPremise())).isFalse();
+    }
+
+    @Test
+    @Transactional
+    public void getNoArgumentsById() throws Exception {
+        restArgumentMockMvc.perform(post("/api/arguments/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(Collections.emptyList())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @Transactional
     public void getNonExistingArgument() throws Exception {
@@ -148,11 +232,29 @@ public class ArgumentResourceIT {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    public void getArgumentWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        argumentRepository.saveAndFlush(argument);
+
+        restArgumentMockMvc.perform(get("/api/arguments/{id}", argument.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "W/\"0\", \"5\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        restArgumentMockMvc.perform(get("/api/arguments/{id}", argument.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(jsonPath("$.id").value(argument.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void updateArgument() throws Exception {
         // Initialize the database
-        argumentService.save(argument);
+        argumentRepository.saveAndFlush(argument);
 
         int databaseSizeBeforeUpdate = argumentRepository.findAll().size();
 
@@ -162,10 +264,11 @@ public class ArgumentResourceIT {
         em.detach(updatedArgument);
         updatedArgument
             .type(UPDATED_TYPE);
+        ArgumentDTO argumentDTO = argumentMapper.toDto(updatedArgument);
 
         restArgumentMockMvc.perform(put("/api/arguments")
             .contentType(MediaType.APPLICATION_JSON)
-            .content(TestUtil.convertObjectToJsonBytes(updatedArgument)))
+            .content(TestUtil.convertObjectToJsonBytes(argumentDTO)))
             .andExpect(status().isOk());
 
         // Validate the Argument in the database
@@ -175,15 +278,39 @@ public class ArgumentResourceIT {
         assertThat(testArgument.getType()).isEqualTo(UPDATED_TYPE);
     }
 
+    @Test
+    @Transactional
+    public void partialUpdateArgument() throws Exception {
+        // Initialize the database
+        argumentRepository.saveAndFlush(argument);
+
+        restArgumentMockMvc.perform(patch("/api/arguments/{id}", argument.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .content("{\"type\": \"" + UPDATED_TYPE + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.type").value(UPDATED_TYPE.toString()));
+
+        // Validate the Argument in the database
+        em.clear();
+        Argument testArgument = argumentRepository.findById(argument.getId()).get();
+        assertThat(testArgument.getType()).isEqualTo(UPDATED_TYPE);
+        assertThat(testArgument.getVersion()).isEqualTo(1L);
+    }
+
     @Test
     @Transactional
     public void updateNonExistingArgument() throws Exception {
         int databaseSizeBeforeUpdate = argumentRepository.findAll().size();
 
+        // Create the Argument
+        ArgumentDTO argumentDTO = argumentMapper.toDto(argument);
+
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restArgumentMockMvc.perform(put("/api/arguments")
             .contentType(MediaType.APPLICATION_JSON)
-            .content(TestUtil.convertObjectToJsonBytes(argument)))
+            .content(TestUtil.convertObjectToJsonBytes(argumentDTO)))
             .andExpect(status().isBadRequest());
 
         // Validate the Argument in the database
@@ -195,7 +322,7 @@ public class ArgumentResourceIT {
     @Transactional
     public void deleteArgument() throws Exception {
         // Initialize the database
-        argumentService.save(argument);
+        argumentRepository.saveAndFlush(argument);
 
         int databaseSizeBeforeDelete = argumentRepository.findAll().size();
 
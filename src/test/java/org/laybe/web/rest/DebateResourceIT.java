@@ -0,0 +1,175 @@
+package org.laybe.web.rest;
+
+import org.laybe.FaxiomApp;
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.ConnectionType;
+import org.laybe.repository.ArgumentRepository;
+import org.laybe.repository.PropositionRepository;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link DebateResource} REST controller.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class DebateResourceIT {
+
+    private static final String DEBATE = "{\"arguments\": [" +
+        "{\"ref\": \"a\", \"type\": \"IMPLICATION\", \"premise\": \"c\", \"conclusion\": \"q\"}]," +
+        "\"propositions\": [" +
+        "{\"ref\": \"c\", \"type\": \"CONNECTION\", \"connectionType\": \"CONJUNCTION\", \"proposition1\": \"p1\", \"proposition2\": \"p2\"}," +
+        "{\"ref\": \"p1\", \"type\": \"SINGLE\", \"text\": \"AAAAAAAAAA\"}," +
+        "{\"ref\": \"p2\", \"type\": \"SINGLE\", \"text\": \"BBBBBBBBBB\"}," +
+        "{\"ref\": \"q\", \"type\": \"SINGLE\", \"text\": \"CCCCCCCCCC\"}]}";
+
+    @Autowired
+    private PropositionRepository propositionRepository;
+
+    @Autowired
+    private ArgumentRepository argumentRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc restDebateMockMvc;
+
+    @Test
+    @Transactional
+    public void importDebate() throws Exception {
+        int propositionCountBefore = propositionRepository.findAll().size();
+        int argumentCountBefore = argumentRepository.findAll().size();
+
+        String result = restDebateMockMvc.perform(post("/api/debates/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(DEBATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.propositionCount").value(4))
+            .andExpect(jsonPath("$.argumentCount").value(1))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(propositionRepository.findAll()).hasSize(propositionCountBefore + 4);
+        assertThat(argumentRepository.findAll()).hasSize(argumentCountBefore + 1);
+        Proposition connection = propositionRepository.findById(JsonPath.<Number>read(result, "$.propositionIds.c").longValue()).get();
+        assertThat(connection.getConnectionType()).isEqualTo(ConnectionType.CONJUNCTION);
+        assertThat(connection.getProposition1().getId()).isEqualTo(JsonPath.<Number>read(result, "$.propositionIds.p1").longValue());
+        assertThat(connection.getProposition2().getText()).isEqualTo("BBBBBBBBBB");
+        Argument argument = argumentRepository.findById(JsonPath.<Number>read(result, "$.argumentIds.a").longValue()).get();
+        assertThat(argument.getType()).isEqualTo(ArgumentType.IMPLICATION);
+        assertThat(argument.getPremise().getId()).isEqualTo(connection.getId());
+    }
+
+    @Test
+    @Transactional
+    public void importDebateAsLines() throws Exception {
+        int propositionCountBefore = propositionRepository.findAll().size();
+
+        restDebateMockMvc.perform(post("/api/debates/import")
+            .contentType(DebateResource.APPLICATION_NDJSON_VALUE)
+            .content("{\"argument\": {\"type\": \"ABJUNCTION\", \"premise\": \"1\", \"conclusion\": \"2\"}}\n" +
+                "{\"proposition\": {\"ref\": \"1\", \"type\": \"SINGLE\", \"text\": \"AAAAAAAAAA\"}}\n" +
+                "{\"proposition\": {\"ref\": \"2\", \"type\": \"SINGLE\", \"text\": \"BBBBBBBBBB\"}}\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.propositionCount").value(2))
+            .andExpect(jsonPath("$.argumentCount").value(1))
+            .andExpect(jsonPath("$.propositionIds['1']").isNumber());
+
+        assertThat(propositionRepository.findAll()).hasSize(propositionCountBefore + 2);
+    }
+
+    @Test
+    @Transactional
+    public void importInvalidDebate() throws Exception {
+        int propositionCountBefore = propositionRepository.findAll().size();
+
+        restDebateMockMvc.perform(post("/api/debates/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(DEBATE.replace("\"proposition2\": \"p2\"", "\"proposition2\": \"unknown\"")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.debateinvalid"));
+
+        restDebateMockMvc.perform(post("/api/debates/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(DEBATE.substring(0, DEBATE.length() / 2)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.debateinvalid"));
+
+        assertThat(propositionRepository.findAll()).hasSize(propositionCountBefore);
+    }
+
+    @Test
+    @Transactional
+    public void importDebateWithSupportCycle() throws Exception {
+        int propositionCountBefore = propositionRepository.findAll().size();
+
+        // q supports p1, an operand of c, which supports q: the test configuration rejects it
+        restDebateMockMvc.perform(post("/api/debates/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(DEBATE.replace("\"arguments\": [",
+                "\"arguments\": [{\"type\": \"IMPLICATION\", \"premise\": \"q\", \"conclusion\": \"p1\"},")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.circularreasoning"));
+
+        assertThat(propositionRepository.findAll()).hasSize(propositionCountBefore);
+    }
+
+    @Test
+    public void exportDebate() throws Exception {
+        MvcResult mvcResult = restDebateMockMvc.perform(get("/api/debates/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restDebateMockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DebateResource.APPLICATION_NDJSON_VALUE))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"debates.ndjson\""));
+    }
+
+    @Test
+    @Transactional
+    public void getDebateEvents() throws Exception {
+        Proposition root = propositionRepository.saveAndFlush(PropositionResourceIT.createEntity(em));
+        double subscribersBefore = meterRegistry.get("debate.events.subscribers").gauge().value();
+
+        MvcResult mvcResult = restDebateMockMvc.perform(get("/api/debates/{rootId}/events", root.getId()))
+            .andExpect(request().asyncStarted())
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+            .andReturn();
+        assertThat(meterRegistry.get("debate.events.subscribers").gauge().value()).isEqualTo(subscribersBefore + 1);
+
+        // Ending the connection cancels the subscription, so that it does not outlive the test
+        mvcResult.getRequest().getAsyncContext().complete();
+        assertThat(meterRegistry.get("debate.events.subscribers").gauge().value()).isEqualTo(subscribersBefore);
+    }
+
+    @Test
+    @Transactional
+    public void getEventsOfNonExistingDebate() throws Exception {
+        restDebateMockMvc.perform(get("/api/debates/{rootId}/events", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,99 @@
+package org.laybe.web.rest;
+
+import org.laybe.FaxiomApp;
+import org.laybe.domain.Argument;
+import org.laybe.domain.Proposition;
+import org.laybe.domain.enumeration.ArgumentType;
+import org.laybe.domain.enumeration.PropositionType;
+import org.laybe.repository.ArgumentRepository;
+import org.laybe.repository.PropositionRepository;
+import org.laybe.service.dto.ArgumentDTO;
+import org.laybe.service.graph.PropositionGraphIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link GraphResource} REST controller, and the cycle checks of the entity resources.
+ */
+@SpringBootTest(classes = FaxiomApp.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class GraphResourceIT {
+
+    @Autowired
+    private PropositionRepository propositionRepository;
+
+    @Autowired
+    private ArgumentRepository argumentRepository;
+
+    @Autowired
+    private PropositionGraphIndex propositionGraphIndex;
+
+    @Autowired
+    private MockMvc restGraphMockMvc;
+
+    private Proposition first;
+
+    private Proposition second;
+
+    @BeforeEach
+    public void initTest() {
+        first = new Proposition().type(PropositionType.SINGLE).text("AAAAAAAAAA");
+        second = new Proposition().type(PropositionType.SINGLE).text("BBBBBBBBBB");
+    }
+
+    @Test
+    @Transactional
+    public void rejectArgumentClosingCycle() throws Exception {
+        // Initialize the database: first --IMPLICATION--> second
+        propositionRepository.saveAndFlush(first);
+        propositionRepository.saveAndFlush(second);
+        argumentRepository.saveAndFlush(new Argument().type(ArgumentType.IMPLICATION).premise(first).conclusion(second));
+        propositionGraphIndex.rebuild();
+        int databaseSizeBeforeCreate = argumentRepository.findAll().size();
+
+        // second --IMPLICATION--> first would close a cycle, the test configuration rejects it
+        ArgumentDTO closing = new ArgumentDTO(null, ArgumentType.IMPLICATION, second.getId(), first.getId());
+        restGraphMockMvc.perform(post("/api/arguments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(closing)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.circularreasoning"));
+
+        assertThat(argumentRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void getCycles() throws Exception {
+        // Initialize the database: first --IMPLICATION--> second --ABJUNCTION--> first, bypassing the checks
+        propositionRepository.saveAndFlush(first);
+        propositionRepository.saveAndFlush(second);
+        argumentRepository.saveAndFlush(new Argument().type(ArgumentType.IMPLICATION).premise(first).conclusion(second));
+        argumentRepository.saveAndFlush(new Argument().type(ArgumentType.ABJUNCTION).premise(second).conclusion(first));
+        propositionGraphIndex.rebuild();
+
+        MvcResult result = restGraphMockMvc.perform(get("/api/graph/cycles"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restGraphMockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.cycles.length()").value(1))
+            .andExpect(jsonPath("$.cycles[0]").value(contains(first.getId().intValue(), second.getId().intValue())));
+    }
+}
@@ -1,27 +1,42 @@
 package org.laybe.web.rest;
 
 import org.laybe.FaxiomApp;
+import org.laybe.domain.Argument;
 import org.laybe.domain.Proposition;
+import org.laybe.repository.ArgumentRepository;
 import org.laybe.repository.PropositionRepository;
 import org.laybe.service.PropositionService;
+import org.laybe.service.dto.EvaluationRequestDTO;
+import org.laybe.service.dto.PropositionDTO;
+import org.laybe.service.graph.PropositionGraphIndex;
+import org.laybe.service.mapper.PropositionMapper;
+import org.laybe.service.search.PropositionSearchService;
+import org.laybe.service.search.PropositionSimilarityService;
+import org.laybe.web.rest.util.CursorPaginationUtil;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.transaction.AfterTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import org.laybe.domain.enumeration.ArgumentType;
 import org.laybe.domain.enumeration.PropositionType;
 import org.laybe.domain.enumeration.ConnectionType;
 /**
@@ -44,9 +59,24 @@ public class PropositionResourceIT {
     @Autowired
     private PropositionRepository propositionRepository;
 
+    @Autowired
+    private ArgumentRepository argumentRepository;
+
+    @Autowired
+    private PropositionMapper propositionMapper;
+
     @Autowired
     private PropositionService propositionService;
 
+    @Autowired
+    private PropositionGraphIndex propositionGraphIndex;
+
+    @Autowired
+    private PropositionSearchService propositionSearchService;
+
+    @Autowired
+    private PropositionSimilarityService propositionSimilarityService;
+
     @Autowired
     private EntityManager em;
 
@@ -87,14 +117,25 @@ public class PropositionResourceIT {
         proposition = createEntity(em);
     }
 
+    /**
+     * Rebuild the in-memory indexes once the test has rolled back, so that they do not keep its propositions.
+     */
+    @AfterTransaction
+    public void rebuildIndexes() {
+        propositionGraphIndex.rebuild();
+        propositionSearchService.rebuild();
+        propositionSimilarityService.rebuild();
+    }
+
     @Test
     @Transactional
     public void createProposition() throws Exception {
         int databaseSizeBeforeCreate = propositionRepository.findAll().size();
         // Create the Proposition
+        PropositionDTO propositionDTO = propositionMapper.toDto(proposition);
         restPropositionMockMvc.perform(post("/api/propositions")
             .contentType(MediaType.APPLICATION_JSON)
-            .content(TestUtil.convertObjectToJsonBytes(proposition)))
+            .content(TestUtil.convertObjectToJsonBytes(propositionDTO)))
             .andExpect(status().isCreated());
 
         // Validate the Proposition in the database
@@ -106,6 +147,22 @@ public class PropositionResourceIT {
         assertThat(testProposition.getConnectionType()).isEqualTo(DEFAULT_CONNECTION_TYPE);
     }
 
+    @Test
+    @Transactional
+    public void createNearDuplicateProposition() throws Exception {
+        // Initialize the database
+        Proposition original = propositionRepository.saveAndFlush(createEntity(em).text("Le vote doit être rendu obligatoire pour toutes les élections"));
+        propositionSimilarityService.rebuild();
+
+        // The test configuration flags near-duplicates, and returns them
+        PropositionDTO propositionDTO = propositionMapper.toDto(createEntity(em).text("Le vote doit etre rendu obligatoire pour toutes les elections !"));
+        restPropositionMockMvc.perform(post("/api/propositions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(propositionDTO)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.similarPropositionIds").value(contains(original.getId().intValue())));
+    }
+
     @Test
     @Transactional
     public void createPropositionWithExistingId() throws Exception {
@@ -113,11 +170,12 @@ public class PropositionResourceIT {
 
         // Create the Proposition with an existing ID
         proposition.setId(1L);
+        PropositionDTO propositionDTO = propositionMapper.toDto(proposition);
 
         // An entity with an existing ID cannot be created, so this API call must fail
         restPropositionMockMvc.perform(post("/api/propositions")
             .contentType(MediaType.APPLICATION_JSON)
-            .content(TestUtil.convertObjectToJsonBytes(proposition)))
+            .content(TestUtil.convertObjectToJsonBytes(propositionDTO)))
             .andExpect(status().isBadRequest());
 
         // Validate the Proposition in the database
@@ -142,6 +200,35 @@ public class PropositionResourceIT {
             .andExpect(jsonPath("$.[*].connectionType").value(hasItem(DEFAULT_CONNECTION_TYPE.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getAllPropositionsAfterCursor() throws Exception {
+        // Initialize the database
+        Proposition first = propositionRepository.saveAndFlush(createEntity(em));
+        Proposition second = propositionRepository.saveAndFlush(createEntity(em));
+        Proposition third = propositionRepository.saveAndFlush(createEntity(em));
+
+        // The first page holds two propositions, and the cursor of the next one
+        String cursor = restPropositionMockMvc.perform(get("/api/propositions?after={cursor}&size=2",
+            CursorPaginationUtil.encodeCursor(first.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andReturn().getResponse().getHeader(CursorPaginationUtil.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isEqualTo(CursorPaginationUtil.encodeCursor(second.getId()));
+
+        // The last page has no next cursor
+        restPropositionMockMvc.perform(get("/api/propositions?after={cursor}&size=2", cursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CursorPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())));
+
+        restPropositionMockMvc.perform(get("/api/propositions?after=invalid&size=2"))
+            .andExpect(status().isBadRequest());
+        restPropositionMockMvc.perform(get("/api/propositions?after=&size=0"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     public void getProposition() throws Exception {
@@ -165,11 +252,185 @@ public class PropositionResourceIT {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    public void getPropositionWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        propositionRepository.saveAndFlush(proposition);
+
+        restPropositionMockMvc.perform(get("/api/propositions/{id}", proposition.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(jsonPath("$.version").value(0));
+
+        restPropositionMockMvc.perform(get("/api/propositions/{id}", proposition.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(content().string(""));
+
+        restPropositionMockMvc.perform(get("/api/propositions/{id}", proposition.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.text").value(DEFAULT_TEXT));
+
+        restPropositionMockMvc.perform(get("/api/propositions/{id}", Long.MAX_VALUE)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void getPropositionsById() throws Exception {
+        // Initialize the database
+        Proposition first = propositionRepository.saveAndFlush(createEntity(em));
+        Proposition second = propositionRepository.saveAndFlush(createUpdatedEntity(em).proposition1(first));
+
+        // Get the propositions, ignoring duplicates and unknown ids
+        restPropositionMockMvc.perform(post("/api/propositions/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(second.getId(), first.getId(), second.getId(), Long.MAX_VALUE))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$['" + first.getId() + "'].text").value(DEFAULT_TEXT))
+            .andExpect(jsonPath("$['" + second.getId() + "'].text").value(UPDATED_TEXT))
+            .andExpect(jsonPath("$['" + second.getId() + "'].proposition1Id").value(first.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getNoPropositionsById() throws Exception {
+        restPropositionMockMvc.perform(post("/api/propositions/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(Collections.emptyList())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void getTooManyPropositionsById() throws Exception {
+        List<Long> ids = Collections.nCopies(PropositionService.MAX_BATCH_SIZE + 1, 1L);
+
+        restPropositionMockMvc.perform(post("/api/propositions/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(ids)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getPropositionGraph() throws Exception {
+        // Initialize the database: premise --IMPLICATION--> conclusion, where the premise is a conjunction of two propositions
+        Proposition operand1 = propositionRepository.saveAndFlush(createUpdatedEntity(em).connectionType(null));
+        Proposition operand2 = propositionRepository.saveAndFlush(createUpdatedEntity(em).connectionType(null));
+        Proposition premise = propositionRepository.saveAndFlush(createEntity(em).proposition1(operand1).proposition2(operand2));
+        Proposition conclusion = propositionRepository.saveAndFlush(createUpdatedEntity(em).connectionType(null));
+        Argument argument = argumentRepository.saveAndFlush(new Argument().type(ArgumentType.IMPLICATION).premise(premise).conclusion(conclusion));
+
+        // One level down only reaches the premise
+        restPropositionMockMvc.perform(get("/api/propositions/{id}/graph?depth=1&direction=down", conclusion.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.rootId").value(conclusion.getId().intValue()))
+            .andExpect(jsonPath("$.nodes.length()").value(2))
+            .andExpect(jsonPath("$.edges.length()").value(1))
+            .andExpect(jsonPath("$.edges.[0].argumentId").value(argument.getId().intValue()))
+            .andExpect(jsonPath("$.edges.[0].source").value(premise.getId().intValue()))
+            .andExpect(jsonPath("$.edges.[0].target").value(conclusion.getId().intValue()));
+
+        // Two levels down also reach the operands of the premise
+        restPropositionMockMvc.perform(get("/api/propositions/{id}/graph?depth=2&direction=down", conclusion.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nodes.length()").value(4))
+            .andExpect(jsonPath("$.edges.length()").value(3))
+            .andExpect(jsonPath("$.nodes.[*].id").value(hasItem(operand2.getId().intValue())));
+
+        // Going up from an operand reaches the connection, then the conclusion
+        restPropositionMockMvc.perform(get("/api/propositions/{id}/graph?depth=2&direction=up", operand1.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nodes.length()").value(3))
+            .andExpect(jsonPath("$.edges.length()").value(2))
+            .andExpect(jsonPath("$.nodes.[*].id").value(hasItem(conclusion.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    public void getPropositionGraphWithInvalidParameters() throws Exception {
+        // Initialize the database
+        propositionRepository.saveAndFlush(proposition);
+
+        restPropositionMockMvc.perform(get("/api/propositions/{id}/graph?direction=sideways", proposition.getId()))
+            .andExpect(status().isBadRequest());
+        restPropositionMockMvc.perform(get("/api/propositions/{id}/graph?depth=1000", proposition.getId()))
+            .andExpect(status().isBadRequest());
+        restPropositionMockMvc.perform(get("/api/propositions/{id}/graph", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void searchPropositions() throws Exception {
+        // Initialize the database
+        Proposition general = propositionRepository.saveAndFlush(createEntity(em).text("Les énergies renouvelables sont intermittentes, et le stockage de l'énergie reste coûteux"));
+        Proposition precise = propositionRepository.saveAndFlush(createEntity(em).text("Le stockage de l'énergie"));
+        propositionRepository.saveAndFlush(createEntity(em).text("Le nucléaire produit une énergie décarbonée"));
+        propositionSearchService.rebuild();
+
+        // The shortest text holding the words ranks first
+        restPropositionMockMvc.perform(get("/api/propositions/_search?q={q}", "Énergie stockage"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].id").value(contains(precise.getId().intValue(), general.getId().intValue())));
+
+        restPropositionMockMvc.perform(get("/api/propositions/_search?q={q}&page=1&size=1", "energie stockage"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].id").value(contains(general.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    public void searchPropositionsWithBlankQuery() throws Exception {
+        restPropositionMockMvc.perform(get("/api/propositions/_search?q= "))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void evaluatePropositions() throws Exception {
+        // Initialize the database: premise --IMPLICATION--> conclusion, where the premise is a conjunction of two propositions
+        Proposition operand1 = propositionRepository.saveAndFlush(createUpdatedEntity(em).connectionType(null));
+        Proposition operand2 = propositionRepository.saveAndFlush(createUpdatedEntity(em).connectionType(null));
+        Proposition premise = propositionRepository.saveAndFlush(createEntity(em).proposition1(operand1).proposition2(operand2));
+        Proposition conclusion = propositionRepository.saveAndFlush(createUpdatedEntity(em).connectionType(null));
+        argumentRepository.saveAndFlush(new Argument().type(ArgumentType.IMPLICATION).premise(premise).conclusion(conclusion));
+        propositionGraphIndex.rebuild();
+
+        EvaluationRequestDTO evaluationRequest = new EvaluationRequestDTO();
+        evaluationRequest.getAccepted().add(operand1.getId());
+        evaluationRequest.getAccepted().add(operand2.getId());
+        evaluationRequest.getRejected().add(Long.MAX_VALUE);
+
+        restPropositionMockMvc.perform(post("/api/propositions/evaluate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(evaluationRequest)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.propositions.length()").value(4))
+            .andExpect(jsonPath("$.propositions[?(@.id == %d)].status", premise.getId()).value(hasItem("ACCEPTED")))
+            .andExpect(jsonPath("$.propositions[?(@.id == %d)].status", conclusion.getId()).value(hasItem("ACCEPTED")))
+            .andExpect(jsonPath("$.cycleIds").isEmpty())
+            .andExpect(jsonPath("$.unknownIds").value(hasItem(Long.MAX_VALUE)));
+    }
+
     @Test
     @Transactional
     public void updateProposition() throws Exception {
         // Initialize the database
-        propositionService.save(proposition);
+        propositionRepository.saveAndFlush(proposition);
 
         int databaseSizeBeforeUpdate = propositionRepository.findAll().size();
 
@@ -181,10 +442,11 @@ public class PropositionResourceIT {
             .type(UPDATED_TYPE)
             .text(UPDATED_TEXT)
             .connectionType(UPDATED_CONNECTION_TYPE);
+        PropositionDTO propositionDTO = propositionMapper.toDto(updatedProposition);
 
         restPropositionMockMvc.perform(put("/api/propositions")
             .contentType(MediaType.APPLICATION_JSON)
-            .content(TestUtil.convertObjectToJsonBytes(updatedProposition)))
+            .content(TestUtil.convertObjectToJsonBytes(propositionDTO)))
             .andExpect(status().isOk());
 
         // Validate the Proposition in the database
@@ -196,15 +458,103 @@ public class PropositionResourceIT {
         assertThat(testProposition.getConnectionType()).isEqualTo(UPDATED_CONNECTION_TYPE);
     }
 
+    @Test
+    @Transactional
+    public void updatePropositionWithIfMatch() throws Exception {
+        // Initialize the database
+        propositionRepository.saveAndFlush(proposition);
+
+        PropositionDTO propositionDTO = propositionMapper.toDto(proposition);
+        propositionDTO.setText(UPDATED_TEXT);
+
+        restPropositionMockMvc.perform(put("/api/propositions")
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(propositionDTO)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1));
+
+        // The client still holding version 0 is told the proposition has changed
+        propositionDTO.setText(DEFAULT_TEXT);
+        restPropositionMockMvc.perform(put("/api/propositions")
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(propositionDTO)))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        em.clear();
+        assertThat(propositionRepository.findById(proposition.getId()).get().getText()).isEqualTo(UPDATED_TEXT);
+    }
+
+    @Test
+    @Transactional
+    public void updatePropositionWithUnchangedText() throws Exception {
+        // Initialize the database with near-duplicates
+        propositionRepository.saveAndFlush(createEntity(em).text("Le vote doit être rendu obligatoire pour toutes les élections"));
+        propositionRepository.saveAndFlush(proposition.text("Le vote doit etre rendu obligatoire pour toutes les elections !"));
+        propositionSimilarityService.rebuild();
+
+        // Only a changed text is checked against the other propositions
+        PropositionDTO propositionDTO = propositionMapper.toDto(proposition);
+        propositionDTO.setType(UPDATED_TYPE);
+
+        restPropositionMockMvc.perform(put("/api/propositions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(propositionDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.type").value(UPDATED_TYPE.toString()))
+            .andExpect(jsonPath("$.similarPropositionIds").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void partialUpdateProposition() throws Exception {
+        // Initialize the database
+        propositionRepository.saveAndFlush(proposition);
+
+        restPropositionMockMvc.perform(patch("/api/propositions/{id}", proposition.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .content("{\"text\": \"" + UPDATED_TEXT + "\", \"connectionType\": null}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.type").value(DEFAULT_TYPE.toString()))
+            .andExpect(jsonPath("$.text").value(UPDATED_TEXT))
+            .andExpect(jsonPath("$.connectionType").doesNotExist());
+
+        // Validate the Proposition in the database: the fields absent from the patch are unchanged
+        em.clear();
+        Proposition testProposition = propositionRepository.findById(proposition.getId()).get();
+        assertThat(testProposition.getType()).isEqualTo(DEFAULT_TYPE);
+        assertThat(testProposition.getText()).isEqualTo(UPDATED_TEXT);
+        assertThat(testProposition.getConnectionType()).isNull();
+        assertThat(testProposition.getVersion()).isEqualTo(1L);
+
+        restPropositionMockMvc.perform(patch("/api/propositions/{id}", proposition.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .content("{\"text\": \"" + DEFAULT_TEXT + "\"}"))
+            .andExpect(status().isPreconditionFailed());
+
+        restPropositionMockMvc.perform(patch("/api/propositions/{id}", Long.MAX_VALUE)
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .content("{\"text\": \"" + DEFAULT_TEXT + "\"}"))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void updateNonExistingProposition() throws Exception {
         int databaseSizeBeforeUpdate = propositionRepository.findAll().size();
 
+        // Create the Proposition
+        PropositionDTO propositionDTO = propositionMapper.toDto(proposition);
+
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restPropositionMockMvc.perform(put("/api/propositions")
             .contentType(MediaType.APPLICATION_JSON)
-            .content(TestUtil.convertObjectToJsonBytes(proposition)))
+            .content(TestUtil.convertObjectToJsonBytes(propositionDTO)))
             .andExpect(status().isBadRequest());
 
         // Validate the Proposition in the database
@@ -216,7 +566,7 @@ public class PropositionResourceIT {
     @Transactional
     public void deleteProposition() throws Exception {
         // Initialize the database
-        propositionService.save(proposition);
+        propositionRepository.saveAndFlush(proposition);
 
         int databaseSizeBeforeDelete = propositionRepository.findAll().size();
 